@@ -0,0 +1,117 @@
+package com.opencode.alumxbackend.auth.security;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT authentication: token creation, verification (through the
+ * verified-token cache and without it), the legacy single-claim getters and the whole
+ * {@link JwtAuthenticationFilter} pass on a mock request.
+ *
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="JwtAuthenticationBenchmark -prof gc"};
+ * {@code -prof gc} adds the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsLongEnoughForHmacSha256Signing";
+    private static final long EXPIRATION_MS = 3600000;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider uncachedProvider;
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private String token;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachingProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 10000);
+        uncachedProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 0);
+        TokenDenylist denylist = new TokenDenylist(10000, 0.01);
+        cachingFilter = new JwtAuthenticationFilter(cachingProvider, denylist);
+        uncachedFilter = new JwtAuthenticationFilter(uncachedProvider, denylist);
+        token = cachingProvider.generateToken(42L, "bench@test.com", "bench", "STUDENT");
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/groups/1/messages");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/auth/login");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingProvider.generateToken(42L, "bench@test.com", "bench", "STUDENT");
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachingProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Object parseClaimsUncached() {
+        return uncachedProvider.parseClaims(token);
+    }
+
+    // What the filter paid before parseClaims: one full parse per claim
+    @Benchmark
+    public void claimGetters(Blackhole blackhole) {
+        blackhole.consume(cachingProvider.getUserIdFromToken(token));
+        blackhole.consume(cachingProvider.getEmailFromToken(token));
+        blackhole.consume(cachingProvider.getUsernameFromToken(token));
+        blackhole.consume(cachingProvider.getRoleFromToken(token));
+    }
+
+    @Benchmark
+    public Object filterCachedToken() throws Exception {
+        cachingFilter.doFilterInternal(authenticatedRequest, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return authenticationAndClear();
+    }
+
+    @Benchmark
+    public Object filterUncachedToken() throws Exception {
+        uncachedFilter.doFilterInternal(authenticatedRequest, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return authenticationAndClear();
+    }
+
+    @Benchmark
+    public Object filterWithoutToken() throws Exception {
+        cachingFilter.doFilterInternal(anonymousRequest, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return authenticationAndClear();
+    }
+
+    // Clearing inside the measured method is cheaper than a per-invocation @TearDown
+    private static Object authenticationAndClear() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
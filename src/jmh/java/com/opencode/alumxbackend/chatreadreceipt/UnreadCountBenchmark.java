@@ -0,0 +1,150 @@
+package com.opencode.alumxbackend.chatreadreceipt;
+
+import com.opencode.alumxbackend.AlumXBackendApplication;
+import com.opencode.alumxbackend.chat.model.Chat;
+import com.opencode.alumxbackend.chat.repository.ChatRepository;
+import com.opencode.alumxbackend.chatreadreceipt.dto.UnreadCountResponse;
+import com.opencode.alumxbackend.chatreadreceipt.repository.ChatReadStateRepository;
+import com.opencode.alumxbackend.chatreadreceipt.service.ChatReadService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of {@code GET /api/chats/unread-counts/{userId}} for a user with a fixed number of chats
+ * while the number of chats in the whole system grows. {@code allUnreadCounts} reads the stored
+ * unread counters and should stay flat; {@code perChatCounts} replays the former
+ * implementation (load every chat, then one count query per chat of the user) for comparison.
+ *
+ * Boots the application against the test profile's in-memory H2 database, so absolute numbers
+ * are only comparable between runs on the same machine:
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="UnreadCountBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnreadCountBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final int USER_CHATS = 20;
+    private static final int MESSAGES_PER_CHAT = 10;
+
+    @Param({"1000", "10000", "50000"})
+    public int totalChats;
+
+    private ConfigurableApplicationContext context;
+    private ChatReadService chatReadService;
+    private ChatRepository chatRepository;
+    private ChatReadStateRepository chatReadStateRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // devtools is on the test classpath; its restarter would relaunch the application
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(AlumXBackendApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.datasource.url=jdbc:h2:mem:unreadbench" + totalChats
+                                + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL")
+                .run();
+        chatReadService = context.getBean(ChatReadService.class);
+        chatRepository = context.getBean(ChatRepository.class);
+        chatReadStateRepository = context.getBean(ChatReadStateRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UnreadCountResponse> allUnreadCounts() {
+        return chatReadService.getAllUnreadCounts(USER_ID);
+    }
+
+    @Benchmark
+    public List<UnreadCountResponse> perChatCounts() {
+        return readOnly.execute(status -> {
+            List<Chat> userChats = chatRepository.findAll().stream()
+                    .filter(chat -> chat.getUser1Id().equals(USER_ID) || chat.getUser2Id().equals(USER_ID))
+                    .toList();
+            Map<Long, Long> readStates = chatReadStateRepository.findByUserId(USER_ID).stream()
+                    .collect(Collectors.toMap(state -> state.getChatId(), state -> state.getLastReadMessageId()));
+            List<UnreadCountResponse> results = new ArrayList<>();
+            for (Chat chat : userChats) {
+                Long lastRead = readStates.get(chat.getChatID());
+                Long unread = lastRead == null
+                        ? chatReadStateRepository.countAllMessagesFromOther(chat.getChatID(), USER_ID)
+                        : chatReadStateRepository.countUnreadMessages(chat.getChatID(), USER_ID, lastRead);
+                results.add(new UnreadCountResponse(chat.getChatID(), USER_ID, unread));
+            }
+            return results;
+        });
+    }
+
+    // USER_CHATS chats of the measured user, the rest between other users; every chat gets
+    // MESSAGES_PER_CHAT messages alternating between its two participants, and the measured
+    // user has read half of each of their even-numbered chats. Every participant then gets a
+    // read state and counter, as the reconciliation job leaves them
+    private void seed(JdbcTemplate jdbc) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> chats = new ArrayList<>(totalChats);
+        for (int i = 0; i < totalChats; i++) {
+            long user1 = i < USER_CHATS ? USER_ID : 100_000L + i;
+            long user2 = 200_000L + i;
+            chats.add(new Object[]{user1, user2, "user" + user1, "user" + user2, now});
+        }
+        jdbc.batchUpdate("INSERT INTO chats (user1_id, user2_id, user1_username, user2_username, created_at) "
+                + "VALUES (?, ?, ?, ?, ?)", chats);
+
+        List<Object[]> messages = new ArrayList<>();
+        for (Map<String, Object> chat : jdbc.queryForList("SELECT chat_id, user1_id, user2_id FROM chats")) {
+            for (int m = 0; m < MESSAGES_PER_CHAT; m++) {
+                Object sender = m % 2 == 0 ? chat.get("user1_id") : chat.get("user2_id");
+                messages.add(new Object[]{chat.get("chat_id"), sender, "user" + sender, "message " + m, now});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO messages (chat_id, sender_id, sender_username, content, created_at) "
+                + "VALUES (?, ?, ?, ?, ?)", messages);
+
+        jdbc.update("""
+                INSERT INTO chat_read_states (chat_id, user_id, last_read_message_id)
+                SELECT c.chat_id, ?, (SELECT MIN(m.messageid) + ? FROM messages m WHERE m.chat_id = c.chat_id)
+                FROM chats c
+                WHERE c.user1_id = ? AND MOD(c.chat_id, 2) = 0
+                """, USER_ID, MESSAGES_PER_CHAT / 2, USER_ID);
+        chatReadService.reconcileUnreadCounts();
+    }
+}
@@ -13,11 +13,10 @@ import lombok.Setter;
 public class LoginResponse {
     private String accessToken;
     private Long tokenExpiryTime;
+    private String refreshToken;
+    private Long refreshTokenExpiryTime;
     private UserBasicInfo user;
 
-
-
-
     @Getter
     @Setter
     @NoArgsConstructor
@@ -13,14 +13,17 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenDenylist tokenDenylist;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, TokenDenylist tokenDenylist) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenDenylist = tokenDenylist;
     }
 
     @Override
@@ -28,18 +31,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String token = getTokenFromRequest(request);
 
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            Long userId = jwtTokenProvider.getUserIdFromToken(token);
-            String email = jwtTokenProvider.getEmailFromToken(token);
-            String role = jwtTokenProvider.getRoleFromToken(token);
-
-            UserPrincipal userPrincipal = new UserPrincipal(userId, email, role);
+        // One verification per token, cached by the provider until the token expires
+        Optional<JwtClaims> claims = StringUtils.hasText(token) ? jwtTokenProvider.parseClaims(token) : Optional.empty();
+        if (claims.isPresent() && !tokenDenylist.isRevoked(claims.get().tokenId())) {
+            UserPrincipal userPrincipal = claims.get().toPrincipal();
 
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
                             userPrincipal,
                             null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + userPrincipal.getRole()))
                     );
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,14 @@
+package com.opencode.alumxbackend.auth.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a verified access token, read in one parse. {@code tokenId} is the {@code jti}
+ * that {@link TokenDenylist} revokes by.
+ */
+public record JwtClaims(Long userId, String email, String username, String role, String tokenId, Instant expiresAt) {
+
+    public UserPrincipal toPrincipal() {
+        return new UserPrincipal(userId, email, role);
+    }
+}
@@ -7,19 +7,37 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 public class JwtTokenProvider {
 
     private final SecretKey secretKey;
     private final long expiration;
+    // Thread-safe and immutable once built; building it is what every parse used to pay for
+    private final JwtParser parser;
+    private final int verifiedCacheSize;
+    // SHA-256 of the token -> its claims; entries are only used until the token expires
+    private final ConcurrentHashMap<String, JwtClaims> verified = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
 
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration}") long expiration) {
+            @Value("${jwt.expiration}") long expiration,
+            @Value("${jwt.verified-cache.max-entries:10000}") int verifiedCacheSize) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expiration = expiration;
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedCacheSize = verifiedCacheSize;
     }
 
     public String generateToken(Long userId, String email, String username, String role) {
@@ -27,6 +45,7 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .claim("userId", userId)
                 .claim("username", username)
@@ -41,6 +60,74 @@ public class JwtTokenProvider {
         return expiration;
     }
 
+    /**
+     * Verifies the token and reads all of its claims, or empty if it is malformed, forged or
+     * expired. A token verified before is answered from a bounded cache (keyed by the
+     * token's SHA-256, never by the token itself) until it expires, so a client reusing its
+     * token does not pay for signature verification on every request. The cache takes no
+     * lock on lookups; see {@link #evict} for how it stays bounded.
+     */
+    public Optional<JwtClaims> parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String key = verifiedCacheSize > 0 ? hash(token) : null;
+        if (key != null) {
+            JwtClaims cached = verified.get(key);
+            if (cached != null) {
+                if (cached.expiresAt().isAfter(Instant.now())) {
+                    return Optional.of(cached);
+                }
+                verified.remove(key, cached);
+                return Optional.empty();
+            }
+        }
+
+        JwtClaims claims;
+        try {
+            claims = toClaims(parseToken(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (key != null && claims.expiresAt() != null) {
+            verified.put(key, claims);
+            if (verified.size() > verifiedCacheSize) {
+                evict();
+            }
+        }
+        return Optional.of(claims);
+    }
+
+    /**
+     * Brings an overflowing cache back under its bound: expired entries go first, then
+     * arbitrary ones down to 90% of {@code jwt.verified-cache.max-entries}, so the next few
+     * inserts do not trigger another pass. One thread evicts at a time; others skip it and
+     * may briefly leave the cache a little over the bound. An evicted token is only verified
+     * again on its next use.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            verified.values().removeIf(claims -> !claims.expiresAt().isAfter(now));
+            int excess = verified.size() - verifiedCacheSize * 9 / 10;
+            Iterator<String> keys = verified.keySet().iterator();
+            while (excess-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    int cachedTokenCount() {
+        return verified.size();
+    }
+
     public String getEmailFromToken(String token) {
         Claims claims = parseToken(token);
         return claims.getSubject();
@@ -62,12 +149,7 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
-        try {
-            parseToken(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseClaims(token).isPresent();
     }
 
     public boolean isTokenExpired(String token) {
@@ -82,10 +164,25 @@ public class JwtTokenProvider {
     }
 
     private Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private static JwtClaims toClaims(Claims claims) {
+        return new JwtClaims(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("username", String.class),
+                claims.get("role", String.class),
+                claims.getId(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
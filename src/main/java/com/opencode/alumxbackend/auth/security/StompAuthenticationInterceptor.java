@@ -0,0 +1,186 @@
+package com.opencode.alumxbackend.auth.security;
+
+import com.opencode.alumxbackend.chat.service.ChatService;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembershipCache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Authenticates STOMP sessions and authorizes their subscriptions.
+ *
+ * CONNECT must carry {@code Authorization: Bearer <jwt>}. The token is verified once; the
+ * resulting {@link UserPrincipal} is kept in the WebSocket session attributes and set as the
+ * session user, so later frames never touch the token again and {@code @MessageMapping}
+ * handlers receive it as their {@link java.security.Principal}.
+ *
+ * SUBSCRIBE is checked against the cached principal:
+ * - {@code /topic/group/{id}/**}: member of the group, answered by {@link GroupMembershipCache}
+ * - {@code /topic/chat/{id}/**}: participant of the chat
+ * - {@code /user/**}: the session's own queues
+ * Anything else is refused.
+ *
+ * SEND is only accepted for {@code /app/**}, the {@code @MessageMapping} handlers, which check
+ * membership themselves. A SEND straight to a broker destination would otherwise be relayed to
+ * every subscriber unchecked.
+ *
+ * A refused frame is dropped and answered with an ERROR frame, which closes the session. The
+ * interceptor sends that frame itself: with per-session receive ordering the frame reaches
+ * this interceptor after the STOMP handler has returned, so a thrown exception would only be
+ * logged.
+ */
+@Component
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    static final String SESSION_USER_ATTRIBUTE = "alumx.stomp.user";
+
+    private static final Pattern GROUP_TOPIC = Pattern.compile("^/topic/group/(\\d+)(/[\\w-]+)?$");
+    private static final Pattern CHAT_TOPIC = Pattern.compile("^/topic/chat/(\\d+)(/[\\w-]+)?$");
+    private static final String APPLICATION_PREFIX = "/app/";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenDenylist tokenDenylist;
+    private final GroupMembershipCache membershipCache;
+    private final ChatService chatService;
+    private final MessageChannel clientOutboundChannel;
+
+    public StompAuthenticationInterceptor(
+            JwtTokenProvider jwtTokenProvider,
+            TokenDenylist tokenDenylist,
+            GroupMembershipCache membershipCache,
+            // Lazy: the chat service publishes through the broker this interceptor is part of
+            @Lazy ChatService chatService,
+            @Lazy @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenDenylist = tokenDenylist;
+        this.membershipCache = membershipCache;
+        this.chatService = chatService;
+        this.clientOutboundChannel = clientOutboundChannel;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        try {
+            if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+                authenticate(accessor);
+            } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                authorizeSubscription(sessionUser(accessor), accessor.getDestination());
+            } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+                authorizeSend(accessor.getDestination());
+            }
+        } catch (AuthenticationException | AccessDeniedException e) {
+            refuse(accessor, e);
+            return null;
+        }
+        return message;
+    }
+
+    private void refuse(StompHeaderAccessor accessor, RuntimeException reason) {
+        StompHeaderAccessor error = StompHeaderAccessor.create(StompCommand.ERROR);
+        error.setMessage(reason.getMessage());
+        error.setSessionId(accessor.getSessionId());
+        if (accessor.getReceipt() != null) {
+            error.setReceiptId(accessor.getReceipt());
+        }
+        clientOutboundChannel.send(MessageBuilder.createMessage(new byte[0], error.getMessageHeaders()));
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String token = getTokenFromHeaders(accessor);
+        if (token == null) {
+            throw new BadCredentialsException("Missing bearer token in CONNECT");
+        }
+        UserPrincipal userPrincipal = jwtTokenProvider.parseClaims(token)
+                .filter(claims -> !tokenDenylist.isRevoked(claims.tokenId()))
+                .map(JwtClaims::toPrincipal)
+                .orElseThrow(() -> new BadCredentialsException("Invalid or expired token"));
+
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        if (sessionAttributes != null) {
+            sessionAttributes.put(SESSION_USER_ATTRIBUTE, userPrincipal);
+        }
+        accessor.setUser(new UsernamePasswordAuthenticationToken(
+                userPrincipal,
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + userPrincipal.getRole()))));
+    }
+
+    private UserPrincipal sessionUser(StompHeaderAccessor accessor) {
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        Object user = sessionAttributes == null ? null : sessionAttributes.get(SESSION_USER_ATTRIBUTE);
+        if (user instanceof UserPrincipal userPrincipal) {
+            return userPrincipal;
+        }
+        throw new AccessDeniedException("Session is not authenticated");
+    }
+
+    private void authorizeSubscription(UserPrincipal user, String destination) {
+        if (destination == null) {
+            throw new AccessDeniedException("SUBSCRIBE without destination");
+        }
+        if (destination.startsWith("/user/")) {
+            return;
+        }
+
+        Matcher group = GROUP_TOPIC.matcher(destination);
+        if (group.matches()) {
+            long groupId = Long.parseLong(group.group(1));
+            boolean member = membershipCache.get(groupId)
+                    .map(members -> members.contains(user.getId()))
+                    .orElse(false);
+            if (!member) {
+                throw new AccessDeniedException("Not a member of group " + groupId);
+            }
+            return;
+        }
+
+        Matcher chat = CHAT_TOPIC.matcher(destination);
+        if (chat.matches()) {
+            try {
+                chatService.requireParticipant(Long.parseLong(chat.group(1)), user.getId());
+            } catch (RuntimeException e) {
+                throw new AccessDeniedException("Not a participant of chat " + chat.group(1));
+            }
+            return;
+        }
+
+        throw new AccessDeniedException("Subscriptions to " + destination + " are not allowed");
+    }
+
+    private void authorizeSend(String destination) {
+        if (destination == null || !destination.startsWith(APPLICATION_PREFIX)) {
+            throw new AccessDeniedException("Sending to " + destination + " is not allowed");
+        }
+    }
+
+    private String getTokenFromHeaders(StompHeaderAccessor accessor) {
+        String bearerToken = accessor.getFirstNativeHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
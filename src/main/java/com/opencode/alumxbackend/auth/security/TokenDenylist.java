@@ -0,0 +1,131 @@
+package com.opencode.alumxbackend.auth.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Access tokens revoked before their expiry (logout), by {@code jti}.
+ *
+ * Every authenticated request asks {@link #isRevoked(String)}, and almost every answer is
+ * "no": a Bloom filter answers those without touching the exact set, which is only consulted
+ * for the few ids the filter may contain. Entries are dropped once the token would have
+ * expired anyway, and the filter is rebuilt from what is left, so both stay sized by the
+ * revocations of one access-token lifetime.
+ *
+ * The list lives in memory of this instance: revocations are lost on restart and not shared
+ * between instances, which bounds a revoked token's remaining life by jwt.expiration.
+ */
+@Component
+public class TokenDenylist {
+
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    // Replaced, never cleared, on purge; readers may use the previous one meanwhile
+    private volatile BloomFilter bloom;
+
+    public TokenDenylist(
+            @Value("${jwt.denylist.expected-entries:10000}") int expectedEntries,
+            @Value("${jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloom = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revoked.put(tokenId, expiresAt);
+        bloom.add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloom.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Synchronized with revoke(): a revocation between the copy and the swap would otherwise
+    // only reach the discarded filter
+    @Scheduled(fixedDelayString = "${jwt.denylist.purge-interval-ms:60000}")
+    public synchronized void purgeExpired() {
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size()), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        bloom = rebuilt;
+    }
+
+    /**
+     * Fixed-size Bloom filter over strings; k bit positions per key from two halves of one
+     * 64-bit hash (Kirsch-Mitzenmacher double hashing).
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final int bits;
+        private final int hashes;
+
+        BloomFilter(int expectedEntries, double falsePositiveRate) {
+            int n = Math.max(1, expectedEntries);
+            double ln2 = Math.log(2);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bits = (int) Math.min(Math.max(m, 64), Integer.MAX_VALUE - 63);
+            this.hashes = Math.max(1, (int) Math.round((double) bits / n * ln2));
+            this.words = new AtomicLongArray((bits + 63) / 64);
+        }
+
+        void add(String key) {
+            long hash = hash64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a over the UTF-8 bytes, then the SplitMix64 finalizer to spread the bits
+        private static long hash64(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+            hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+            return hash ^ (hash >>> 31);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import com.opencode.alumxbackend.auth.dto.RegisterResponse;
 
 public interface AuthService {
     LoginResponse login(LoginRequest loginRequest);
+    LoginResponse refresh(String refreshToken);
+    void logout(String refreshToken, String accessToken);
     RegisterResponse register(RegisterRequest registerRequest);
     RegisterResponse createAdmin(CreateAdminRequest createAdminRequest);
 }
@@ -7,41 +7,93 @@ import com.opencode.alumxbackend.auth.dto.RegisterRequest;
 import com.opencode.alumxbackend.auth.dto.RegisterResponse;
 import com.opencode.alumxbackend.auth.exception.InvalidCredentialsException;
 import com.opencode.alumxbackend.auth.security.JwtTokenProvider;
+import com.opencode.alumxbackend.auth.security.PasswordHasher;
+import com.opencode.alumxbackend.auth.security.TokenDenylist;
 import com.opencode.alumxbackend.common.exception.Errors.BadRequestException;
+import com.opencode.alumxbackend.users.event.UserProfileChangedEvent;
 import com.opencode.alumxbackend.users.model.User;
 import com.opencode.alumxbackend.users.model.UserRole;
 import com.opencode.alumxbackend.users.repository.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @Transactional
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenDenylist tokenDenylist;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AuthServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                           JwtTokenProvider jwtTokenProvider) {
+    public AuthServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher,
+                           JwtTokenProvider jwtTokenProvider, RefreshTokenService refreshTokenService,
+                           TokenDenylist tokenDenylist, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenDenylist = tokenDenylist;
+        this.eventPublisher = eventPublisher;
     }
 
+    // No surrounding transaction: a database connection must not be held while the password
+    // check waits for the hashing pool
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponse login(LoginRequest loginRequest) {
-        // Find user by email or username
-        User user = userRepository.findByEmail(loginRequest.getEmailOrUsername())
-                .orElseGet(() -> userRepository.findByUsername(loginRequest.getEmailOrUsername())
-                        .orElseThrow(() -> new InvalidCredentialsException("Invalid credentials")));
+        // Find user by email or username, preferring the email match
+        String login = loginRequest.getEmailOrUsername();
+        List<User> candidates = userRepository.findByEmailOrUsername(login);
+        User user = candidates.stream()
+                .filter(candidate -> login.equals(candidate.getEmail()))
+                .findFirst()
+                .or(() -> candidates.stream().findFirst())
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid credentials"));
 
         // Verify password
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(loginRequest.getPassword(), user.getPasswordHash())) {
             throw new InvalidCredentialsException("Invalid credentials");
         }
 
+        // Stored with an older scheme or a lower bcrypt strength: rehash now that we have the password
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            userRepository.updatePasswordHash(user.getId(), passwordHasher.encode(loginRequest.getPassword()));
+        }
+
+        return loginResponse(user, refreshTokenService.issue(user.getId()));
+    }
+
+    // Short access tokens are renewed here instead of by logging in again, so they cost no
+    // password hash
+    @Override
+    @Transactional(noRollbackFor = InvalidCredentialsException.class)
+    public LoginResponse refresh(String refreshToken) {
+        RefreshTokenService.IssuedRefreshToken rotated = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(rotated.userId())
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid refresh token"));
+        return loginResponse(user, rotated);
+    }
+
+    @Override
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (accessToken != null) {
+            // Until it expires the access token would still be accepted on its signature alone
+            jwtTokenProvider.parseClaims(accessToken)
+                    .ifPresent(claims -> tokenDenylist.revoke(claims.tokenId(), claims.expiresAt()));
+        }
+    }
+
+    private LoginResponse loginResponse(User user, RefreshTokenService.IssuedRefreshToken refreshToken) {
         // Generate token
         String token = jwtTokenProvider.generateToken(
                 user.getId(),
@@ -62,12 +114,17 @@ public class AuthServiceImpl implements AuthService {
         LoginResponse response = new LoginResponse();
         response.setAccessToken(token);
         response.setTokenExpiryTime(jwtTokenProvider.getExpirationTime());
+        response.setRefreshToken(refreshToken.token());
+        response.setRefreshTokenExpiryTime(refreshToken.expiresIn());
         response.setUser(userInfo);
 
         return response;
     }
 
+    // No surrounding transaction, as for login: the password is hashed before any connection
+    // is taken, and the insert commits on its own
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public RegisterResponse register(RegisterRequest registerRequest) {
         if (userRepository.existsByEmail(registerRequest.getEmail())) {
             throw new BadRequestException("Email already exists: " + registerRequest.getEmail());
@@ -101,12 +158,13 @@ public class AuthServiceImpl implements AuthService {
                 .username(registerRequest.getUsername())
                 .name(registerRequest.getName())
                 .email(registerRequest.getEmail())
-                .passwordHash(passwordEncoder.encode(registerRequest.getPassword()))
+                .passwordHash(passwordHasher.encode(registerRequest.getPassword()))
                 .role(role)
                 .profileCompleted(true) // default for dev
                 .build();
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(savedUser));
 
         return RegisterResponse.builder()
                 .userId(savedUser.getId())
@@ -118,7 +176,9 @@ public class AuthServiceImpl implements AuthService {
                 .build();
     }
 
+    // Hashed outside any transaction, like register
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public RegisterResponse createAdmin(CreateAdminRequest createAdminRequest) {
         // Check if email already exists
         if (userRepository.existsByEmail(createAdminRequest.getEmail())) {
@@ -145,12 +205,13 @@ public class AuthServiceImpl implements AuthService {
                 .username(createAdminRequest.getUsername())
                 .name(createAdminRequest.getName())
                 .email(createAdminRequest.getEmail())
-                .passwordHash(passwordEncoder.encode(createAdminRequest.getPassword()))
+                .passwordHash(passwordHasher.encode(createAdminRequest.getPassword()))
                 .role(UserRole.ADMIN) // Set role to ADMIN server-side
                 .profileCompleted(true)
                 .build();
 
         User savedAdmin = userRepository.save(admin);
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(savedAdmin));
 
         return RegisterResponse.builder()
                 .userId(savedAdmin.getId())
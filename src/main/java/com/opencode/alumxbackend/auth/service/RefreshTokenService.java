@@ -0,0 +1,19 @@
+package com.opencode.alumxbackend.auth.service;
+
+public interface RefreshTokenService {
+
+    /** Starts a new token family for the user (login). */
+    IssuedRefreshToken issue(Long userId);
+
+    /**
+     * Exchanges a refresh token for its successor in the same family. A token that was
+     * already exchanged revokes the whole family.
+     */
+    IssuedRefreshToken rotate(String refreshToken);
+
+    /** Revokes the family the token belongs to; unknown tokens are ignored. */
+    void revoke(String refreshToken);
+
+    record IssuedRefreshToken(Long userId, String token, long expiresIn) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.opencode.alumxbackend.auth.service;
+
+import com.opencode.alumxbackend.auth.exception.InvalidCredentialsException;
+import com.opencode.alumxbackend.auth.model.RefreshToken;
+import com.opencode.alumxbackend.auth.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long expiration;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   @Value("${jwt.refresh.expiration:1209600000}") long expiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expiration = expiration;
+    }
+
+    @Override
+    @Transactional
+    public IssuedRefreshToken issue(Long userId) {
+        return store(userId, UUID.randomUUID().toString());
+    }
+
+    // A reused token must stay revoked although the exchange fails
+    @Override
+    @Transactional(noRollbackFor = InvalidCredentialsException.class)
+    public IssuedRefreshToken rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid refresh token"));
+
+        if (refreshTokenRepository.markUsed(current.getId(), LocalDateTime.now()) == 0) {
+            if (current.getUsedAt() != null || current.getExpiresAt().isAfter(LocalDateTime.now())) {
+                // Exchanged before (or lost a race against another exchange): whoever holds
+                // the family's newest token may not be its owner
+                refreshTokenRepository.revokeFamily(current.getFamilyId());
+                log.warn("Refresh token reuse for user {}, revoked family {}", current.getUserId(), current.getFamilyId());
+            }
+            throw new InvalidCredentialsException("Invalid refresh token");
+        }
+        return store(current.getUserId(), current.getFamilyId());
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired refresh tokens", deleted);
+        }
+    }
+
+    private IssuedRefreshToken store(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(now.plusNanos(expiration * 1_000_000))
+                .build());
+        return new IssuedRefreshToken(userId, token, expiration);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.opencode.alumxbackend.chat.controller;
+
+import com.opencode.alumxbackend.auth.security.UserPrincipal;
+import com.opencode.alumxbackend.chat.dto.StompChatMessageRequest;
+import com.opencode.alumxbackend.chat.service.ChatService;
+import com.opencode.alumxbackend.chatreadreceipt.dto.ChatReadRequest;
+import com.opencode.alumxbackend.chatreadreceipt.dto.ChatReadResponse;
+import com.opencode.alumxbackend.chatreadreceipt.service.ChatReadService;
+import com.opencode.alumxbackend.common.websocket.StompUsers;
+import com.opencode.alumxbackend.common.websocket.TypingEvent;
+import com.opencode.alumxbackend.common.websocket.TypingRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+/**
+ * STOMP entry points for one-to-one chat, for clients already connected to {@code /ws}:
+ * - {@code /app/chat/send}: same as POST /api/chats/send, the message arrives on
+ *   {@code /topic/chat/{chatId}}
+ * - {@code /app/chat/{chatId}/typing}: relayed to {@code /topic/chat/{chatId}/typing}
+ * - {@code /app/chat/{chatId}/read}: stored like POST /api/chats/{chatId}/read and relayed to
+ *   {@code /topic/chat/{chatId}/read}
+ *
+ * The sender is always the user authenticated at CONNECT. Failures go to
+ * {@code /user/queue/errors}.
+ */
+@Controller
+@RequiredArgsConstructor
+public class ChatStompController {
+
+    private final ChatService chatService;
+    private final ChatReadService chatReadService;
+
+    @MessageMapping("/chat/send")
+    public void sendMessage(@Payload @Valid StompChatMessageRequest payload, Principal principal) {
+        UserPrincipal user = StompUsers.require(principal);
+        chatService.createMessage(user.getId(), payload.getReceiverId(), payload.getContent());
+    }
+
+    @MessageMapping("/chat/{chatId}/typing")
+    @SendTo("/topic/chat/{chatId}/typing")
+    public TypingEvent typing(
+            @DestinationVariable Long chatId,
+            @Payload TypingRequest payload,
+            Principal principal
+    ) {
+        UserPrincipal user = StompUsers.require(principal);
+        String username = chatService.requireParticipant(chatId, user.getId());
+        return new TypingEvent(user.getId(), username, payload.typing());
+    }
+
+    @MessageMapping("/chat/{chatId}/read")
+    @SendTo("/topic/chat/{chatId}/read")
+    public ChatReadResponse markRead(
+            @DestinationVariable Long chatId,
+            @Payload ChatReadRequest payload,
+            Principal principal
+    ) {
+        UserPrincipal user = StompUsers.require(principal);
+        chatService.requireParticipant(chatId, user.getId());
+        return chatReadService.recordRead(chatId, user.getId(), payload.getLastReadMessageId());
+    }
+}
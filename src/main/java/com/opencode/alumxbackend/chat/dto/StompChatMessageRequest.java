@@ -0,0 +1,21 @@
+package com.opencode.alumxbackend.chat.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * STOMP counterpart of {@link ChatSendRequest}; the sender is the session's user.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StompChatMessageRequest {
+
+    @NotNull(message = "Receiver Id is required")
+    private Long receiverId;
+
+    @NotBlank(message = "Content is required")
+    private String content;
+}
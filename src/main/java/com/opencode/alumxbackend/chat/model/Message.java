@@ -23,7 +23,8 @@ import lombok.Setter;
 @Entity
 @Table(name = "messages",
         indexes = {
-                @Index(name = "idx_chat_id", columnList = "chat_id")
+                // Serves both "messages of a chat" and "messages of a chat after id N" (unread counts)
+                @Index(name = "idx_messages_chat_id_message_id", columnList = "chat_id, messageid")
         }
 )
 @NoArgsConstructor
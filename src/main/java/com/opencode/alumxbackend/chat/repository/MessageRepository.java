@@ -1,11 +1,28 @@
 package com.opencode.alumxbackend.chat.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.opencode.alumxbackend.chat.dto.ChatSendResponse;
 import com.opencode.alumxbackend.chat.model.Message;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    
+
+    // Same shape createMessage broadcasts; the receiver is whichever participant did not send
+    @Query("""
+            SELECT new com.opencode.alumxbackend.chat.dto.ChatSendResponse(
+                m.messageID, c.chatID, m.senderUsername,
+                CASE WHEN m.senderId = c.user1Id THEN c.user2Username ELSE c.user1Username END,
+                m.content, m.createdAt)
+            FROM Message m JOIN m.chat c
+            WHERE m.messageID IN :ids
+            ORDER BY m.messageID
+            """)
+    List<ChatSendResponse> findSendResponsesByIdIn(@Param("ids") Collection<Long> ids);
 }
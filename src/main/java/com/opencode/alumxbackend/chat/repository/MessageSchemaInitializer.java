@@ -0,0 +1,25 @@
+package com.opencode.alumxbackend.chat.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops {@code idx_chat_id}, the single-column {@code messages (chat_id)} index of earlier
+ * versions. {@code idx_messages_chat_id_message_id} on {@code (chat_id, messageid)} replaced
+ * it, but {@code ddl-auto=update} only adds indexes and would keep both, paying for the old
+ * one on every insert. Idempotent.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageSchemaInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_chat_id");
+    }
+}
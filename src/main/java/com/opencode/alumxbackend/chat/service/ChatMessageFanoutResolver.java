@@ -0,0 +1,35 @@
+package com.opencode.alumxbackend.chat.service;
+
+import com.opencode.alumxbackend.chat.repository.MessageRepository;
+import com.opencode.alumxbackend.common.fanout.FanoutDelivery;
+import com.opencode.alumxbackend.common.fanout.FanoutResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reloads one-to-one chat messages announced by other instances, see {@link com.opencode.alumxbackend.common.fanout.PostgresFanoutBus}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatMessageFanoutResolver implements FanoutResolver {
+
+    public static final String KIND = "chat-message";
+
+    private final MessageRepository messageRepository;
+
+    @Override
+    public String kind() {
+        return KIND;
+    }
+
+    @Override
+    public List<FanoutDelivery> resolve(Collection<Long> ids) {
+        return messageRepository.findSendResponsesByIdIn(ids).stream()
+                .map(response -> new FanoutDelivery(
+                        response.getMessageId(), "/topic/chat/" + response.getChatId(), response))
+                .toList();
+    }
+}
@@ -8,4 +8,9 @@ public interface ChatService {
     ChatSendResponse createMessage(Long senderId, Long recieverId, String content);
 
     List<ChatSummaryResponse> listUserChats(Long userId);
+
+    /**
+     * Checks that the user takes part in the chat and returns their username in it.
+     */
+    String requireParticipant(Long chatId, Long userId);
 }
@@ -3,7 +3,6 @@ package com.opencode.alumxbackend.chat.service;
 import java.util.Optional;
 import java.util.List;
 
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,7 +13,10 @@ import com.opencode.alumxbackend.chat.model.Chat;
 import com.opencode.alumxbackend.chat.model.Message;
 import com.opencode.alumxbackend.chat.repository.ChatRepository;
 import com.opencode.alumxbackend.chat.repository.MessageRepository;
+import com.opencode.alumxbackend.chatreadreceipt.service.ChatReadService;
 import com.opencode.alumxbackend.common.exception.Errors.BadRequestException;
+import com.opencode.alumxbackend.common.exception.Errors.UnauthorizedAccessException;
+import com.opencode.alumxbackend.common.fanout.FanoutBus;
 import com.opencode.alumxbackend.users.model.User;
 import com.opencode.alumxbackend.users.repository.UserRepository;
 
@@ -28,7 +30,8 @@ public class ChatServiceImpl implements ChatService {
     private final ChatRepository chatRepository;
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatReadService chatReadService;
+    private final FanoutBus fanoutBus;
 
     @Transactional
     @Override
@@ -87,6 +90,8 @@ public class ChatServiceImpl implements ChatService {
                 .build()
         );
 
+        chatReadService.incrementUnreadCount(chatId, receiverId, message.getMessageID());
+
         ChatSendResponse response = ChatSendResponse.builder()
             .messageId(message.getMessageID())
             .chatId(chatId)
@@ -96,7 +101,7 @@ public class ChatServiceImpl implements ChatService {
             .createdAt(message.getCreatedAt())
             .build();
 
-        messagingTemplate.convertAndSend("/topic/chat/" + chatId, response);
+        fanoutBus.publish(ChatMessageFanoutResolver.KIND, message.getMessageID(), "/topic/chat/" + chatId, response);
 
         return response;
     }
@@ -125,4 +130,18 @@ public class ChatServiceImpl implements ChatService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public String requireParticipant(Long chatId, Long userId) {
+        Chat chat = chatRepository.findById(chatId)
+                .orElseThrow(() -> new EntityNotFoundException("Chat not found"));
+
+        if (userId.equals(chat.getUser1Id())) {
+            return chat.getUser1Username();
+        }
+        if (userId.equals(chat.getUser2Id())) {
+            return chat.getUser2Username();
+        }
+        throw new UnauthorizedAccessException("User is not a participant of this chat");
+    }
 }
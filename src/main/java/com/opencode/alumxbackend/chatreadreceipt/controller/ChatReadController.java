@@ -21,7 +21,7 @@ public class ChatReadController {
     public ResponseEntity<ChatReadResponse> updateRead(
             @PathVariable Long chatId,
             @RequestBody ChatReadRequest request) {
-        ChatReadResponse response = chatReadService.updateLastRead(
+        ChatReadResponse response = chatReadService.recordRead(
                 chatId, request.getUserId(), request.getLastReadMessageId());
         return ResponseEntity.ok(response);
     }
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Data
@@ -33,4 +34,11 @@ public class ChatReadState {
 
     @Column(name = "last_read_message_id")
     private Long lastReadMessageId;
+
+    // Messages from the other participant after lastReadMessageId; incremented as they are
+    // stored, recomputed on read and repaired by the reconciliation job
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount = 0L;
 }
@@ -1,10 +1,13 @@
 package com.opencode.alumxbackend.chatreadreceipt.repository;
 
+import com.opencode.alumxbackend.chatreadreceipt.dto.UnreadCountResponse;
 import com.opencode.alumxbackend.chatreadreceipt.model.ChatReadState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -29,4 +32,63 @@ public interface ChatReadStateRepository extends JpaRepository<ChatReadState, Lo
             "AND m.senderId != :userId")
     Long countAllMessagesFromOther(@Param("chatId") Long chatId,
                                    @Param("userId") Long userId);
+
+    // Every chat of the user with its unread counter; messages are only counted for a chat the
+    // user has no read state for yet (until the reconciliation job creates one)
+    @Query("""
+            SELECT new com.opencode.alumxbackend.chatreadreceipt.dto.UnreadCountResponse(
+                c.chatID, :userId, CASE WHEN s.id IS NULL THEN COUNT(m) ELSE s.unreadCount END)
+            FROM Chat c
+            LEFT JOIN ChatReadState s ON s.chatId = c.chatID AND s.userId = :userId
+            LEFT JOIN Message m ON s.id IS NULL AND m.chat = c AND m.senderId <> :userId
+            WHERE c.user1Id = :userId OR c.user2Id = :userId
+            GROUP BY c.chatID, s.id, s.unreadCount
+            ORDER BY c.chatID
+            """)
+    List<UnreadCountResponse> findAllUnreadCounts(@Param("userId") Long userId);
+
+    // Atomic, no read-modify-write; a message at or before the read position (read from the
+    // broadcast before this ran) is not unread
+    @Modifying
+    @Query("UPDATE ChatReadState s SET s.unreadCount = s.unreadCount + 1 " +
+            "WHERE s.chatId = :chatId AND s.userId = :userId " +
+            "AND (s.lastReadMessageId IS NULL OR s.lastReadMessageId < :messageId)")
+    int incrementUnreadCount(@Param("chatId") Long chatId,
+                             @Param("userId") Long userId,
+                             @Param("messageId") Long messageId);
+
+    // Reconciliation, one id range per call and transaction, so no run holds locks on every
+    // read state at once: a read state for both participants of the chats in [fromId, toId) ...
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO chat_read_states (chat_id, user_id, unread_count)
+            SELECT c.chat_id, c.user1_id, 0 FROM chats c
+            WHERE c.chat_id >= :fromId AND c.chat_id < :toId
+            AND NOT EXISTS (SELECT 1 FROM chat_read_states s WHERE s.chat_id = c.chat_id AND s.user_id = c.user1_id)
+            UNION ALL
+            SELECT c.chat_id, c.user2_id, 0 FROM chats c
+            WHERE c.chat_id >= :fromId AND c.chat_id < :toId
+            AND NOT EXISTS (SELECT 1 FROM chat_read_states s WHERE s.chat_id = c.chat_id AND s.user_id = c.user2_id)
+            """, nativeQuery = true)
+    int insertMissingReadStates(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // ... and every counter in [fromId, toId) that drifted from the messages it stands for
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE chat_read_states s
+            SET unread_count = (SELECT COUNT(*) FROM messages m WHERE m.chat_id = s.chat_id AND m.sender_id <> s.user_id
+                                AND (s.last_read_message_id IS NULL OR m.messageid > s.last_read_message_id))
+            WHERE s.id >= :fromId AND s.id < :toId
+            AND unread_count <> (SELECT COUNT(*) FROM messages m WHERE m.chat_id = s.chat_id AND m.sender_id <> s.user_id
+                                 AND (s.last_read_message_id IS NULL OR m.messageid > s.last_read_message_id))
+            """, nativeQuery = true)
+    int repairUnreadCounts(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("SELECT COALESCE(MAX(c.chatID), 0) FROM Chat c")
+    long findMaxChatId();
+
+    @Query("SELECT COALESCE(MAX(s.id), 0) FROM ChatReadState s")
+    long findMaxId();
 }
@@ -9,9 +9,22 @@ public interface ChatReadService {
 
     ChatReadResponse updateLastRead(Long chatId, Long userId, Long lastReadMessageId);
 
+    /**
+     * Same as {@link #updateLastRead}, for callers reporting positions often: the position is
+     * coalesced with the user's other reports and stored with the next flush of
+     * {@link ChatReadStateWriter}. Answers with the furthest of the pending and stored
+     * positions, as {@link #updateLastRead} does.
+     */
+    ChatReadResponse recordRead(Long chatId, Long userId, Long lastReadMessageId);
+
     ChatReadResponse getLastReadMessage(Long chatId, Long userId);
 
+    /** Counts a stored message as unread for the user, unless they already read past it. */
+    void incrementUnreadCount(Long chatId, Long userId, Long messageId);
+
     UnreadCountResponse getUnreadCount(Long chatId, Long userId);
 
     List<UnreadCountResponse> getAllUnreadCounts(Long userId);
+
+    void reconcileUnreadCounts();
 }
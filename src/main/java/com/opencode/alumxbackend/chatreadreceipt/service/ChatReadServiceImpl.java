@@ -1,66 +1,79 @@
 package com.opencode.alumxbackend.chatreadreceipt.service;
 
-import com.opencode.alumxbackend.chat.model.Chat;
-import com.opencode.alumxbackend.chat.repository.ChatRepository;
 import com.opencode.alumxbackend.chatreadreceipt.dto.ChatReadResponse;
 import com.opencode.alumxbackend.chatreadreceipt.dto.UnreadCountResponse;
 import com.opencode.alumxbackend.chatreadreceipt.model.ChatReadState;
 import com.opencode.alumxbackend.chatreadreceipt.repository.ChatReadStateRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.ToIntBiFunction;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ChatReadServiceImpl implements ChatReadService {
 
     private final ChatReadStateRepository chatReadStateRepository;
-    private final ChatRepository chatRepository;
+    private final ChatReadStateWriter chatReadStateWriter;
 
+    @Value("${readstate.unread.reconcile.batch-size:1000}")
+    private int reconcileBatchSize;
+
+    // Atomic update-or-insert of ChatReadStateWriter, so concurrent first reads of a user
+    // cannot both insert
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ChatReadResponse updateLastRead(Long chatId, Long userId, Long lastReadMessageId) {
-        ChatReadState state = chatReadStateRepository.findByChatIdAndUserId(chatId, userId)
-                .orElse(ChatReadState.builder()
-                        .chatId(chatId)
-                        .userId(userId)
-                        .lastReadMessageId(lastReadMessageId)
-                        .build());
+        chatReadStateWriter.storeNow(chatId, userId, lastReadMessageId);
+        Long stored = chatReadStateRepository.findByChatIdAndUserId(chatId, userId)
+                .map(ChatReadState::getLastReadMessageId)
+                .orElse(lastReadMessageId);
+        return new ChatReadResponse(userId, stored);
+    }
 
-        if (state.getLastReadMessageId() == null || lastReadMessageId > state.getLastReadMessageId()) {
-            state.setLastReadMessageId(lastReadMessageId);
-            chatReadStateRepository.save(state);
-        }
+    @Override
+    public ChatReadResponse recordRead(Long chatId, Long userId, Long lastReadMessageId) {
+        long pending = chatReadStateWriter.record(chatId, userId, lastReadMessageId);
+        // Looked up after recording, so a flush in between is seen as stored
+        Long stored = chatReadStateRepository.findByChatIdAndUserId(chatId, userId)
+                .map(ChatReadState::getLastReadMessageId)
+                .orElse(null);
+        return new ChatReadResponse(userId, stored != null && stored > pending ? stored : pending);
+    }
 
-        return new ChatReadResponse(state.getUserId(), state.getLastReadMessageId());
+    @Override
+    public void incrementUnreadCount(Long chatId, Long userId, Long messageId) {
+        chatReadStateRepository.incrementUnreadCount(chatId, userId, messageId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ChatReadResponse getLastReadMessage(Long chatId, Long userId) {
-        return chatReadStateRepository.findByChatIdAndUserId(chatId, userId)
-                .map(state -> new ChatReadResponse(state.getUserId(), state.getLastReadMessageId()))
-                .orElse(new ChatReadResponse(userId, null));
+        Long stored = chatReadStateRepository.findByChatIdAndUserId(chatId, userId)
+                .map(ChatReadState::getLastReadMessageId)
+                .orElse(null);
+        // A position recorded but not flushed yet is ahead of the stored one
+        Long lastRead = chatReadStateWriter.pending(chatId, userId)
+                .filter(pending -> stored == null || pending > stored)
+                .orElse(stored);
+        return new ChatReadResponse(userId, lastRead);
     }
 
     @Override
     @Transactional(readOnly = true)
     public UnreadCountResponse getUnreadCount(Long chatId, Long userId) {
-        Long lastReadMessageId = chatReadStateRepository.findByChatIdAndUserId(chatId, userId)
-                .map(ChatReadState::getLastReadMessageId)
-                .orElse(null);
-
-        Long unreadCount;
-        if (lastReadMessageId == null) {
-            unreadCount = chatReadStateRepository.countAllMessagesFromOther(chatId, userId);
-        } else {
-            unreadCount = chatReadStateRepository.countUnreadMessages(chatId, userId, lastReadMessageId);
-        }
+        // Counted only until the reconciliation job has created the user's read state
+        Long unreadCount = chatReadStateRepository.findByChatIdAndUserId(chatId, userId)
+                .map(ChatReadState::getUnreadCount)
+                .orElseGet(() -> chatReadStateRepository.countAllMessagesFromOther(chatId, userId));
 
         return new UnreadCountResponse(chatId, userId, unreadCount);
     }
@@ -68,27 +81,30 @@ public class ChatReadServiceImpl implements ChatReadService {
     @Override
     @Transactional(readOnly = true)
     public List<UnreadCountResponse> getAllUnreadCounts(Long userId) {
-        List<Chat> userChats = chatRepository.findAll().stream()
-                .filter(chat -> chat.getUser1Id().equals(userId) || chat.getUser2Id().equals(userId))
-                .collect(Collectors.toList());
-
-        Map<Long, Long> readStates = chatReadStateRepository.findByUserId(userId).stream()
-                .collect(Collectors.toMap(ChatReadState::getChatId, ChatReadState::getLastReadMessageId));
-
-        List<UnreadCountResponse> results = new ArrayList<>();
-        for (Chat chat : userChats) {
-            Long lastReadMessageId = readStates.get(chat.getChatID());
-            Long unreadCount;
-
-            if (lastReadMessageId == null) {
-                unreadCount = chatReadStateRepository.countAllMessagesFromOther(chat.getChatID(), userId);
-            } else {
-                unreadCount = chatReadStateRepository.countUnreadMessages(chat.getChatID(), userId, lastReadMessageId);
-            }
+        return chatReadStateRepository.findAllUnreadCounts(userId);
+    }
 
-            results.add(new UnreadCountResponse(chat.getChatID(), userId, unreadCount));
+    // Creates the read states chats started without and repairs counters that drifted, e.g.
+    // an increment lost to a concurrent recount
+    // One id range per transaction, see readstate.unread.reconcile.batch-size
+    @Override
+    @Scheduled(initialDelayString = "${readstate.unread.reconcile.initial-delay-ms:60000}",
+            fixedDelayString = "${readstate.unread.reconcile.interval-ms:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcileUnreadCounts() {
+        int created = inBatches(chatReadStateRepository.findMaxChatId(), chatReadStateRepository::insertMissingReadStates);
+        int repaired = inBatches(chatReadStateRepository.findMaxId(), chatReadStateRepository::repairUnreadCounts);
+        if (created > 0 || repaired > 0) {
+            log.info("Chat unread counters reconciled: {} read states created, {} repaired", created, repaired);
         }
+    }
 
-        return results;
+    // [fromId, toId) ranges of readstate.unread.reconcile.batch-size ids up to maxId
+    private int inBatches(long maxId, ToIntBiFunction<Long, Long> update) {
+        int changed = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += reconcileBatchSize) {
+            changed += update.applyAsInt(fromId, fromId + reconcileBatchSize);
+        }
+        return changed;
     }
 }
@@ -0,0 +1,73 @@
+package com.opencode.alumxbackend.chatreadreceipt.service;
+
+import com.opencode.alumxbackend.common.readstate.CoalescingReadStateWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Coalesced chat read positions; see {@link CoalescingReadStateWriter}. */
+@Component
+@RequiredArgsConstructor
+public class ChatReadStateWriter extends CoalescingReadStateWriter {
+
+    // The counter is recounted from the new position only when the position moves forward
+    private static final String UPDATE_SQL = """
+            UPDATE chat_read_states s
+            SET unread_count = CASE WHEN s.last_read_message_id IS NULL OR s.last_read_message_id < ?
+                    THEN (SELECT COUNT(*) FROM messages m WHERE m.chat_id = s.chat_id
+                          AND m.sender_id <> s.user_id AND m.messageid > ?)
+                    ELSE s.unread_count END,
+                last_read_message_id = GREATEST(COALESCE(s.last_read_message_id, 0), ?)
+            WHERE s.chat_id = ? AND s.user_id = ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO chat_read_states (chat_id, user_id, last_read_message_id, unread_count)
+            SELECT ?, ?, ?, COUNT(*) FROM messages m
+            WHERE m.chat_id = ? AND m.sender_id <> ? AND m.messageid > ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stores one position right away with the same statements as a flush, bypassing the
+     * queue. Must not run inside a transaction: the insert of a concurrent first read would
+     * abort it.
+     */
+    public void storeNow(Long chatId, Long userId, Long lastReadMessageId) {
+        List<ReadPosition> position = List.of(new ReadPosition(chatId, userId, lastReadMessageId));
+        if (!store(position).isEmpty()) {
+            // A concurrent first read inserted the row, which can now be updated
+            store(position);
+        }
+    }
+
+    // Updates first: a reader without a row (0 updated) is inserted afterwards
+    @Override
+    protected List<ReadPosition> store(List<ReadPosition> positions) {
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, positions.stream()
+                .map(p -> new Object[]{p.lastReadMessageId(), p.lastReadMessageId(), p.lastReadMessageId(),
+                        p.conversationId(), p.userId()})
+                .toList());
+
+        List<ReadPosition> retry = new ArrayList<>();
+        for (int i = 0; i < positions.size(); i++) {
+            if (updated[i] != 0) {
+                continue;
+            }
+            ReadPosition p = positions.get(i);
+            try {
+                jdbcTemplate.update(INSERT_SQL, p.conversationId(), p.userId(), p.lastReadMessageId(),
+                        p.conversationId(), p.userId(), p.lastReadMessageId());
+            } catch (DataIntegrityViolationException e) {
+                // The row was created meanwhile; the next flush updates it
+                retry.add(p);
+            }
+        }
+        return retry;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -13,10 +14,13 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @Getter
@@ -29,9 +33,15 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    // New hashes are "{bcrypt}$2a$<strength>$..."; hashes stored before the prefix existed are
+    // still bcrypt and match through the default. upgradeEncoding() is true for those and for
+    // hashes of a lower strength, so AuthServiceImpl rehashes them at the next login.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -59,6 +69,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/users").hasRole("ADMIN") // Only admins can view all users
                         .requestMatchers("/health").permitAll()
                         .requestMatchers("/ws/**").permitAll() // WebSocket endpoint
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN") // Operational endpoints
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
@@ -91,6 +102,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/users").hasRole("ADMIN") 
                         .requestMatchers("/health").permitAll()
                         .requestMatchers("/ws/**").permitAll() // WebSocket endpoint
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN") // Operational endpoints
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
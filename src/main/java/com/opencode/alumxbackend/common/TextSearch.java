@@ -0,0 +1,35 @@
+package com.opencode.alumxbackend.common;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Query helpers shared by the PostgreSQL full-text search engines.
+ */
+public final class TextSearch {
+
+    private TextSearch() {
+    }
+
+    /**
+     * Lower-cased letter/digit tokens of {@code query}, at most {@code maxTokens}.
+     */
+    public static List<String> tokenize(String query, int maxTokens) {
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .limit(maxTokens)
+                .toList();
+    }
+
+    /**
+     * Turns free text into a prefix tsquery ({@code "jo do"} -> {@code "jo:* & do:*"}).
+     * Only letters and digits survive, so user input can never inject tsquery operators.
+     */
+    public static String toPrefixTsQuery(String query, int maxTokens) {
+        return tokenize(query, maxTokens).stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -1,14 +1,27 @@
 package com.opencode.alumxbackend.common;
 
+import com.opencode.alumxbackend.auth.security.StompAuthenticationInterceptor;
+import com.opencode.alumxbackend.common.websocket.InProcessStompBroker;
+import com.opencode.alumxbackend.common.websocket.SlowConsumerGuard;
+import com.opencode.alumxbackend.common.websocket.StompErrorHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket configuration for real-time messaging (group chat and one-to-one chat).
- * 
+ *
  * Configuration overview:
  * - Clients connect via: /ws
  * - Clients subscribe to:
@@ -17,27 +30,181 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * - Messages sent from server to:
  *   - Group chat: /topic/group/{groupId}
  *   - One-to-one chat: /topic/chat/{chatId}
- * 
+ *
  * Flow:
- * 1. Client sends message via REST API
+ * 1. Client sends message via REST API, or as a STOMP frame to /app/group/{groupId}/send or
+ *    /app/chat/send (see GroupMessageStompController, ChatStompController)
  * 2. Message is validated and saved to database
  * 3. Server broadcasts message to appropriate topic via WebSocket
  * 4. All clients subscribed to that topic receive the message instantly
+ *
+ * STOMP sessions are authenticated once, from the Authorization header of the CONNECT frame,
+ * and every SUBSCRIBE is checked against the cached principal
+ * ({@link StompAuthenticationInterceptor}); refusals come back as ERROR frames. Errors of
+ * /app frames go to /user/queue/errors. Frames of one session are handled in the order they
+ * were received, although the inbound channel is a thread pool.
+ *
+ * Broker modes (websocket.broker.mode):
+ * - simple: in-memory broker, broadcasts only reach clients connected to this instance
+ * - relay: /topic is relayed to an external STOMP broker (RabbitMQ, ActiveMQ), so every
+ *   instance sees every broadcast. websocket.broker.relay.embedded=true points the relay at
+ *   {@link InProcessStompBroker} instead, for tests and local runs.
+ *
+ * Transport limits (websocket.transport.*) bound message size, send time and send buffer per
+ * session; {@link SlowConsumerGuard} caps what a single session may queue on the outbound
+ * channel and drops or evicts slow consumers.
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.broker.heartbeat.send-ms:10000}")
+    private long heartbeatSendMs;
+
+    @Value("${websocket.broker.heartbeat.receive-ms:10000}")
+    private long heartbeatReceiveMs;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${websocket.broker.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${websocket.broker.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${websocket.broker.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${websocket.broker.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${websocket.channel.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${websocket.channel.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${websocket.channel.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.channel.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${websocket.channel.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${websocket.channel.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.transport.time-to-first-message-ms:60000}")
+    private int timeToFirstMessageMs;
+
+    private final ObjectProvider<InProcessStompBroker> inProcessBroker;
+    private final SlowConsumerGuard slowConsumerGuard;
+    private final StompAuthenticationInterceptor stompAuthenticationInterceptor;
+    private final StompErrorHandler stompErrorHandler;
+
+    // Heartbeats of the simple broker need a scheduler; lazy because it is created by the
+    // same configuration infrastructure this class feeds
+    private TaskScheduler heartbeatScheduler;
+
+    public WebSocketConfig(
+            ObjectProvider<InProcessStompBroker> inProcessBroker,
+            SlowConsumerGuard slowConsumerGuard,
+            StompAuthenticationInterceptor stompAuthenticationInterceptor,
+            StompErrorHandler stompErrorHandler) {
+        this.inProcessBroker = inProcessBroker;
+        this.slowConsumerGuard = slowConsumerGuard;
+        this.stompAuthenticationInterceptor = stompAuthenticationInterceptor;
+        this.stompErrorHandler = stompErrorHandler;
+    }
+
+    @Autowired
+    public void setHeartbeatScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler heartbeatScheduler) {
+        this.heartbeatScheduler = heartbeatScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple in-memory message broker to carry messages back to the client
-        // on destinations prefixed with "/topic"
-        config.enableSimpleBroker("/topic");
-        
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            configureRelay(config);
+        } else {
+            // Enable a simple in-memory message broker to carry messages back to the client
+            // on destinations prefixed with "/topic" ("/queue" carries per-user error replies)
+            config.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[] {heartbeatSendMs, heartbeatReceiveMs})
+                    .setTaskScheduler(heartbeatScheduler);
+        }
+
         // Prefix for messages that are bound for @MessageMapping-annotated methods
         config.setApplicationDestinationPrefixes("/app");
     }
 
+    private void configureRelay(MessageBrokerRegistry config) {
+        InProcessStompBroker standIn = inProcessBroker.getIfAvailable();
+
+        // Client heartbeats pass through to the broker; these cover the shared system session
+        StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(standIn != null ? "127.0.0.1" : relayHost)
+                .setRelayPort(standIn != null ? standIn.getPort() : relayPort)
+                .setClientLogin(relayClientLogin)
+                .setClientPasscode(relayClientPasscode)
+                .setSystemLogin(relaySystemLogin)
+                .setSystemPasscode(relaySystemPasscode)
+                .setSystemHeartbeatSendInterval(heartbeatSendMs)
+                .setSystemHeartbeatReceiveInterval(heartbeatReceiveMs);
+        if (!relayVirtualHost.isBlank()) {
+            relay.setVirtualHost(relayVirtualHost);
+        }
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+        registration.interceptors(stompAuthenticationInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+        registration.interceptors(slowConsumerGuard);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // A session whose send exceeds the time or buffer limit is closed by Spring
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setTimeToFirstMessage(timeToFirstMessageMs)
+                .addDecoratorFactory(slowConsumerGuard);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // Register the "/ws" endpoint for WebSocket connections
@@ -45,5 +212,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*") // Configure CORS as needed for production
                 .withSockJS(); // Fallback for browsers that don't support WebSocket
+        registry.setErrorHandler(stompErrorHandler);
+        // The inbound channel is a thread pool: without this, two frames of one session
+        // (a send and the read that follows it) can be handled out of order
+        registry.setPreserveReceiveOrder(true);
     }
 }
@@ -1,10 +1,20 @@
 package com.opencode.alumxbackend.common.exception;
 
+import com.opencode.alumxbackend.auth.exception.InvalidCredentialsException;
+import com.opencode.alumxbackend.auth.exception.PasswordHashingBusyException;
 import com.opencode.alumxbackend.common.exception.Errors.*;
+import com.opencode.alumxbackend.groupchatmessages.exception.GroupNotFoundException;
+import com.opencode.alumxbackend.groupchatmessages.exception.InvalidMessageException;
+import com.opencode.alumxbackend.groupchatmessages.exception.InvalidRequestException;
+import com.opencode.alumxbackend.groupchatmessages.exception.UserNotMemberException;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
@@ -106,6 +116,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    // Module exceptions declaring their status with @ResponseStatus, which the catch-all below
+    // would otherwise turn into a 500
+    @ExceptionHandler({
+            InvalidCredentialsException.class,
+            PasswordHashingBusyException.class,
+            GroupNotFoundException.class,
+            UserNotMemberException.class,
+            InvalidMessageException.class,
+            InvalidRequestException.class
+    })
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(RuntimeException ex) {
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(ex.getClass(), ResponseStatus.class);
+        HttpStatus status = responseStatus != null ? responseStatus.code() : HttpStatus.INTERNAL_SERVER_ERROR;
+        return errorResponse(status, ex.getMessage());
+    }
+
+    // Spring's own request errors, such as a missing header or request parameter
+    @ExceptionHandler({ServletRequestBindingException.class, ErrorResponseException.class})
+    public ResponseEntity<ErrorResponse> handleSpringErrorResponse(Exception ex) {
+        int code = ((org.springframework.web.ErrorResponse) ex).getStatusCode().value();
+        HttpStatus status = HttpStatus.resolve(code);
+        return errorResponse(status != null ? status : HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         ErrorResponse errorResponse = new ErrorResponse(
@@ -116,4 +150,14 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private static ResponseEntity<ErrorResponse> errorResponse(HttpStatus status, String message) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.value(),
+                status.getReasonPhrase(),
+                message != null ? message : status.getReasonPhrase(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, status);
+    }
 }
@@ -0,0 +1,21 @@
+package com.opencode.alumxbackend.common.fanout;
+
+/**
+ * Delivers chat broadcasts to WebSocket subscribers on every backend instance.
+ *
+ * {@link LoopbackFanoutBus} ({@code fanout.bus=loopback}, default) only broadcasts locally;
+ * {@link PostgresFanoutBus} ({@code fanout.bus=postgres}) also tells the other instances
+ * through {@code LISTEN/NOTIFY}, and they re-broadcast after fetching the message with the
+ * {@link FanoutResolver} registered for its kind.
+ */
+public interface FanoutBus {
+
+    /**
+     * Broadcasts {@code payload} to {@code destination} on this instance now and on the other
+     * instances once the surrounding transaction (if any) commits.
+     *
+     * @param kind    the {@link FanoutResolver#kind()} able to reload the message by id
+     * @param id      id of the persisted message
+     */
+    void publish(String kind, long id, String destination, Object payload);
+}
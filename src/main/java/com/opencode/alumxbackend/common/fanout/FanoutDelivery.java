@@ -0,0 +1,7 @@
+package com.opencode.alumxbackend.common.fanout;
+
+/**
+ * A reloaded message and where to broadcast it.
+ */
+public record FanoutDelivery(long id, String destination, Object payload) {
+}
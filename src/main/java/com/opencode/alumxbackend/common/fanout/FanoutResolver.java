@@ -0,0 +1,19 @@
+package com.opencode.alumxbackend.common.fanout;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reloads published messages by id on the receiving instances of {@link PostgresFanoutBus}.
+ */
+public interface FanoutResolver {
+
+    /** Kind passed to {@link FanoutBus#publish}, unique per resolver. */
+    String kind();
+
+    /**
+     * Loads the given messages in one query, in id order, which is the order they are
+     * broadcast in. Ids that are not (yet) visible are left out and retried by the bus.
+     */
+    List<FanoutDelivery> resolve(Collection<Long> ids);
+}
@@ -0,0 +1,23 @@
+package com.opencode.alumxbackend.common.fanout;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-instance bus: broadcasts to the local broker only. Also the right choice with
+ * {@code websocket.broker.mode=relay}, where the external broker already reaches every instance.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "fanout.bus", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackFanoutBus implements FanoutBus {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public void publish(String kind, long id, String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+}
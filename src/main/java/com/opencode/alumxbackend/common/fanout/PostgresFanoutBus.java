@@ -0,0 +1,225 @@
+package com.opencode.alumxbackend.common.fanout;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cluster-wide fan-out over PostgreSQL {@code LISTEN/NOTIFY} on the application datasource.
+ *
+ * A publish broadcasts locally right away and issues {@code pg_notify} carrying only
+ * {@code node:kind:id}: NOTIFY payloads are capped at 8000 bytes, and messages can be larger.
+ * Postgres delivers the notification when the sending transaction commits. Every other
+ * instance collects notifications for up to {@code batch-window-ms}, reloads them with one
+ * query per kind through the matching {@link FanoutResolver} and broadcasts to its own
+ * subscribers. Ids that are not visible yet (write-behind group messages) are retried up to
+ * {@code max-fetch-attempts} times.
+ *
+ * The listener holds one datasource connection for as long as the application runs and
+ * reconnects after failures; notifications sent while it is disconnected are lost.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "fanout.bus", havingValue = "postgres")
+public class PostgresFanoutBus implements FanoutBus, SmartLifecycle {
+
+    static final String CHANNEL = "alumx_fanout";
+
+    private static final long IDLE_POLL_MS = 1_000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Map<String, FanoutResolver> resolvers;
+    private final long batchWindowMs;
+    private final int maxBatchSize;
+    private final int maxFetchAttempts;
+    private final long retryDelayMs;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // kind -> id -> failed fetch attempts; only touched by the listener thread
+    private final Map<String, Map<Long, Integer>> pending = new HashMap<>();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresFanoutBus(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            SimpMessagingTemplate messagingTemplate,
+            List<FanoutResolver> resolvers,
+            @Value("${fanout.postgres.batch-window-ms:20}") long batchWindowMs,
+            @Value("${fanout.postgres.max-batch-size:500}") int maxBatchSize,
+            @Value("${fanout.postgres.max-fetch-attempts:5}") int maxFetchAttempts,
+            @Value("${fanout.postgres.retry-delay-ms:100}") long retryDelayMs) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.resolvers = resolvers.stream()
+                .collect(Collectors.toMap(FanoutResolver::kind, Function.identity()));
+        this.batchWindowMs = batchWindowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.maxFetchAttempts = maxFetchAttempts;
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    @Override
+    public void publish(String kind, long id, String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+
+        String notification = nodeId + ":" + kind + ":" + id;
+        jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) ps -> {
+            ps.setString(1, CHANNEL);
+            ps.setString(2, notification);
+            return ps.execute();
+        });
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                while (running) {
+                    receive(pgConnection.getNotifications((int) (pending.isEmpty() ? IDLE_POLL_MS : retryDelayMs)));
+                    if (pending.isEmpty()) {
+                        continue;
+                    }
+                    // Something arrived: keep collecting for the batch window, then fetch once per kind
+                    long deadline = System.currentTimeMillis() + batchWindowMs;
+                    long remaining;
+                    while (pendingCount() < maxBatchSize
+                            && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                        receive(pgConnection.getNotifications((int) Math.max(1, remaining)));
+                    }
+                    deliverPending();
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Fan-out listener lost its connection, reconnecting", e);
+                try {
+                    Thread.sleep(IDLE_POLL_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void receive(PGNotification[] notifications) {
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            accept(notification.getParameter());
+        }
+    }
+
+    // Parses node:kind:id; notifications published by this instance were already broadcast
+    void accept(String notification) {
+        String[] parts = notification.split(":", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        try {
+            long id = Long.parseLong(parts[2]);
+            pending.computeIfAbsent(parts[1], kind -> new LinkedHashMap<>()).putIfAbsent(id, 0);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed fan-out notification '{}'", notification);
+        }
+    }
+
+    void deliverPending() {
+        pending.entrySet().removeIf(entry -> {
+            String kind = entry.getKey();
+            Map<Long, Integer> ids = entry.getValue();
+            FanoutResolver resolver = resolvers.get(kind);
+            if (resolver == null) {
+                log.warn("No fan-out resolver for kind '{}', dropping {} notifications", kind, ids.size());
+                return true;
+            }
+
+            try {
+                for (FanoutDelivery delivery : resolver.resolve(List.copyOf(ids.keySet()))) {
+                    messagingTemplate.convertAndSend(delivery.destination(), delivery.payload());
+                    ids.remove(delivery.id());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Fan-out fetch of {} '{}' messages failed", ids.size(), kind, e);
+            }
+
+            ids.replaceAll((id, attempts) -> attempts + 1);
+            ids.values().removeIf(attempts -> {
+                if (attempts >= maxFetchAttempts) {
+                    log.warn("Dropping fan-out of a '{}' message not visible after {} attempts", kind, attempts);
+                    return true;
+                }
+                return false;
+            });
+            return ids.isEmpty();
+        });
+    }
+
+    int pendingCount() {
+        return pending.values().stream().mapToInt(Map::size).sum();
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform()
+                .name("fanout-listener")
+                .daemon(true)
+                .start(this::listen);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            try {
+                listener.join(IDLE_POLL_MS * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
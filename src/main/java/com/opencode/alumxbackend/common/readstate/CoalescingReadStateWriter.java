@@ -0,0 +1,119 @@
+package com.opencode.alumxbackend.common.readstate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind for read positions, which are reported far more often than they need storing:
+ * every send marks the sender's own message read, and clients report their position while
+ * scrolling.
+ *
+ * {@link #record} only merges the position into a map keyed by (conversation, user), keeping
+ * the highest, so a burst of reports from one reader becomes a single row update. A scheduled
+ * flush hands everything pending to {@link #store}, which writes it as one JDBC batch of
+ * monotonic updates ({@code GREATEST(last_read_message_id, ?)} or an upsert that only moves the
+ * position forward). Such updates cannot move a position backwards whatever else wrote the row
+ * meanwhile. A flush that fails is retried with the next one.
+ *
+ * Pending positions are flushed once more on shutdown, after the web server has stopped.
+ * Until a position is flushed, the stored read state and unread counter lag behind by at most
+ * {@code readstate.write-behind.flush-interval-ms}.
+ */
+@Slf4j
+public abstract class CoalescingReadStateWriter implements SmartLifecycle {
+
+    public record ReadPosition(Long conversationId, Long userId, Long lastReadMessageId) {
+    }
+
+    private record Reader(Long conversationId, Long userId) {
+    }
+
+    private final Map<Reader, Long> pending = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    /**
+     * Stores the positions, creating the read states of readers who have none, and returns the
+     * ones to retry with the next flush.
+     */
+    protected abstract List<ReadPosition> store(List<ReadPosition> positions);
+
+    /** Records the position and returns the highest one pending for the reader. */
+    public long record(Long conversationId, Long userId, Long lastReadMessageId) {
+        long position = pending.merge(new Reader(conversationId, userId), lastReadMessageId, Math::max);
+        if (!running) {
+            // Stopped: nothing would flush it later
+            flush();
+        }
+        return position;
+    }
+
+    /** The reader's position not flushed yet, if any. */
+    public Optional<Long> pending(Long conversationId, Long userId) {
+        return Optional.ofNullable(pending.get(new Reader(conversationId, userId)));
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${readstate.write-behind.flush-interval-ms:200}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ReadPosition> batch = new ArrayList<>(pending.size());
+        for (Reader reader : pending.keySet()) {
+            // A report arriving after this remove is pending again and goes with the next flush
+            Long position = pending.remove(reader);
+            if (position != null) {
+                batch.add(new ReadPosition(reader.conversationId(), reader.userId(), position));
+            }
+        }
+
+        List<ReadPosition> retry;
+        try {
+            retry = store(batch);
+        } catch (DataAccessException e) {
+            // Positions only move forward, so storing some of them twice is harmless
+            log.warn("Could not store {} read positions, retrying with the next flush", batch.size(), e);
+            retry = batch;
+        }
+        retry.forEach(this::requeue);
+    }
+
+    private void requeue(ReadPosition position) {
+        pending.merge(new Reader(position.conversationId(), position.userId()),
+                position.lastReadMessageId(), Math::max);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server (DEFAULT_PHASE - 1024/-2048) so no request records after the final flush
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,288 @@
+package com.opencode.alumxbackend.common.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal STOMP 1.2 broker on a loopback TCP port, standing in for RabbitMQ/ActiveMQ so the
+ * broker relay mode can run in tests and on a developer machine.
+ *
+ * Supports what the relay uses: CONNECT/STOMP, SUBSCRIBE, UNSUBSCRIBE, SEND (delivered to
+ * every subscription with exactly that destination), DISCONNECT and receipts. Heartbeats are
+ * declined ({@code heart-beat:0,0}), transactions and acks are not implemented. Not meant
+ * for production traffic.
+ *
+ * Enabled with {@code websocket.broker.relay.embedded=true}; the relay then connects to
+ * {@link #getPort()} instead of {@code websocket.broker.relay.port}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "websocket.broker.relay.embedded", havingValue = "true")
+public class InProcessStompBroker implements InitializingBean, DisposableBean {
+
+    private final int configuredPort;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+
+    public InProcessStompBroker(@Value("${websocket.broker.relay.embedded-port:0}") int configuredPort) {
+        this.configuredPort = configuredPort;
+    }
+
+    // Bound on construction so the relay configuration can read the port
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        serverSocket = new ServerSocket(configuredPort, 50, InetAddress.getLoopbackAddress());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        executor.execute(this::acceptLoop);
+        log.info("In-process STOMP broker listening on port {}", getPort());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Connection connection = new Connection(socket);
+                connections.add(connection);
+                executor.execute(connection::readLoop);
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("In-process STOMP broker failed to accept a connection", e);
+                }
+            }
+        }
+    }
+
+    private void publish(String destination, String contentType, byte[] body) {
+        String messageId = "m-" + messageIds.incrementAndGet();
+        for (Connection connection : connections) {
+            connection.deliver(destination, messageId, contentType, body);
+        }
+    }
+
+    private record Frame(String command, Map<String, String> headers, byte[] body) {
+    }
+
+    private final class Connection {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        // subscription id -> destination
+        private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        private void readLoop() {
+            try {
+                Frame frame;
+                while ((frame = readFrame()) != null) {
+                    if (!handle(frame)) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("In-process STOMP connection closed: {}", e.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        // Returns false when the connection should be closed
+        private boolean handle(Frame frame) throws IOException {
+            Map<String, String> headers = frame.headers();
+            switch (frame.command()) {
+                case "CONNECT", "STOMP" -> {
+                    Map<String, String> connected = new LinkedHashMap<>();
+                    connected.put("version", "1.2");
+                    connected.put("heart-beat", "0,0");
+                    connected.put("server", "alumx-in-process/1.0");
+                    write("CONNECTED", connected, null);
+                }
+                case "SUBSCRIBE" -> {
+                    if (headers.get("id") == null || headers.get("destination") == null) {
+                        write("ERROR", Map.of("message", "SUBSCRIBE requires id and destination"), null);
+                        return false;
+                    }
+                    subscriptions.put(headers.get("id"), headers.get("destination"));
+                }
+                case "UNSUBSCRIBE" -> {
+                    if (headers.get("id") != null) {
+                        subscriptions.remove(headers.get("id"));
+                    }
+                }
+                case "SEND" -> publish(headers.get("destination"), headers.get("content-type"), frame.body());
+                case "DISCONNECT" -> {
+                    receipt(headers);
+                    return false;
+                }
+                default -> {
+                    write("ERROR", Map.of("message", "Unsupported command " + frame.command()), null);
+                    return false;
+                }
+            }
+            receipt(headers);
+            return true;
+        }
+
+        private void receipt(Map<String, String> headers) throws IOException {
+            String receipt = headers.get("receipt");
+            if (receipt != null) {
+                write("RECEIPT", Map.of("receipt-id", receipt), null);
+            }
+        }
+
+        private void deliver(String destination, String messageId, String contentType, byte[] body) {
+            subscriptions.forEach((subscriptionId, subscribed) -> {
+                if (!subscribed.equals(destination)) {
+                    return;
+                }
+                Map<String, String> headers = new LinkedHashMap<>();
+                headers.put("destination", destination);
+                headers.put("subscription", subscriptionId);
+                headers.put("message-id", messageId);
+                if (contentType != null) {
+                    headers.put("content-type", contentType);
+                }
+                try {
+                    write("MESSAGE", headers, body);
+                } catch (IOException e) {
+                    close();
+                }
+            });
+        }
+
+        private synchronized void write(String command, Map<String, String> headers, byte[] body) throws IOException {
+            StringBuilder frame = new StringBuilder(command).append('\n');
+            headers.forEach((name, value) -> frame.append(name).append(':').append(value).append('\n'));
+            if (body != null) {
+                frame.append("content-length:").append(body.length).append('\n');
+            }
+            frame.append('\n');
+            out.write(frame.toString().getBytes(StandardCharsets.UTF_8));
+            if (body != null) {
+                out.write(body);
+            }
+            out.write(0);
+            out.flush();
+        }
+
+        private Frame readFrame() throws IOException {
+            String command;
+            // Skip heartbeat EOLs between frames
+            do {
+                command = readLine();
+                if (command == null) {
+                    return null;
+                }
+            } while (command.isEmpty());
+
+            Map<String, String> headers = new LinkedHashMap<>();
+            String line;
+            while (!(line = requireLine()).isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    // STOMP 1.2: the first occurrence of a repeated header wins
+                    headers.putIfAbsent(line.substring(0, colon), line.substring(colon + 1));
+                }
+            }
+
+            byte[] body;
+            String contentLength = headers.get("content-length");
+            if (contentLength != null) {
+                body = in.readNBytes(Integer.parseInt(contentLength));
+                if (in.read() != 0) {
+                    throw new IOException("Frame body not terminated by NUL");
+                }
+            } else {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                int b;
+                while ((b = in.read()) != 0) {
+                    if (b < 0) {
+                        throw new EOFException();
+                    }
+                    buffer.write(b);
+                }
+                body = buffer.toByteArray();
+            }
+            return new Frame(command, headers, body);
+        }
+
+        private String requireLine() throws IOException {
+            String line = readLine();
+            if (line == null) {
+                throw new EOFException();
+            }
+            return line;
+        }
+
+        // null only at end of stream before any byte of the line
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    if (line.size() == 0) {
+                        return null;
+                    }
+                    throw new EOFException();
+                }
+                if (b != '\r') {
+                    line.write(b);
+                }
+            }
+            return line.toString(StandardCharsets.UTF_8);
+        }
+
+        private void close() {
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+}
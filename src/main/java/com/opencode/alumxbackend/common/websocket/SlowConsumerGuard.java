@@ -0,0 +1,160 @@
+package com.opencode.alumxbackend.common.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps one slow client from backing up the client outbound channel.
+ *
+ * Registered on the outbound channel, it counts the messages each session has queued in the
+ * outbound executor (or is currently being written). Once a session has
+ * {@code websocket.transport.session-queue-limit} messages outstanding, further broadcasts to
+ * it are handled by {@code websocket.transport.slow-consumer-policy}:
+ * - drop: the message is discarded for that session only
+ * - evict: the session is closed with {@link CloseStatus#SESSION_NOT_RELIABLE}; clients
+ *   reconnect and catch up from the history endpoints
+ *
+ * Sends that exceed the send time or buffer size limits once they reach the socket are
+ * terminated by Spring itself; those closes are counted too. Connection and disconnect
+ * acknowledgements are never dropped.
+ */
+@Slf4j
+@Component
+public class SlowConsumerGuard implements ExecutorChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    public enum Policy { DROP, EVICT }
+
+    private final int sessionQueueLimit;
+    private final Policy policy;
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> queued = new ConcurrentHashMap<>();
+    private final Set<String> evicting = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder evictedSessions = new LongAdder();
+    private final LongAdder sendLimitEvictions = new LongAdder();
+
+    public SlowConsumerGuard(
+            @Value("${websocket.transport.session-queue-limit:100}") int sessionQueueLimit,
+            @Value("${websocket.transport.slow-consumer-policy:evict}") String policy) {
+        this.sessionQueueLimit = sessionQueueLimit;
+        this.policy = Policy.valueOf(policy.trim().toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+        if (evicting.contains(sessionId)) {
+            droppedMessages.increment();
+            return null;
+        }
+
+        int count = queued.merge(sessionId, 1, Integer::sum);
+        if (count <= sessionQueueLimit
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+
+        release(sessionId);
+        droppedMessages.increment();
+        if (policy == Policy.EVICT) {
+            evict(sessionId);
+        }
+        return null;
+    }
+
+    // Not handed to the outbound executor (e.g. rejected): afterMessageHandled will not run
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null && (!sent || ex != null)) {
+            release(sessionId);
+        }
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            release(sessionId);
+        }
+    }
+
+    private void release(String sessionId) {
+        queued.computeIfPresent(sessionId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    private void evict(String sessionId) {
+        WebSocketSession session = sessions.get(sessionId);
+        if (session == null || !evicting.add(sessionId)) {
+            return;
+        }
+        evictedSessions.increment();
+        log.info("Evicting slow WebSocket session {} ({} messages queued)", sessionId, sessionQueueLimit);
+        // Closing writes a close frame, which blocks on exactly the socket that is too slow
+        Thread.ofVirtual().name("ws-evict-" + sessionId).start(() -> {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("Closing evicted WebSocket session {} failed", sessionId, e);
+            }
+        });
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                String sessionId = session.getId();
+                sessions.remove(sessionId);
+                queued.remove(sessionId);
+                boolean evictedHere = evicting.remove(sessionId);
+                if (!evictedHere && closeStatus.getCode() == CloseStatus.SESSION_NOT_RELIABLE.getCode()) {
+                    sendLimitEvictions.increment();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public WebSocketTransportStats stats() {
+        return new WebSocketTransportStats(
+                policy.name().toLowerCase(Locale.ROOT),
+                sessionQueueLimit,
+                sessions.size(),
+                queued.values().stream().mapToInt(Integer::intValue).sum(),
+                droppedMessages.sum(),
+                evictedSessions.sum(),
+                sendLimitEvictions.sum());
+    }
+}
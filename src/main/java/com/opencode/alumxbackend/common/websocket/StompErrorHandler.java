@@ -0,0 +1,22 @@
+package com.opencode.alumxbackend.common.websocket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.StompSubProtocolErrorHandler;
+
+/**
+ * ERROR frames for frames the inbound channel could not take carry the underlying reason
+ * instead of the channel's generic "Failed to send message" wrapper. Refusals of
+ * {@link com.opencode.alumxbackend.auth.security.StompAuthenticationInterceptor} are answered
+ * by the interceptor itself.
+ */
+@Component
+public class StompErrorHandler extends StompSubProtocolErrorHandler {
+
+    @Override
+    public Message<byte[]> handleClientMessageProcessingError(Message<byte[]> clientMessage, Throwable ex) {
+        Throwable reason = ex instanceof MessageDeliveryException && ex.getCause() != null ? ex.getCause() : ex;
+        return super.handleClientMessageProcessingError(clientMessage, reason);
+    }
+}
@@ -0,0 +1,9 @@
+package com.opencode.alumxbackend.common.websocket;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sent to {@code /user/queue/errors} when a STOMP frame sent to {@code /app} fails.
+ */
+public record StompErrorResponse(String destination, String message, LocalDateTime timestamp) {
+}
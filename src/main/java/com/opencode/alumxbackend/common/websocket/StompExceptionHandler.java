@@ -0,0 +1,82 @@
+package com.opencode.alumxbackend.common.websocket;
+
+import com.opencode.alumxbackend.common.exception.Errors.BadRequestException;
+import com.opencode.alumxbackend.common.exception.Errors.ForbiddenException;
+import com.opencode.alumxbackend.common.exception.Errors.ResourceNotFoundException;
+import com.opencode.alumxbackend.common.exception.Errors.UnauthorizedAccessException;
+import com.opencode.alumxbackend.groupchatmessages.exception.GroupNotFoundException;
+import com.opencode.alumxbackend.groupchatmessages.exception.InvalidMessageException;
+import com.opencode.alumxbackend.groupchatmessages.exception.InvalidRequestException;
+import com.opencode.alumxbackend.groupchatmessages.exception.UserNotMemberException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.support.MethodArgumentNotValidException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reports failures of {@code @MessageMapping} handlers to the sender only, on
+ * {@code /user/queue/errors}.
+ *
+ * Domain exceptions carry messages meant for clients and are passed on as they are. Anything
+ * else is logged and answered with a generic message, so no SQL or internal detail reaches
+ * the client.
+ */
+@Slf4j
+@ControllerAdvice
+public class StompExceptionHandler {
+
+    private static final String GENERIC_MESSAGE = "Something went wrong. Please try again later.";
+
+    @MessageExceptionHandler({
+            BadRequestException.class,
+            ForbiddenException.class,
+            ResourceNotFoundException.class,
+            UnauthorizedAccessException.class,
+            EntityNotFoundException.class,
+            GroupNotFoundException.class,
+            UserNotMemberException.class,
+            InvalidMessageException.class,
+            InvalidRequestException.class
+    })
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public StompErrorResponse handleDomainException(RuntimeException ex, SimpMessageHeaderAccessor headers) {
+        return errorResponse(headers, ex.getMessage());
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public StompErrorResponse handleValidationErrors(MethodArgumentNotValidException ex,
+                                                     SimpMessageHeaderAccessor headers) {
+        String message = ex.getBindingResult() == null ? null : ex.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(err -> err.getField() + " : " + err.getDefaultMessage())
+                .findFirst()
+                .orElse(null);
+        return errorResponse(headers, message != null ? message : "Invalid message payload");
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public StompErrorResponse handleUnreadablePayload(MessageConversionException ex,
+                                                      SimpMessageHeaderAccessor headers) {
+        return errorResponse(headers, "Invalid message payload");
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public StompErrorResponse handleException(Exception ex, SimpMessageHeaderAccessor headers) {
+        log.error("STOMP frame to {} failed", headers.getDestination(), ex);
+        return errorResponse(headers, GENERIC_MESSAGE);
+    }
+
+    private static StompErrorResponse errorResponse(SimpMessageHeaderAccessor headers, String message) {
+        return new StompErrorResponse(headers.getDestination(), message, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,24 @@
+package com.opencode.alumxbackend.common.websocket;
+
+import com.opencode.alumxbackend.auth.security.UserPrincipal;
+import com.opencode.alumxbackend.common.exception.Errors.UnauthorizedAccessException;
+import org.springframework.security.core.Authentication;
+
+import java.security.Principal;
+
+/**
+ * Resolves the {@link UserPrincipal} of a STOMP session authenticated at CONNECT.
+ */
+public final class StompUsers {
+
+    private StompUsers() {
+    }
+
+    public static UserPrincipal require(Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof UserPrincipal user) {
+            return user;
+        }
+        throw new UnauthorizedAccessException("Connect with a bearer token to send messages");
+    }
+}
@@ -0,0 +1,7 @@
+package com.opencode.alumxbackend.common.websocket;
+
+/**
+ * Broadcast on {@code /topic/group/{id}/typing} and {@code /topic/chat/{id}/typing}.
+ */
+public record TypingEvent(Long userId, String username, boolean typing) {
+}
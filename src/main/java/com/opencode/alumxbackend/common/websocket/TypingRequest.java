@@ -0,0 +1,7 @@
+package com.opencode.alumxbackend.common.websocket;
+
+/**
+ * Payload of the STOMP typing frames; {@code typing=false} when the user stops.
+ */
+public record TypingRequest(boolean typing) {
+}
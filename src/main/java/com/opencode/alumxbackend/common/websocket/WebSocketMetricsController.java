@@ -0,0 +1,20 @@
+package com.opencode.alumxbackend.common.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/websocket")
+@RequiredArgsConstructor
+public class WebSocketMetricsController {
+
+    private final SlowConsumerGuard slowConsumerGuard;
+
+    @GetMapping("/metrics")
+    public ResponseEntity<WebSocketTransportStats> transportMetrics() {
+        return ResponseEntity.ok(slowConsumerGuard.stats());
+    }
+}
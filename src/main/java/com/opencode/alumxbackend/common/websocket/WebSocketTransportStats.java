@@ -0,0 +1,18 @@
+package com.opencode.alumxbackend.common.websocket;
+
+/**
+ * Slow-consumer counters since startup, see {@link SlowConsumerGuard}.
+ *
+ * @param evictedSessions    sessions closed by the guard because their outbound queue was full
+ * @param sendLimitEvictions sessions closed by Spring because a send exceeded the send time
+ *                           or buffer size limit
+ */
+public record WebSocketTransportStats(
+        String slowConsumerPolicy,
+        int sessionQueueLimit,
+        int openSessions,
+        int queuedMessages,
+        long droppedMessages,
+        long evictedSessions,
+        long sendLimitEvictions) {
+}
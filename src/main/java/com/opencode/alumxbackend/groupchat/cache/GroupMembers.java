@@ -0,0 +1,101 @@
+package com.opencode.alumxbackend.groupchat.cache;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable member list of one group: an open-addressing hash set of primitive user ids
+ * with the participant username stored alongside each id.
+ *
+ * Lookups are a couple of array reads with no boxing, which is what the per-message
+ * membership checks need.
+ */
+public final class GroupMembers {
+
+    // user ids are IDENTITY generated and always positive
+    private static final long FREE = 0L;
+
+    private final long[] userIds;
+    private final String[] usernames;
+    private final int mask;
+    private final int size;
+
+    private GroupMembers(int expected) {
+        // keep the load factor at or below 0.5 so probe chains stay short
+        int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+        this.userIds = new long[capacity];
+        this.usernames = new String[capacity];
+        this.mask = capacity - 1;
+        this.size = expected;
+    }
+
+    /**
+     * Builds the set from {@code (userId, username)} rows.
+     */
+    public static GroupMembers of(List<Object[]> rows) {
+        GroupMembers members = new GroupMembers(rows.size());
+        for (Object[] row : rows) {
+            members.insert(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        return members;
+    }
+
+    public boolean contains(long userId) {
+        return slot(userId) >= 0;
+    }
+
+    /**
+     * Username the user joined the group with, or null if they are not a member.
+     */
+    public String username(long userId) {
+        int slot = slot(userId);
+        return slot >= 0 ? usernames[slot] : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether both hold the same users under the same usernames.
+     */
+    public boolean sameMembers(GroupMembers other) {
+        if (other.size != size) {
+            return false;
+        }
+        for (int i = 0; i < userIds.length; i++) {
+            if (userIds[i] != FREE && !Objects.equals(usernames[i], other.username(userIds[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(long userId, String username) {
+        int i = hash(userId) & mask;
+        while (userIds[i] != FREE && userIds[i] != userId) {
+            i = (i + 1) & mask;
+        }
+        userIds[i] = userId;
+        usernames[i] = username;
+    }
+
+    private int slot(long userId) {
+        if (userId == FREE) {
+            return -1;
+        }
+        int i = hash(userId) & mask;
+        while (userIds[i] != FREE) {
+            if (userIds[i] == userId) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
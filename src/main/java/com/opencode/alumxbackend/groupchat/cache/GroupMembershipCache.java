@@ -0,0 +1,138 @@
+package com.opencode.alumxbackend.groupchat.cache;
+
+import com.opencode.alumxbackend.groupchat.repository.GroupChatRepository;
+import com.opencode.alumxbackend.groupchat.repository.ParticipantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded cache of group members (groupId -> {@link GroupMembers}), so message paths answer
+ * "is this user in the group, and under which username" with a hash lookup instead of
+ * loading the {@code GroupChat} and its participants.
+ *
+ * Entries are dropped by {@link #invalidate(Long)} whenever membership changes on this
+ * instance. Other instances do not hear about it, so every entry is also reloaded once it is
+ * older than {@code groupchat.membership-cache.ttl-ms}: with several instances a removed
+ * member can keep using a group through another instance for at most that long. A reload
+ * that finds the same members keeps the existing {@link GroupMembers}, so caches built on it
+ * stay valid.
+ *
+ * Each group has its own slot, and every change replaces it, so the slot a load started from
+ * is that group's version: the load is cached only if the slot is still the same one, and a
+ * change to any other group never discards it. Lookups take no lock.
+ */
+@Component
+public class GroupMembershipCache {
+
+    private final ParticipantRepository participantRepository;
+    private final GroupChatRepository groupChatRepository;
+    private final int maxGroups;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<Long, Slot> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public GroupMembershipCache(
+            ParticipantRepository participantRepository,
+            GroupChatRepository groupChatRepository,
+            @Value("${groupchat.membership-cache.max-groups:10000}") int maxGroups,
+            @Value("${groupchat.membership-cache.ttl-ms:30000}") long ttlMs) {
+        this.participantRepository = participantRepository;
+        this.groupChatRepository = groupChatRepository;
+        this.maxGroups = maxGroups;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    // Compared by identity; members is null while the group's first load is running
+    private static final class Slot {
+        private final GroupMembers members;
+        private final long loadedAt;
+
+        private Slot(GroupMembers members, long loadedAt) {
+            this.members = members;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Members of the group, or empty if the group does not exist.
+     */
+    public Optional<GroupMembers> get(Long groupId) {
+        Slot slot = cache.get(groupId);
+        if (slot == null) {
+            Slot loading = new Slot(null, 0);
+            slot = cache.putIfAbsent(groupId, loading);
+            if (slot == null) {
+                slot = loading;
+            }
+        }
+        if (slot.members != null && System.nanoTime() - slot.loadedAt < ttlNanos) {
+            return Optional.of(slot.members);
+        }
+
+        long loadedAt = System.nanoTime();
+        List<Object[]> rows = participantRepository.findMembersByGroupId(groupId);
+        if (rows.isEmpty() && !groupChatRepository.existsById(groupId)) {
+            cache.remove(groupId, slot);
+            return Optional.empty();
+        }
+
+        GroupMembers members = GroupMembers.of(rows);
+        if (slot.members != null && slot.members.sameMembers(members)) {
+            members = slot.members;
+        }
+        if (cache.replace(groupId, slot, new Slot(members, loadedAt)) && cache.size() > maxGroups) {
+            evict();
+        }
+        return Optional.of(members);
+    }
+
+    /**
+     * Drops the group now and, inside a transaction, again once it completes, so a reload
+     * that read the old participants before the commit is not kept.
+     */
+    public void invalidate(Long groupId) {
+        cache.remove(groupId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.remove(groupId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Brings an overflowing cache back to 90% of {@code groupchat.membership-cache.max-groups},
+     * dropping arbitrary groups, which are loaded again on their next lookup. One thread
+     * evicts at a time; others skip it and may briefly leave the cache a little over the bound.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int excess = cache.size() - maxGroups * 9 / 10;
+            Iterator<Long> groups = cache.keySet().iterator();
+            while (excess-- > 0 && groups.hasNext()) {
+                groups.next();
+                groups.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    int cachedGroupCount() {
+        return cache.size();
+    }
+}
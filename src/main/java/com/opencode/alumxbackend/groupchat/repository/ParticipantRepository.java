@@ -1,12 +1,19 @@
 package com.opencode.alumxbackend.groupchat.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.opencode.alumxbackend.groupchat.model.Participant;
 
 public interface ParticipantRepository extends JpaRepository<Participant, Long> {
     Optional<Participant> findByGroupChat_GroupIdAndUserId(Long groupId, Long userId);
     boolean existsByGroupChat_GroupIdAndUserId(Long groupId, Long userId);
+
+    // (userId, username) of every participant, loads the membership cache without the GroupChat
+    @Query("SELECT p.userId, p.username FROM Participant p WHERE p.groupChat.groupId = :groupId")
+    List<Object[]> findMembersByGroupId(@Param("groupId") Long groupId);
 }
@@ -1,6 +1,7 @@
 package com.opencode.alumxbackend.groupchat.service;
 
 import com.opencode.alumxbackend.auth.security.UserPrincipal;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembershipCache;
 import com.opencode.alumxbackend.groupchat.dto.GroupChatRequest;
 import com.opencode.alumxbackend.groupchat.model.GroupChat;
 import com.opencode.alumxbackend.groupchat.model.Participant;
@@ -30,6 +31,7 @@ public class GroupChatServiceImpl implements  GroupChatService {
     private final GroupChatRepository repository;
     private final UserRepository userRepository;
     private final ParticipantRepository participantRepository;
+    private final GroupMembershipCache membershipCache;
 
     @Override
     public GroupChat createGroup(GroupChatRequest request) {
@@ -135,7 +137,9 @@ public class GroupChatServiceImpl implements  GroupChatService {
 
         group.getParticipants().add(participant);
 
-        return repository.save(group);
+        GroupChat saved = repository.save(group);
+        membershipCache.invalidate(groupId);
+        return saved;
     }
 
     
@@ -183,6 +187,7 @@ public class GroupChatServiceImpl implements  GroupChatService {
         participantRepository.delete(participant);
 
         group.getParticipants().removeIf(p -> p.getUserId().equals(userId));
+        membershipCache.invalidate(groupId);
 
         return group;
     }
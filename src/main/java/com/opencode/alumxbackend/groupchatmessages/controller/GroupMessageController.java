@@ -1,27 +1,37 @@
 package com.opencode.alumxbackend.groupchatmessages.controller;
 
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageHistoryResponse;
 import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
 import com.opencode.alumxbackend.groupchatmessages.dto.SendGroupMessageRequest;
 import com.opencode.alumxbackend.groupchatmessages.service.GroupMessageService;
 import com.opencode.alumxbackend.groupchatreadreceipt.service.GroupReadService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/groups")
 @RequiredArgsConstructor
 public class GroupMessageController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final GroupMessageService service;
      private final GroupReadService groupReadService;
+    private final ObjectMapper objectMapper;
 
     // user id sends mesesage to a group using a group id
     @PostMapping(value="/{groupId}/messages",consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -30,18 +40,45 @@ public class GroupMessageController {
             @RequestBody @Valid SendGroupMessageRequest request
     ) {
         GroupMessageResponse message = service.sendMessage(groupId, request);
-        groupReadService.updateLastRead(groupId, request.getUserId(), message.getId());
+        groupReadService.recordOwnMessageRead(groupId, request.getUserId(), message.getId());
         return ResponseEntity.ok(message);
     }
     
-    // working: keeping this the same 
+    // Full history as a JSON array, written chunk by chunk as it is read from the database
     @GetMapping("/{groupId}/messages/user")
-    public List<GroupMessageResponse> getMessages(
+    public void getMessages(
             @PathVariable Long groupId,
-            @RequestHeader("X-USER-ID") Long userId
-    ) {
-        return service.fetchMessages(groupId, userId);
+            @RequestHeader("X-USER-ID") Long userId,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // the writer buffers, so nothing reaches the client if the membership check fails
+        SequenceWriter json = objectMapper.writerFor(GroupMessageResponse.class)
+                .writeValuesAsArray(response.getOutputStream());
+        service.exportMessages(groupId, userId, json::write);
+        json.close();
+    }
+
+    // Same history as newline-delimited JSON, one message per line
+    @GetMapping("/{groupId}/messages/export")
+    public void exportMessages(
+            @PathVariable Long groupId,
+            @RequestParam Long userId,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"group-" + groupId + "-messages.ndjson\"");
+        // Lines are separated by '\n' alone, not by the default " " between root values
+        ObjectWriter writer = objectMapper.writerFor(GroupMessageResponse.class)
+                .withRootValueSeparator((String) null);
+        JsonGenerator json = writer.createGenerator(response.getOutputStream());
+        service.exportMessages(groupId, userId, message -> {
+            writer.writeValue(json, message);
+            json.writeRaw('\n');
+        });
+        json.close();
     }
+
     @DeleteMapping("/{groupId}/messages/{messageId}")
 public ResponseEntity<Void> deleteMessage(
         @PathVariable Long groupId,
@@ -64,4 +101,14 @@ public ResponseEntity<Void> deleteMessage(
         return ResponseEntity.ok(messages);
     }
 
+    // Cursor based history (before/after a message id), no OFFSET and no count query
+    @GetMapping("/{groupId}/messages/history")
+    public ResponseEntity<GroupMessageHistoryResponse> getMessageHistory(
+            @PathVariable Long groupId,
+            @RequestParam Long userId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.getMessageHistory(groupId, userId, before, after, limit));
+    }
 }
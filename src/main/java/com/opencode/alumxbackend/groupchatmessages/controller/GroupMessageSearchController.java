@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageRankedSearchResponse;
 import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchRequest;
 import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchResponse;
 import com.opencode.alumxbackend.groupchatmessages.service.GroupMessageService;
@@ -56,4 +57,15 @@ public class GroupMessageSearchController {
         GroupMessageSearchResponse messages = groupMessageService.searchForMessage(groupId, userId, request);
         return ResponseEntity.ok(messages);
     }
+
+    // Ranked token search with highlighted snippets and keyset pagination
+    @GetMapping("/{groupId}/messages/search/ranked")
+    public ResponseEntity<GroupMessageRankedSearchResponse> searchMessagesRanked(
+            @PathVariable Long groupId,
+            @RequestHeader("X-USER-ID") Long userId,
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(groupMessageService.searchMessagesRanked(groupId, userId, query, cursor, size));
+    }
 }
@@ -0,0 +1,95 @@
+package com.opencode.alumxbackend.groupchatmessages.controller;
+
+import com.opencode.alumxbackend.auth.security.UserPrincipal;
+import com.opencode.alumxbackend.common.websocket.StompUsers;
+import com.opencode.alumxbackend.common.websocket.TypingEvent;
+import com.opencode.alumxbackend.common.websocket.TypingRequest;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembers;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembershipCache;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.SendGroupMessageRequest;
+import com.opencode.alumxbackend.groupchatmessages.dto.StompGroupMessageRequest;
+import com.opencode.alumxbackend.groupchatmessages.exception.GroupNotFoundException;
+import com.opencode.alumxbackend.groupchatmessages.exception.UserNotMemberException;
+import com.opencode.alumxbackend.groupchatmessages.service.GroupMessageService;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupReadRequest;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupReadResponse;
+import com.opencode.alumxbackend.groupchatreadreceipt.service.GroupReadService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+/**
+ * STOMP entry points for group chat, for clients already connected to {@code /ws}:
+ * - {@code /app/group/{groupId}/send}: same as POST /api/groups/{groupId}/messages, the
+ *   message arrives on {@code /topic/group/{groupId}}
+ * - {@code /app/group/{groupId}/typing}: relayed to {@code /topic/group/{groupId}/typing}
+ * - {@code /app/group/{groupId}/read}: stored like POST /api/groupsread/{groupId}/read and
+ *   relayed to {@code /topic/group/{groupId}/read}
+ *
+ * The sender is always the user authenticated at CONNECT. Failures go to
+ * {@code /user/queue/errors}.
+ */
+@Controller
+@RequiredArgsConstructor
+public class GroupMessageStompController {
+
+    private final GroupMessageService service;
+    private final GroupReadService groupReadService;
+    private final GroupMembershipCache membershipCache;
+
+    @MessageMapping("/group/{groupId}/send")
+    public void sendMessage(
+            @DestinationVariable Long groupId,
+            @Payload @Valid StompGroupMessageRequest payload,
+            Principal principal
+    ) {
+        UserPrincipal user = StompUsers.require(principal);
+
+        SendGroupMessageRequest request = new SendGroupMessageRequest();
+        request.setUserId(user.getId());
+        request.setContent(payload.getContent());
+
+        GroupMessageResponse message = service.sendMessage(groupId, request);
+        groupReadService.recordOwnMessageRead(groupId, user.getId(), message.getId());
+    }
+
+    @MessageMapping("/group/{groupId}/typing")
+    @SendTo("/topic/group/{groupId}/typing")
+    public TypingEvent typing(
+            @DestinationVariable Long groupId,
+            @Payload TypingRequest payload,
+            Principal principal
+    ) {
+        UserPrincipal user = StompUsers.require(principal);
+        GroupMembers members = requireMember(groupId, user.getId());
+        return new TypingEvent(user.getId(), members.username(user.getId()), payload.typing());
+    }
+
+    @MessageMapping("/group/{groupId}/read")
+    @SendTo("/topic/group/{groupId}/read")
+    public GroupReadResponse markRead(
+            @DestinationVariable Long groupId,
+            @Payload GroupReadRequest payload,
+            Principal principal
+    ) {
+        UserPrincipal user = StompUsers.require(principal);
+        requireMember(groupId, user.getId());
+        return groupReadService.recordRead(groupId, user.getId(), payload.getLastReadMessageId());
+    }
+
+    private GroupMembers requireMember(Long groupId, Long userId) {
+        GroupMembers members = membershipCache.get(groupId)
+                .orElseThrow(() -> new GroupNotFoundException("Group not found with id: " + groupId));
+        if (!members.contains(userId)) {
+            throw new UserNotMemberException(userId);
+        }
+        return members;
+    }
+}
@@ -0,0 +1,26 @@
+package com.opencode.alumxbackend.groupchatmessages.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slice of a group's history, oldest message first.
+ * Pass {@code oldestId} as {@code before} to scroll back, {@code newestId} as {@code after} to catch up.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupMessageHistoryResponse {
+
+    private Long groupId;
+    private List<GroupMessageResponse> messages;
+    // more messages exist in the direction that was read
+    private boolean hasMore;
+    private Long oldestId;
+    private Long newestId;
+}
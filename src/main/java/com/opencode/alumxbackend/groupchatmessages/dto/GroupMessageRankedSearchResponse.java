@@ -0,0 +1,21 @@
+package com.opencode.alumxbackend.groupchatmessages.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupMessageRankedSearchResponse {
+
+    private Long groupId;
+    private List<GroupMessageSearchHit> results;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+}
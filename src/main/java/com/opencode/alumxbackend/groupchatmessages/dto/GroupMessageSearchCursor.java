@@ -0,0 +1,34 @@
+package com.opencode.alumxbackend.groupchatmessages.dto;
+
+import com.opencode.alumxbackend.groupchatmessages.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a ranked message search: the (score, id) of the last returned message.
+ * Sent to clients as an opaque URL-safe token.
+ */
+public record GroupMessageSearchCursor(long score, long id) {
+
+    public static GroupMessageSearchCursor after(RankedGroupMessage message) {
+        return new GroupMessageSearchCursor(message.score(), message.message().getId());
+    }
+
+    public String encode() {
+        String raw = score + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static GroupMessageSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new GroupMessageSearchCursor(
+                    Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidRequestException("Invalid search cursor");
+        }
+    }
+}
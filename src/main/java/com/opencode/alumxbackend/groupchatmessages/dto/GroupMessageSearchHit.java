@@ -0,0 +1,18 @@
+package com.opencode.alumxbackend.groupchatmessages.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupMessageSearchHit {
+
+    private GroupMessageResponse message;
+    // HTML-escaped excerpt with matched words wrapped in <mark></mark>
+    private String snippet;
+    private Long score;
+}
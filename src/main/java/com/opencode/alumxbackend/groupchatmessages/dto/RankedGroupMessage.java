@@ -0,0 +1,8 @@
+package com.opencode.alumxbackend.groupchatmessages.dto;
+
+/**
+ * A matching message with its relevance score (higher is better), as returned by the
+ * message search engines.
+ */
+public record RankedGroupMessage(GroupMessageResponse message, long score) {
+}
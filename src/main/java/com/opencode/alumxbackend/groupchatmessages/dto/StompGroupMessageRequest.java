@@ -0,0 +1,16 @@
+package com.opencode.alumxbackend.groupchatmessages.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * STOMP counterpart of {@link SendGroupMessageRequest}; the sender is the session's user.
+ */
+@Data
+public class StompGroupMessageRequest {
+
+    @NotBlank(message = "Message content cannot be empty")
+    @Size(max = 1000, message = "Message must be at most 1000 characters")
+    private String content;
+}
@@ -5,7 +5,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "group_messages")
+@Table(name = "group_messages",
+        indexes = {
+                // keyset history: WHERE group_id = ? AND id < ? ORDER BY id DESC
+                @Index(name = "idx_group_messages_group_id_id", columnList = "group_id, id")
+        }
+)
 @Getter
 @Setter
 @Builder
@@ -13,8 +18,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class GroupMessage {
 
+    // Same pooled sequence Hibernate used by default; GroupMessageIdAllocator draws blocks from it too
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "group_messages_seq")
+    @SequenceGenerator(name = "group_messages_seq", sequenceName = "group_messages_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,86 @@
+package com.opencode.alumxbackend.groupchatmessages.repository;
+
+import com.opencode.alumxbackend.common.TextSearch;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchCursor;
+import com.opencode.alumxbackend.groupchatmessages.dto.RankedGroupMessage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * PostgreSQL message search on {@code to_tsvector('simple', content)}, answered by the GIN
+ * expression index on {@code (group_id, to_tsvector('simple', content))} created by
+ * {@link GroupMessageSearchSchemaInitializer}; the query repeats that expression exactly so
+ * the planner can use the index. Scores are {@code ts_rank_cd} scaled to an
+ * integer so they survive the round trip through the cursor exactly.
+ *
+ * Enabled with {@code groupchat.message-search.engine=fulltext}.
+ */
+@Repository
+@ConditionalOnProperty(name = "groupchat.message-search.engine", havingValue = "fulltext")
+public class FullTextGroupMessageSearchRepository implements GroupMessageTextSearchRepository {
+
+    static final int MAX_QUERY_TOKENS = 8;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RankedGroupMessage> search(Long groupId, String query, GroupMessageSearchCursor after, int limit) {
+        String tsQuery = TextSearch.toPrefixTsQuery(query, MAX_QUERY_TOKENS);
+        if (tsQuery.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = """
+                SELECT id, sender_user_id, sender_username, content, created_at, score
+                FROM (
+                    SELECT m.id, m.sender_user_id, m.sender_username, m.content, m.created_at,
+                           CAST(ts_rank_cd(to_tsvector('simple', m.content), to_tsquery('simple', :tsq)) * 1000000 AS BIGINT) AS score
+                    FROM group_messages m
+                    WHERE m.group_id = :groupId
+                      AND to_tsvector('simple', m.content) @@ to_tsquery('simple', :tsq)
+                ) ranked
+                %s
+                ORDER BY score DESC, id DESC
+                """.formatted(after == null
+                ? ""
+                : "WHERE score < :afterScore OR (score = :afterScore AND id < :afterId)");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql)
+                .setParameter("tsq", tsQuery)
+                .setParameter("groupId", groupId)
+                .setMaxResults(limit);
+        if (after != null) {
+            nativeQuery.setParameter("afterScore", after.score())
+                    .setParameter("afterId", after.id());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = nativeQuery.getResultList();
+        return rows.stream()
+                .map(row -> new RankedGroupMessage(GroupMessageResponse.builder()
+                        .id(((Number) row[0]).longValue())
+                        .senderUserId(((Number) row[1]).longValue())
+                        .senderUsername((String) row[2])
+                        .content((String) row[3])
+                        .createdAt(toLocalDateTime(row[4]))
+                        .build(),
+                        ((Number) row[5]).longValue()))
+                .toList();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
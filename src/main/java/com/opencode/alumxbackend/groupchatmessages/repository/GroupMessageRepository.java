@@ -1,18 +1,38 @@
 package com.opencode.alumxbackend.groupchatmessages.repository;
 
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
 import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface GroupMessageRepository extends JpaRepository<GroupMessage, Long> {
-    List<GroupMessage> findByGroupIdOrderByCreatedAtAsc(Long groupId);
+    // Export chunk after a message id: DTO projection so rows never pile up in the persistence context
+    @Query("""
+            SELECT new com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse(
+                m.id, m.senderUserId, m.senderUsername, m.content, m.createdAt)
+            FROM GroupMessage m
+            WHERE m.groupId = :groupId AND m.id > :afterId
+            ORDER BY m.id
+            """)
+    List<GroupMessageResponse> findExportChunk(@Param("groupId") Long groupId, @Param("afterId") Long afterId, Limit limit);
 
     boolean existsById(Long id);
 
     Page<GroupMessage> findByGroupIdAndContentContainingIgnoreCase(Long groupId, String content, Pageable pageable);
     
     Page<GroupMessage> findByGroupId(Long groupId, Pageable pageable);
+
+    // Keyset history, all served by idx_group_messages_group_id_id and never counted
+    List<GroupMessage> findByGroupIdOrderByIdDesc(Long groupId, Limit limit);
+
+    List<GroupMessage> findByGroupIdAndIdLessThanOrderByIdDesc(Long groupId, Long id, Limit limit);
+
+    List<GroupMessage> findByGroupIdAndIdGreaterThanOrderByIdAsc(Long groupId, Long id, Limit limit);
 }
@@ -0,0 +1,52 @@
+package com.opencode.alumxbackend.groupchatmessages.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Logger;
+
+/**
+ * Adds the GIN expression index on {@code (group_id, to_tsvector('simple', content))} to
+ * {@code group_messages} for {@link FullTextGroupMessageSearchRepository}.
+ *
+ * {@code btree_gin} lets {@code group_id} share the GIN index with the tsvector, so a search
+ * only touches the posting lists of one group. The index is built {@code CONCURRENTLY}:
+ * inserts keep going while it is built, and nothing rewrites the table. An index left invalid
+ * by an interrupted build is dropped and built again. Every statement is idempotent.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "groupchat.message-search.engine", havingValue = "fulltext")
+public class GroupMessageSearchSchemaInitializer implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(GroupMessageSearchSchemaInitializer.class.getName());
+
+    private static final String INDEX_NAME = "idx_group_messages_group_content_fts";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gin");
+        // Generated column of earlier versions, replaced by the expression index (drops its index too)
+        jdbcTemplate.execute("ALTER TABLE group_messages DROP COLUMN IF EXISTS content_tsv");
+
+        Boolean valid = jdbcTemplate.query("""
+                SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE c.relname = ?
+                """, rs -> rs.next() ? rs.getBoolean(1) : null, INDEX_NAME);
+        if (Boolean.FALSE.equals(valid)) {
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + INDEX_NAME);
+        }
+        // Not in a transaction: JdbcTemplate runs each statement in auto-commit
+        jdbcTemplate.execute("""
+                CREATE INDEX CONCURRENTLY IF NOT EXISTS %s
+                    ON group_messages USING GIN (group_id, to_tsvector('simple', content))
+                """.formatted(INDEX_NAME));
+        logger.info("Group message full-text search ready");
+    }
+}
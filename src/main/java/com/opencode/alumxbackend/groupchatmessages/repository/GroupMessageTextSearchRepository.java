@@ -0,0 +1,19 @@
+package com.opencode.alumxbackend.groupchatmessages.repository;
+
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchCursor;
+import com.opencode.alumxbackend.groupchatmessages.dto.RankedGroupMessage;
+
+import java.util.List;
+
+/**
+ * Ranked search over one group's messages; the implementation is picked with
+ * {@code groupchat.message-search.engine}.
+ */
+public interface GroupMessageTextSearchRepository {
+
+    /**
+     * Messages of the group matching every token of {@code query}, best score first and
+     * newest first within a score, starting after {@code after} (null for the first page).
+     */
+    List<RankedGroupMessage> search(Long groupId, String query, GroupMessageSearchCursor after, int limit);
+}
@@ -0,0 +1,80 @@
+package com.opencode.alumxbackend.groupchatmessages.repository;
+
+import com.opencode.alumxbackend.common.TextSearch;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchCursor;
+import com.opencode.alumxbackend.groupchatmessages.dto.RankedGroupMessage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Portable message search with one {@code LIKE} per token. Messages containing the whole
+ * query as a phrase score 2, messages containing every token 1.
+ *
+ * Used by the H2 test profile ({@code groupchat.message-search.engine=like}).
+ */
+@Repository
+@ConditionalOnProperty(name = "groupchat.message-search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeGroupMessageSearchRepository implements GroupMessageTextSearchRepository {
+
+    private static final String SCORE = "CASE WHEN LOWER(m.content) LIKE :phrase ESCAPE '!' THEN 2 ELSE 1 END";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RankedGroupMessage> search(Long groupId, String query, GroupMessageSearchCursor after, int limit) {
+        List<String> tokens = TextSearch.tokenize(query, FullTextGroupMessageSearchRepository.MAX_QUERY_TOKENS);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder jpql = new StringBuilder("""
+                SELECT m.id, m.senderUserId, m.senderUsername, m.content, m.createdAt, %s
+                FROM GroupMessage m
+                WHERE m.groupId = :groupId
+                """.formatted(SCORE));
+        for (int i = 0; i < tokens.size(); i++) {
+            jpql.append(" AND LOWER(m.content) LIKE :t").append(i).append(" ESCAPE '!'");
+        }
+        if (after != null) {
+            jpql.append(" AND (").append(SCORE).append(" < :afterScore OR (")
+                    .append(SCORE).append(" = :afterScore AND m.id < :afterId))");
+        }
+        jpql.append(" ORDER BY ").append(SCORE).append(" DESC, m.id DESC");
+
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("groupId", groupId)
+                .setParameter("phrase", "%" + escapeLike(query.trim().toLowerCase(Locale.ROOT)) + "%")
+                .setMaxResults(limit);
+        for (int i = 0; i < tokens.size(); i++) {
+            typedQuery.setParameter("t" + i, "%" + escapeLike(tokens.get(i)) + "%");
+        }
+        if (after != null) {
+            typedQuery.setParameter("afterScore", (int) after.score())
+                    .setParameter("afterId", after.id());
+        }
+
+        return typedQuery.getResultList().stream()
+                .map(row -> new RankedGroupMessage(GroupMessageResponse.builder()
+                        .id((Long) row[0])
+                        .senderUserId((Long) row[1])
+                        .senderUsername((String) row[2])
+                        .content((String) row[3])
+                        .createdAt((LocalDateTime) row[4])
+                        .build(),
+                        ((Number) row[5]).longValue()))
+                .toList();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
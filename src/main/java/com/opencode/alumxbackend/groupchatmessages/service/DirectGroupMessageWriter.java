@@ -0,0 +1,27 @@
+package com.opencode.alumxbackend.groupchatmessages.service;
+
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import com.opencode.alumxbackend.groupchatreadreceipt.service.GroupReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "groupchat.messages.write-behind.enabled", havingValue = "false", matchIfMissing = true)
+public class DirectGroupMessageWriter implements GroupMessageWriter {
+
+    private final GroupMessageRepository messageRepository;
+    private final GroupReadService groupReadService;
+
+    // Same transaction as the insert, so the counters move with the row
+    @Override
+    public GroupMessage write(GroupMessage message) {
+        GroupMessage saved = messageRepository.save(message);
+        groupReadService.incrementUnreadCounts(List.of(saved));
+        return saved;
+    }
+}
@@ -0,0 +1,49 @@
+package com.opencode.alumxbackend.groupchatmessages.service;
+
+import com.opencode.alumxbackend.common.fanout.FanoutDelivery;
+import com.opencode.alumxbackend.common.fanout.FanoutResolver;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reloads group messages announced by other instances, see {@link com.opencode.alumxbackend.common.fanout.PostgresFanoutBus}.
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupMessageFanoutResolver implements FanoutResolver {
+
+    public static final String KIND = "group-message";
+
+    private final GroupMessageRepository messageRepository;
+
+    @Override
+    public String kind() {
+        return KIND;
+    }
+
+    @Override
+    public List<FanoutDelivery> resolve(Collection<Long> ids) {
+        // findAllById returns rows in no particular order
+        return StreamSupport.stream(messageRepository.findAllById(ids).spliterator(), false)
+                .sorted(Comparator.comparing(GroupMessage::getId))
+                .map(message -> new FanoutDelivery(
+                        message.getId(),
+                        "/topic/group/" + message.getGroupId(),
+                        GroupMessageResponse.builder()
+                                .id(message.getId())
+                                .senderUserId(message.getSenderUserId())
+                                .senderUsername(message.getSenderUsername())
+                                .content(message.getContent())
+                                .createdAt(message.getCreatedAt())
+                                .build()))
+                .toList();
+    }
+}
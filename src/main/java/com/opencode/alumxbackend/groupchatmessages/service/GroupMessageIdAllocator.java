@@ -0,0 +1,42 @@
+package com.opencode.alumxbackend.groupchatmessages.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Hands out group message ids without a database round trip per message.
+ *
+ * Each {@code nextval} on {@code group_messages_seq} (increment 50) reserves the block
+ * {@code [value - 49, value]}, which is exactly how Hibernate's pooled optimizer reads the
+ * same sequence, so ids assigned here never collide with ids Hibernate assigns on save.
+ */
+class GroupMessageIdAllocator {
+
+    static final String SEQUENCE = "group_messages_seq";
+    static final int BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+
+    private long next = 1;
+    private long max = 0;
+
+    GroupMessageIdAllocator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(SEQUENCE);
+    }
+
+    synchronized long nextId() {
+        if (next > max) {
+            Long hi = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            max = hi;
+            next = Math.max(1, hi - BLOCK_SIZE + 1);
+        }
+        return next++;
+    }
+}
@@ -1,5 +1,7 @@
 package com.opencode.alumxbackend.groupchatmessages.service;
 
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageHistoryResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageRankedSearchResponse;
 import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
 import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchRequest;
 import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchResponse;
@@ -7,7 +9,7 @@ import com.opencode.alumxbackend.groupchatmessages.dto.SendGroupMessageRequest;
 
 import org.springframework.data.domain.Page;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface GroupMessageService {
 
@@ -16,15 +18,30 @@ public interface GroupMessageService {
             SendGroupMessageRequest request
     );
 
-    List<GroupMessageResponse> fetchMessages(
-            Long groupId,
-            Long userId
-    );
+    /**
+     * Streams the whole history of a group, oldest first, to {@code sink} in keyset chunks,
+     * so memory use does not grow with the group and no transaction stays open while the sink
+     * writes. Membership is checked before the first message is read.
+     */
+    void exportMessages(Long groupId, Long userId, Consumer<GroupMessageResponse> sink);
     
     Page<GroupMessageResponse> getGroupMessagesWithPagination(Long groupId, Long userId, int page, int size);
+
+    /**
+     * Cursor based history: the latest messages when neither {@code before} nor {@code after}
+     * is set, otherwise up to {@code limit} messages older than {@code before} / newer than
+     * {@code after}. Unlike the page API this never runs a count query.
+     */
+    GroupMessageHistoryResponse getMessageHistory(Long groupId, Long userId, Long before, Long after, Integer limit);
     
     void deleteMessage(Long groupId, Long messageId, Long userId);
 
     GroupMessageSearchResponse searchForMessage(Long groupId, Long userId, GroupMessageSearchRequest request);
 
+    /**
+     * Token based search ranked by relevance, with highlighted snippets. {@code cursor} is the
+     * {@code nextCursor} of the previous page (null for the first page).
+     */
+    GroupMessageRankedSearchResponse searchMessagesRanked(Long groupId, Long userId, String query, String cursor, Integer size);
+
 }
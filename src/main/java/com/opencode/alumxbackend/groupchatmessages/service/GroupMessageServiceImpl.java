@@ -1,21 +1,31 @@
 package com.opencode.alumxbackend.groupchatmessages.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.opencode.alumxbackend.groupchat.model.GroupChat;
-import com.opencode.alumxbackend.groupchat.model.Participant;
-import com.opencode.alumxbackend.groupchat.repository.GroupChatRepository;
+import com.opencode.alumxbackend.common.TextSearch;
+import com.opencode.alumxbackend.common.fanout.FanoutBus;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembers;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembershipCache;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageHistoryResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageRankedSearchResponse;
 import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchCursor;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchHit;
 import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchRequest;
 import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.RankedGroupMessage;
 import com.opencode.alumxbackend.groupchatmessages.dto.SendGroupMessageRequest;
 import com.opencode.alumxbackend.groupchatmessages.exception.GroupNotFoundException;
 import com.opencode.alumxbackend.groupchatmessages.exception.InvalidMessageException;
@@ -23,6 +33,7 @@ import com.opencode.alumxbackend.groupchatmessages.exception.InvalidRequestExcep
 import com.opencode.alumxbackend.groupchatmessages.exception.UserNotMemberException;
 import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
 import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageTextSearchRepository;
 import com.opencode.alumxbackend.users.repository.UserRepository;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -33,72 +44,76 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class GroupMessageServiceImpl implements GroupMessageService {
 
+    private static final int DEFAULT_HISTORY_LIMIT = 50;
+    private static final int MAX_HISTORY_LIMIT = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final UserRepository userRepository;
     private final GroupMessageRepository messageRepository;
-    private final GroupChatRepository groupChatRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final GroupMembershipCache membershipCache;
+    private final GroupMessageTextSearchRepository textSearchRepository;
+    private final GroupMessageWriter messageWriter;
+    private final FanoutBus fanoutBus;
 
     @Override
     public GroupMessageResponse sendMessage(
             Long groupId,
             SendGroupMessageRequest request) {
 
-        GroupChat group = groupChatRepository.findById(groupId)
-                .orElseThrow(() -> new GroupNotFoundException("Group id not found " + groupId));
-
-        boolean isMember = group.getParticipants()
-                .stream()
-                .anyMatch(p -> p.getUserId().equals(request.getUserId()));
-
-        if (!isMember) {
-            throw new UserNotMemberException(request.getUserId());
-        }
+        GroupMembers members = requireMember(groupId, request.getUserId());
 
         if (request.getContent() == null || request.getContent().trim().isEmpty()) {
             throw new InvalidMessageException("Message cannot be empty");
         }
 
-        Participant sender = group.getParticipants().stream()
-                .filter(p -> p.getUserId().equals(request.getUserId()))
-                .findFirst()
-                .orElseThrow();
         GroupMessage message = GroupMessage.builder()
                 .groupId(groupId)
-                .senderUserId(sender.getUserId())
-                .senderUsername(sender.getUsername())
+                .senderUserId(request.getUserId())
+                .senderUsername(members.username(request.getUserId()))
                 .content(request.getContent())
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        messageRepository.save(message);
+        // With write-behind enabled the row is inserted shortly after, the id is already final
+        messageWriter.write(message);
 
-        // Broadcast message to all subscribers of this group's topic in real-time
+        // Broadcast to all subscribers of this group's topic, on every instance (see FanoutBus)
         GroupMessageResponse response = mapToResponse(message);
-        messagingTemplate.convertAndSend("/topic/group/" + groupId, response);
+        fanoutBus.publish(GroupMessageFanoutResolver.KIND, message.getId(), "/topic/group/" + groupId, response);
 
         return response;
     }
 
+    // Each chunk is its own short read, so no connection is held while the client reads
     @Override
-    public List<GroupMessageResponse> fetchMessages(
-            Long groupId,
-            Long userId) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportMessages(Long groupId, Long userId, Consumer<GroupMessageResponse> sink) {
+
+        requireMember(groupId, userId);
+
+        long afterId = 0;
+        List<GroupMessageResponse> chunk;
+        do {
+            chunk = messageRepository.findExportChunk(groupId, afterId, Limit.of(EXPORT_CHUNK_SIZE));
+            chunk.forEach(sink);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == EXPORT_CHUNK_SIZE);
+    }
 
-        GroupChat group = groupChatRepository.findById(groupId)
+    // Membership check against the cache, no GroupChat/participants load
+    private GroupMembers requireMember(Long groupId, Long userId) {
+        GroupMembers members = membershipCache.get(groupId)
                 .orElseThrow(() -> new GroupNotFoundException("Group not found with id: " + groupId));
 
-        boolean isMember = group.getParticipants()
-                .stream()
-                .anyMatch(p -> p.getUserId().equals(userId));
-
-        if (!isMember) {
+        if (userId == null || !members.contains(userId)) {
             throw new UserNotMemberException(userId);
         }
-
-        return messageRepository.findByGroupIdOrderByCreatedAtAsc(groupId)
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+        return members;
     }
 
     private GroupMessageResponse mapToResponse(GroupMessage message) {
@@ -121,18 +136,7 @@ public class GroupMessageServiceImpl implements GroupMessageService {
             throw new InvalidRequestException("Page size must be greater than zero");
         }
         
-        // Validate group exists
-        GroupChat group = groupChatRepository.findById(groupId)
-                .orElseThrow(() -> new GroupNotFoundException("Group not found with id: " + groupId));
-
-        // Check if user is a member of the group
-        boolean isMember = group.getParticipants()
-                .stream()
-                .anyMatch(p -> p.getUserId().equals(userId));
-
-        if (!isMember) {
-            throw new UserNotMemberException(userId);
-        }
+        requireMember(groupId, userId);
 
         // Create pageable with sorting by createdAt ascending
         PageRequest pageable = PageRequest.of(page, size, Sort.by("createdAt").ascending());
@@ -145,18 +149,49 @@ public class GroupMessageServiceImpl implements GroupMessageService {
     }
 
     @Override
-    public void deleteMessage(Long groupId, Long messageId, Long userId) {
-        GroupChat group = groupChatRepository.findById(groupId)
-                .orElseThrow(() -> new GroupNotFoundException("Group not found"));
-
-        boolean isMember = group.getParticipants()
-                .stream()
-                .anyMatch(p -> p.getUserId().equals(userId));
+    @Transactional(readOnly = true)
+    public GroupMessageHistoryResponse getMessageHistory(Long groupId, Long userId, Long before, Long after, Integer limit) {
+        if (before != null && after != null) {
+            throw new InvalidRequestException("Use either before or after, not both");
+        }
+        if (limit != null && limit < 1) {
+            throw new InvalidRequestException("Limit must be greater than zero");
+        }
+        int size = Math.min(limit == null ? DEFAULT_HISTORY_LIMIT : limit, MAX_HISTORY_LIMIT);
+
+        requireMember(groupId, userId);
+
+        // one extra row tells whether more messages exist in that direction
+        Limit fetch = Limit.of(size + 1);
+        List<GroupMessage> rows;
+        if (after != null) {
+            rows = messageRepository.findByGroupIdAndIdGreaterThanOrderByIdAsc(groupId, after, fetch);
+        } else if (before != null) {
+            rows = messageRepository.findByGroupIdAndIdLessThanOrderByIdDesc(groupId, before, fetch);
+        } else {
+            rows = messageRepository.findByGroupIdOrderByIdDesc(groupId, fetch);
+        }
 
-        if (!isMember) {
-            throw new UserNotMemberException(userId);
+        boolean hasMore = rows.size() > size;
+        List<GroupMessage> slice = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (after == null) {
+            // read newest-first from the index, returned oldest-first like the other endpoints
+            Collections.reverse(slice);
         }
 
+        return GroupMessageHistoryResponse.builder()
+                .groupId(groupId)
+                .messages(slice.stream().map(this::mapToResponse).toList())
+                .hasMore(hasMore)
+                .oldestId(slice.isEmpty() ? null : slice.get(0).getId())
+                .newestId(slice.isEmpty() ? null : slice.get(slice.size() - 1).getId())
+                .build();
+    }
+
+    @Override
+    public void deleteMessage(Long groupId, Long messageId, Long userId) {
+        requireMember(groupId, userId);
+
         GroupMessage message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new InvalidMessageException("Message not found"));
 
@@ -174,18 +209,14 @@ public class GroupMessageServiceImpl implements GroupMessageService {
     @Override
     public GroupMessageSearchResponse searchForMessage(Long groupId, Long userId, GroupMessageSearchRequest request) {
 
-        GroupChat groupChat = groupChatRepository.findById(groupId)
+        GroupMembers members = membershipCache.get(groupId)
                 .orElseThrow(() -> new GroupNotFoundException("Group id not found: " + groupId));
 
         if (!userRepository.existsById(userId)) {
             throw new EntityNotFoundException("User not found with id: " + userId);
         }
 
-        boolean isMember = groupChat.getParticipants()
-                .stream()
-                .anyMatch(p -> p.getUserId().equals(userId));
-
-        if (!isMember) {
+        if (!members.contains(userId)) {
             throw new RuntimeException("User not in group! Access Denied");
         }
 
@@ -209,4 +240,45 @@ public class GroupMessageServiceImpl implements GroupMessageService {
                 .build();
 
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GroupMessageRankedSearchResponse searchMessagesRanked(Long groupId, Long userId, String query, String cursor, Integer size) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new InvalidRequestException("Search query cannot be empty");
+        }
+        String trimmed = query.trim();
+        if (trimmed.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidRequestException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        if (size != null && size < 1) {
+            throw new InvalidRequestException("Page size must be greater than zero");
+        }
+        int pageSize = Math.min(size == null ? DEFAULT_SEARCH_PAGE_SIZE : size, MAX_SEARCH_PAGE_SIZE);
+        GroupMessageSearchCursor after = cursor == null || cursor.isBlank() ? null : GroupMessageSearchCursor.decode(cursor);
+
+        requireMember(groupId, userId);
+
+        // one extra row tells whether another page exists, no count query
+        List<RankedGroupMessage> rows = textSearchRepository.search(groupId, trimmed, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<RankedGroupMessage> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<String> tokens = TextSearch.tokenize(trimmed, Integer.MAX_VALUE);
+        List<GroupMessageSearchHit> results = page.stream()
+                .map(row -> GroupMessageSearchHit.builder()
+                        .message(row.message())
+                        .snippet(MessageSnippets.highlight(row.message().getContent(), tokens))
+                        .score(row.score())
+                        .build())
+                .toList();
+
+        return GroupMessageRankedSearchResponse.builder()
+                .groupId(groupId)
+                .results(results)
+                .nextCursor(hasNext ? GroupMessageSearchCursor.after(page.get(page.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .size(results.size())
+                .build();
+    }
 }
@@ -0,0 +1,16 @@
+package com.opencode.alumxbackend.groupchatmessages.service;
+
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+
+/**
+ * Persists new group messages. {@link DirectGroupMessageWriter} saves synchronously,
+ * {@link WriteBehindGroupMessageWriter} (enabled with
+ * {@code groupchat.messages.write-behind.enabled=true}) batches inserts in the background.
+ */
+public interface GroupMessageWriter {
+
+    /**
+     * Persists the message, or queues it for persisting, and returns it with its id assigned.
+     */
+    GroupMessage write(GroupMessage message);
+}
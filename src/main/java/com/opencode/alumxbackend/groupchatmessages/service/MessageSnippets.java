@@ -0,0 +1,99 @@
+package com.opencode.alumxbackend.groupchatmessages.service;
+
+import java.util.List;
+
+/**
+ * Builds the highlighted excerpt shown for a message search hit.
+ *
+ * The excerpt is centred on the first match, HTML-escaped, and every word starting with a
+ * query token is wrapped in {@code <mark></mark>}, as the full-text engine matches word
+ * prefixes. Done in Java rather than with {@code ts_headline}
+ * so both search engines produce the same, escaped output.
+ */
+final class MessageSnippets {
+
+    static final int MAX_LENGTH = 160;
+    private static final int LEADING_CONTEXT = 40;
+
+    private MessageSnippets() {
+    }
+
+    static String highlight(String content, List<String> tokens) {
+        int first = firstMatch(content, tokens);
+        int start = 0;
+        if (content.length() > MAX_LENGTH && first > LEADING_CONTEXT) {
+            start = first - LEADING_CONTEXT;
+            // begin at a word boundary rather than mid-word
+            while (start < first && !Character.isWhitespace(content.charAt(start - 1))) {
+                start++;
+            }
+        }
+        int end = Math.min(content.length(), start + MAX_LENGTH);
+
+        StringBuilder snippet = new StringBuilder();
+        if (start > 0) {
+            snippet.append("...");
+        }
+        int i = start;
+        while (i < end) {
+            int matchLength = matchAt(content, i, tokens);
+            if (matchLength > 0) {
+                int markEnd = Math.min(end, wordEnd(content, i + matchLength));
+                snippet.append("<mark>");
+                escape(snippet, content, i, markEnd);
+                snippet.append("</mark>");
+                i = markEnd;
+            } else {
+                escape(snippet, content, i, i + 1);
+                i++;
+            }
+        }
+        if (end < content.length()) {
+            snippet.append("...");
+        }
+        return snippet.toString();
+    }
+
+    private static int firstMatch(String content, List<String> tokens) {
+        for (int i = 0; i < content.length(); i++) {
+            if (matchAt(content, i, tokens) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int matchAt(String content, int offset, List<String> tokens) {
+        if (offset > 0 && Character.isLetterOrDigit(content.charAt(offset - 1))) {
+            return 0;
+        }
+        for (String token : tokens) {
+            if (content.regionMatches(true, offset, token, 0, token.length())) {
+                return token.length();
+            }
+        }
+        return 0;
+    }
+
+    private static int wordEnd(String content, int from) {
+        int i = from;
+        while (i < content.length() && Character.isLetterOrDigit(content.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void escape(StringBuilder out, String content, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = content.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
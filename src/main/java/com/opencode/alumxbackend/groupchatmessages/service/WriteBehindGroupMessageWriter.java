@@ -0,0 +1,390 @@
+package com.opencode.alumxbackend.groupchatmessages.service;
+
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+import com.opencode.alumxbackend.groupchatreadreceipt.service.GroupReadService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence for group messages.
+ *
+ * Ids come from {@link GroupMessageIdAllocator}, so a message can be broadcast as soon as it
+ * is queued; a single flusher thread drains the queue into {@code group_messages} with JDBC
+ * batch inserts. The queue is bounded: when it stays full for {@code offer-timeout-ms} the
+ * sender inserts its own row synchronously, which slows producers down to what the database
+ * accepts instead of dropping messages.
+ *
+ * A batch failing with a transient error (lost connection, lock timeout) is retried with
+ * backoff. Any other error cannot go away by retrying, and retrying would hold up every later
+ * message, so the batch is inserted row by row instead and the rows the database rejects are
+ * appended to the dead-letter file and logged. Nothing replays that file.
+ *
+ * On shutdown the queue is flushed after the web server has stopped taking requests.
+ * Anything that still cannot be written goes to the spool file, which is replayed on the
+ * next start.
+ *
+ * History and search only see a message once it has been flushed, normally within
+ * {@code flush-interval-ms}. Unread counters are incremented per flushed batch, after its insert.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "groupchat.messages.write-behind.enabled", havingValue = "true")
+public class WriteBehindGroupMessageWriter implements GroupMessageWriter, SmartLifecycle {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO group_messages (id, group_id, sender_user_id, sender_username, content, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final long MAX_RETRY_BACKOFF_MS = 5_000;
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GroupReadService groupReadService;
+    private final GroupMessageIdAllocator idAllocator;
+    private final BlockingQueue<GroupMessage> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final Path spoolFile;
+    private final Path deadLetterFile;
+
+    // Not the instance monitor: stop() holds that while joining a flusher that may be spooling
+    private final Object spoolLock = new Object();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public WriteBehindGroupMessageWriter(
+            JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory,
+            GroupReadService groupReadService,
+            @Value("${groupchat.messages.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${groupchat.messages.write-behind.batch-size:500}") int batchSize,
+            @Value("${groupchat.messages.write-behind.flush-interval-ms:50}") long flushIntervalMs,
+            @Value("${groupchat.messages.write-behind.offer-timeout-ms:100}") long offerTimeoutMs,
+            @Value("${groupchat.messages.write-behind.spool-file:data/group-messages.spool}") String spoolFile,
+            @Value("${groupchat.messages.write-behind.dead-letter-file:data/group-messages.dead}") String deadLetterFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.groupReadService = groupReadService;
+        this.idAllocator = new GroupMessageIdAllocator(jdbcTemplate, entityManagerFactory);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.spoolFile = Path.of(spoolFile);
+        this.deadLetterFile = Path.of(deadLetterFile);
+    }
+
+    @Override
+    public GroupMessage write(GroupMessage message) {
+        message.setId(idAllocator.nextId());
+
+        if (running && offer(message)) {
+            return message;
+        }
+        // Queue full (or shutting down): the sender pays for its own insert
+        insert(List.of(message));
+        countUnread(List.of(message));
+        return message;
+    }
+
+    /** Messages accepted but not yet written. */
+    public int pending() {
+        return queue.size();
+    }
+
+    private boolean offer(GroupMessage message) {
+        try {
+            return queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void flushLoop() {
+        List<GroupMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            GroupMessage first;
+            try {
+                first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    // Retries transient failures with backoff while running; once stopping, they are spooled
+    private void flush(List<GroupMessage> batch) {
+        long backoffMs = 100;
+        while (true) {
+            try {
+                insert(batch);
+            } catch (TransientDataAccessException | RecoverableDataAccessException e) {
+                if (!running) {
+                    log.error("Could not flush {} group messages during shutdown, spooling", batch.size(), e);
+                    spool(batch);
+                    return;
+                }
+                log.warn("Group message flush of {} rows failed, retrying in {} ms", batch.size(), backoffMs, e);
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+                continue;
+            } catch (DataAccessException e) {
+                log.warn("Group message flush of {} rows failed, inserting them one by one", batch.size(), e);
+                insertEach(batch);
+                return;
+            }
+            countUnread(batch);
+            return;
+        }
+    }
+
+    // Isolates the rows of a failed batch that the database rejects
+    private void insertEach(List<GroupMessage> batch) {
+        List<GroupMessage> written = new ArrayList<>(batch.size());
+        List<GroupMessage> failed = new ArrayList<>();
+        for (GroupMessage message : batch) {
+            try {
+                insert(List.of(message));
+                written.add(message);
+            } catch (DuplicateKeyException alreadyWritten) {
+                // made it before the batch failed, and was not counted as unread then
+                written.add(message);
+            } catch (TransientDataAccessException | RecoverableDataAccessException e) {
+                log.error("Could not write group message {}, spooling", message.getId(), e);
+                spool(List.of(message));
+            } catch (DataAccessException e) {
+                log.error("Group message {} of group {} rejected, moved to {}",
+                        message.getId(), message.getGroupId(), deadLetterFile, e);
+                failed.add(message);
+            }
+        }
+        if (!failed.isEmpty()) {
+            deadLetter(failed);
+        }
+        if (!written.isEmpty()) {
+            countUnread(written);
+        }
+    }
+
+    // After the insert, never retried with it: a failure here would otherwise re-insert rows.
+    // Lost increments are repaired by the unread counter reconciliation
+    private void countUnread(List<GroupMessage> messages) {
+        try {
+            groupReadService.incrementUnreadCounts(messages);
+        } catch (DataAccessException e) {
+            log.warn("Could not count {} group messages as unread", messages.size(), e);
+        }
+    }
+
+    private void insert(List<GroupMessage> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, message) -> {
+            ps.setLong(1, message.getId());
+            ps.setLong(2, message.getGroupId());
+            ps.setLong(3, message.getSenderUserId());
+            ps.setString(4, message.getSenderUsername());
+            ps.setString(5, message.getContent());
+            ps.setObject(6, message.getCreatedAt());
+        });
+    }
+
+    private void spool(List<GroupMessage> messages) {
+        synchronized (spoolLock) {
+            append(spoolFile, messages);
+        }
+    }
+
+    // Same format as the spool, so a fixed row can be moved back there by hand
+    private void deadLetter(List<GroupMessage> messages) {
+        synchronized (spoolLock) {
+            append(deadLetterFile, messages);
+        }
+    }
+
+    private static void append(Path file, List<GroupMessage> messages) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+                for (GroupMessage message : messages) {
+                    out.writeLong(message.getId());
+                    out.writeLong(message.getGroupId());
+                    out.writeLong(message.getSenderUserId());
+                    writeString(out, message.getSenderUsername());
+                    writeString(out, message.getContent());
+                    writeString(out, message.getCreatedAt().toString());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + messages.size() + " group messages to " + file, e);
+        }
+    }
+
+    // Length-prefixed UTF-8 rather than writeUTF, which is limited to 65535 encoded bytes
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Rows from a batch that partly made it before the spool are skipped as duplicates
+    private void replaySpool() {
+        if (!Files.exists(spoolFile)) {
+            return;
+        }
+        List<GroupMessage> messages = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spoolFile)))) {
+            while (true) {
+                long id;
+                try {
+                    id = in.readLong();
+                } catch (EOFException end) {
+                    break;
+                }
+                messages.add(GroupMessage.builder()
+                        .id(id)
+                        .groupId(in.readLong())
+                        .senderUserId(in.readLong())
+                        .senderUsername(readString(in))
+                        .content(readString(in))
+                        .createdAt(LocalDateTime.parse(readString(in)))
+                        .build());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read group message spool " + spoolFile, e);
+        }
+
+        List<GroupMessage> replayed = new ArrayList<>();
+        List<GroupMessage> rejected = new ArrayList<>();
+        for (GroupMessage message : messages) {
+            try {
+                insert(List.of(message));
+                replayed.add(message);
+            } catch (DuplicateKeyException alreadyWritten) {
+                // flushed before the spool was written
+            } catch (TransientDataAccessException | RecoverableDataAccessException e) {
+                throw e;
+            } catch (DataAccessException e) {
+                // A rejected row must not keep the application from starting
+                log.error("Spooled group message {} rejected, moved to {}", message.getId(), deadLetterFile, e);
+                rejected.add(message);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            deadLetter(rejected);
+        }
+        if (!replayed.isEmpty()) {
+            countUnread(replayed);
+        }
+        try {
+            Files.delete(spoolFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not remove group message spool " + spoolFile, e);
+        }
+        log.info("Replayed {} of {} spooled group messages", replayed.size(), messages.size());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        replaySpool();
+        running = true;
+        flusher = Thread.ofPlatform()
+                .name("group-message-writer")
+                .daemon(false)
+                .start(this::flushLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        // Not interrupted: an interrupt in the middle of a JDBC batch can poison the connection
+        running = false;
+        try {
+            flusher.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Whatever raced past the flusher's last drain, or is left after a timed-out join
+        List<GroupMessage> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            try {
+                insert(leftover);
+            } catch (DataAccessException e) {
+                log.error("Could not flush {} group messages during shutdown, spooling", leftover.size(), e);
+                spool(leftover);
+                return;
+            }
+            countUnread(leftover);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server (DEFAULT_PHASE - 1024/-2048) so no request enqueues after the final drain
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
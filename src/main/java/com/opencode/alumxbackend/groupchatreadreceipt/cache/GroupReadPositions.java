@@ -0,0 +1,108 @@
+package com.opencode.alumxbackend.groupchatreadreceipt.cache;
+
+import com.opencode.alumxbackend.groupchat.cache.GroupMembers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable read positions of the members of one group, as a step function: for each distinct
+ * position (descending), how many members have read at least that far. "Seen by" for any
+ * message of the group is then a binary search.
+ */
+public final class GroupReadPositions {
+
+    // The member list these positions were filtered with; a new one means membership changed
+    private final GroupMembers members;
+    private final long[] positions;
+    private final int[] readers;
+    private final Map<Long, Long> byUser;
+
+    private GroupReadPositions(GroupMembers members, long[] positions, int[] readers, Map<Long, Long> byUser) {
+        this.members = members;
+        this.positions = positions;
+        this.readers = readers;
+        this.byUser = byUser;
+    }
+
+    /**
+     * Builds the positions from {@code (userId, lastReadMessageId, readers)} rows ordered by
+     * position, furthest first, where {@code readers} counts the members at or past the row's
+     * position.
+     */
+    static GroupReadPositions of(GroupMembers members, List<Object[]> rows) {
+        long[] positions = new long[rows.size()];
+        int[] readers = new int[rows.size()];
+        Map<Long, Long> byUser = new HashMap<>();
+        int distinct = 0;
+        for (Object[] row : rows) {
+            long position = ((Number) row[1]).longValue();
+            byUser.put(((Number) row[0]).longValue(), position);
+            if (distinct == 0 || positions[distinct - 1] != position) {
+                positions[distinct] = position;
+                readers[distinct] = ((Number) row[2]).intValue();
+                distinct++;
+            }
+        }
+        return new GroupReadPositions(members,
+                Arrays.copyOf(positions, distinct), Arrays.copyOf(readers, distinct), byUser);
+    }
+
+    /**
+     * These positions with the given ones (userId -> position) applied, keeping each member's
+     * furthest; users who are not members are ignored, as in the query.
+     */
+    GroupReadPositions advance(Map<Long, Long> stored) {
+        Map<Long, Long> byUser = new HashMap<>(this.byUser);
+        stored.forEach((userId, position) -> {
+            if (members.contains(userId)) {
+                byUser.merge(userId, position, Math::max);
+            }
+        });
+
+        long[] ascending = byUser.values().stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] positions = new long[ascending.length];
+        int[] readers = new int[ascending.length];
+        int distinct = 0;
+        for (int i = ascending.length - 1; i >= 0; i--) {
+            if (distinct == 0 || positions[distinct - 1] != ascending[i]) {
+                positions[distinct++] = ascending[i];
+            }
+            // Ties included: everyone from here up has read at least this far
+            readers[distinct - 1] = ascending.length - i;
+        }
+        return new GroupReadPositions(members,
+                Arrays.copyOf(positions, distinct), Arrays.copyOf(readers, distinct), byUser);
+    }
+
+    /** Members other than the sender who have read the message. */
+    public int seenBy(long messageId, long senderUserId) {
+        // positions is descending: find how many entries are >= messageId
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (positions[mid] >= messageId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int seen = low == 0 ? 0 : readers[low - 1];
+        Long senderPosition = byUser.get(senderUserId);
+        if (senderPosition != null && senderPosition >= messageId) {
+            seen--;
+        }
+        return seen;
+    }
+
+    public int memberCount() {
+        return members.size();
+    }
+
+    boolean builtWith(GroupMembers current) {
+        return members == current;
+    }
+}
@@ -0,0 +1,152 @@
+package com.opencode.alumxbackend.groupchatreadreceipt.cache;
+
+import com.opencode.alumxbackend.groupchat.cache.GroupMembers;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembershipCache;
+import com.opencode.alumxbackend.groupchatreadreceipt.repository.GroupReadStateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded cache of {@link GroupReadPositions} per group, loaded with one ranked query, so
+ * "seen by" for any message of a group is answered without touching the database until a
+ * member's read position moves.
+ *
+ * Stored positions are applied to the cached entry by {@link #advance} rather than dropping
+ * it, so a busy group is not reloaded after every write-behind flush. {@link #invalidate}
+ * drops the group for writes that cannot be patched in. Entries are rebuilt when the group's
+ * member list in {@link GroupMembershipCache} is no longer the one they were loaded with.
+ *
+ * Each group has its own slot, and every change replaces it, so the slot a load started from
+ * is that group's version: the load is cached only if the slot is still the same one, and a
+ * change to any other group never discards it. Lookups take no lock.
+ */
+@Component
+public class GroupReadPositionsCache {
+
+    private final GroupReadStateRepository repository;
+    private final GroupMembershipCache membershipCache;
+    private final int maxGroups;
+    private final ConcurrentHashMap<Long, Slot> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public GroupReadPositionsCache(
+            GroupReadStateRepository repository,
+            GroupMembershipCache membershipCache,
+            @Value("${readstate.seen-by-cache.max-groups:10000}") int maxGroups) {
+        this.repository = repository;
+        this.membershipCache = membershipCache;
+        this.maxGroups = maxGroups;
+    }
+
+    // Compared by identity; positions is null while the group's first load is running
+    private static final class Slot {
+        private final GroupReadPositions positions;
+
+        private Slot(GroupReadPositions positions) {
+            this.positions = positions;
+        }
+    }
+
+    /**
+     * Read positions of the group's current members, or empty if the group does not exist.
+     */
+    public Optional<GroupReadPositions> get(Long groupId) {
+        Optional<GroupMembers> members = membershipCache.get(groupId);
+        if (members.isEmpty()) {
+            return Optional.empty();
+        }
+        Slot slot = cache.get(groupId);
+        if (slot == null) {
+            Slot loading = new Slot(null);
+            slot = cache.putIfAbsent(groupId, loading);
+            if (slot == null) {
+                slot = loading;
+            }
+        }
+        if (slot.positions != null && slot.positions.builtWith(members.get())) {
+            return Optional.of(slot.positions);
+        }
+
+        GroupReadPositions positions = GroupReadPositions.of(members.get(), repository.findReadPositions(groupId));
+        if (cache.replace(groupId, slot, new Slot(positions)) && cache.size() > maxGroups) {
+            evict();
+        }
+        return Optional.of(positions);
+    }
+
+    /**
+     * Moves the cached members' positions forward to the stored ones (userId -> position)
+     * once they are committed. A group not cached, or still loading, is dropped instead, as
+     * its load may have read the positions before them.
+     */
+    public void advance(Long groupId, Map<Long, Long> stored) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        patch(groupId, stored);
+                    } else {
+                        cache.remove(groupId);
+                    }
+                }
+            });
+            return;
+        }
+        patch(groupId, stored);
+    }
+
+    /**
+     * Drops the group now and, inside a transaction, again once it completes, so a reload
+     * that read the old positions before the commit is not kept.
+     */
+    public void invalidate(Long groupId) {
+        cache.remove(groupId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.remove(groupId);
+                }
+            });
+        }
+    }
+
+    private void patch(Long groupId, Map<Long, Long> stored) {
+        cache.computeIfPresent(groupId, (id, slot) ->
+                slot.positions == null ? null : new Slot(slot.positions.advance(stored)));
+    }
+
+    /**
+     * Brings an overflowing cache back to 90% of {@code readstate.seen-by-cache.max-groups},
+     * dropping arbitrary groups, which are loaded again on their next lookup. One thread
+     * evicts at a time; others skip it and may briefly leave the cache a little over the bound.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int excess = cache.size() - maxGroups * 9 / 10;
+            Iterator<Long> groups = cache.keySet().iterator();
+            while (excess-- > 0 && groups.hasNext()) {
+                groups.next();
+                groups.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    int cachedGroupCount() {
+        return cache.size();
+    }
+}
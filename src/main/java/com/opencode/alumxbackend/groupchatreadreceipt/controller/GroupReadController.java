@@ -2,11 +2,15 @@ package com.opencode.alumxbackend.groupchatreadreceipt.controller;
 
 import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupReadRequest;
 import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupReadResponse;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupSeenByResponse;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupUnreadCountResponse;
 import com.opencode.alumxbackend.groupchatreadreceipt.service.GroupReadService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/groupsread")
 @RequiredArgsConstructor
@@ -19,7 +23,7 @@ public class GroupReadController {
             @PathVariable Long groupId,
             @RequestBody GroupReadRequest request) {
 
-        GroupReadResponse response = service.updateLastRead(groupId, request.getUserId(), request.getLastReadMessageId());
+        GroupReadResponse response = service.recordRead(groupId, request.getUserId(), request.getLastReadMessageId());
         return ResponseEntity.ok(response);
     }
 
@@ -33,4 +37,30 @@ public class GroupReadController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/unread-counts/{userId}")
+    public ResponseEntity<List<GroupUnreadCountResponse>> getAllUnreadCounts(
+            @PathVariable Long userId) {
+
+        List<GroupUnreadCountResponse> response = service.getAllUnreadCounts(userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{groupId}/messages/{messageId}/seen-by")
+    public ResponseEntity<GroupSeenByResponse> getSeenBy(
+            @PathVariable Long groupId,
+            @PathVariable Long messageId) {
+
+        GroupSeenByResponse response = service.getSeenBy(groupId, messageId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{groupId}/unread-count/{userId}")
+    public ResponseEntity<GroupUnreadCountResponse> getUnreadCount(
+            @PathVariable Long groupId,
+            @PathVariable Long userId) {
+
+        GroupUnreadCountResponse response = service.getUnreadCount(groupId, userId);
+        return ResponseEntity.ok(response);
+    }
+
 }
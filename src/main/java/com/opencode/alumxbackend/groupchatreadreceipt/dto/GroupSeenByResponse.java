@@ -0,0 +1,15 @@
+package com.opencode.alumxbackend.groupchatreadreceipt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupSeenByResponse {
+    private Long groupId;
+    private Long messageId;
+    private Integer seenBy;
+    private Integer memberCount;
+}
@@ -0,0 +1,14 @@
+package com.opencode.alumxbackend.groupchatreadreceipt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupUnreadCountResponse {
+    private Long groupId;
+    private Long userId;
+    private Long unreadCount;
+}
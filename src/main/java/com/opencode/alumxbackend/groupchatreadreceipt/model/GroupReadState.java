@@ -5,12 +5,19 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "group_read_states")
+@Table(name = "group_read_states",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_group_read_group_user", columnNames = {"group_id", "user_id"})
+        },
+        indexes = {
+                @Index(name = "idx_group_read_user_id", columnList = "user_id")
+        })
 @Builder
 public class GroupReadState {
 
@@ -18,11 +25,19 @@ public class GroupReadState {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "group_id", nullable = false)
     private Long groupId;
-    private Long userId;
-    private Long lastReadMessageId;
-
 
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
 
+    @Column(name = "last_read_message_id")
+    private Long lastReadMessageId;
 
+    // Messages from other members after lastReadMessageId; incremented as they are stored,
+    // recomputed on read and repaired by the reconciliation job
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount = 0L;
 }
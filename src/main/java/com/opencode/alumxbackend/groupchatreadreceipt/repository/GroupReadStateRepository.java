@@ -1,8 +1,13 @@
 package com.opencode.alumxbackend.groupchatreadreceipt.repository;
 
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupUnreadCountResponse;
 import com.opencode.alumxbackend.groupchatreadreceipt.model.GroupReadState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,5 +18,65 @@ public interface GroupReadStateRepository extends JpaRepository<GroupReadState,L
 
     List<GroupReadState> findByGroupId(Long groupId);
 
-}
+    @Query("SELECT COUNT(m) FROM GroupMessage m WHERE m.groupId = :groupId " +
+            "AND m.senderUserId <> :userId")
+    Long countAllMessagesFromOthers(@Param("groupId") Long groupId,
+                                    @Param("userId") Long userId);
+
+    // Every group of the user with its unread counter; messages are only counted for a group the
+    // user has no read state in yet (until the reconciliation job creates one)
+    @Query("""
+            SELECT new com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupUnreadCountResponse(
+                p.groupChat.groupId, :userId, CASE WHEN s.id IS NULL THEN COUNT(m) ELSE s.unreadCount END)
+            FROM Participant p
+            LEFT JOIN GroupReadState s ON s.groupId = p.groupChat.groupId AND s.userId = :userId
+            LEFT JOIN GroupMessage m ON s.id IS NULL AND m.groupId = p.groupChat.groupId AND m.senderUserId <> :userId
+            WHERE p.userId = :userId
+            GROUP BY p.groupChat.groupId, s.id, s.unreadCount
+            ORDER BY p.groupChat.groupId
+            """)
+    List<GroupUnreadCountResponse> findAllUnreadCounts(@Param("userId") Long userId);
+
+    // (userId, lastReadMessageId, readers) of the current members, furthest first; readers is
+    // how many members read at least that far (the window frame includes ties)
+    @Query(value = """
+            SELECT s.user_id, s.last_read_message_id,
+                   COUNT(*) OVER (ORDER BY s.last_read_message_id DESC) AS readers
+            FROM group_read_states s
+            JOIN group_chat_participants p ON p.group_id = s.group_id AND p.user_id = s.user_id
+            WHERE s.group_id = :groupId AND s.last_read_message_id IS NOT NULL
+            ORDER BY s.last_read_message_id DESC
+            """, nativeQuery = true)
+    List<Object[]> findReadPositions(@Param("groupId") Long groupId);
+
+    // Reconciliation, one id range per call and transaction, so no run holds locks on every
+    // read state at once: a read state for the participants in [fromId, toId) ...
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO group_read_states (group_id, user_id, unread_count)
+            SELECT p.group_id, p.user_id, 0 FROM group_chat_participants p
+            WHERE p.id >= :fromId AND p.id < :toId
+            AND NOT EXISTS (SELECT 1 FROM group_read_states s WHERE s.group_id = p.group_id AND s.user_id = p.user_id)
+            """, nativeQuery = true)
+    int insertMissingReadStates(@Param("fromId") long fromId, @Param("toId") long toId);
 
+    // ... and every counter in [fromId, toId) that drifted from the messages it stands for
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE group_read_states s
+            SET unread_count = (SELECT COUNT(*) FROM group_messages m WHERE m.group_id = s.group_id AND m.sender_user_id <> s.user_id
+                                AND (s.last_read_message_id IS NULL OR m.id > s.last_read_message_id))
+            WHERE s.id >= :fromId AND s.id < :toId
+            AND unread_count <> (SELECT COUNT(*) FROM group_messages m WHERE m.group_id = s.group_id AND m.sender_user_id <> s.user_id
+                                 AND (s.last_read_message_id IS NULL OR m.id > s.last_read_message_id))
+            """, nativeQuery = true)
+    int repairUnreadCounts(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Participant p")
+    long findMaxParticipantId();
+
+    @Query("SELECT COALESCE(MAX(s.id), 0) FROM GroupReadState s")
+    long findMaxId();
+}
@@ -0,0 +1,47 @@
+package com.opencode.alumxbackend.groupchatreadreceipt.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds {@code uk_group_read_group_user} to a PostgreSQL {@code group_read_states} created
+ * before it existed. {@code ddl-auto=update} cannot add it while concurrent first reads have
+ * left duplicate rows, and {@code ON CONFLICT (group_id, user_id)} fails without it. Of the
+ * duplicates, the row with the furthest read position is kept. Does nothing once the
+ * constraint exists.
+ *
+ * Run by {@link GroupReadStateUpsertRepository} as it is created, so the key is in place
+ * before the web server takes the first request. Taking the {@link EntityManagerFactory}
+ * makes Hibernate's schema update run first.
+ */
+@Slf4j
+@Component
+public class GroupReadStateSchemaInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GroupReadStateSchemaInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void ensureUniqueKey() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = 'uk_group_read_group_user'", Integer.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        int removed = jdbcTemplate.update("""
+                DELETE FROM group_read_states s
+                USING group_read_states d
+                WHERE s.group_id = d.group_id AND s.user_id = d.user_id
+                AND (COALESCE(s.last_read_message_id, 0), s.id) < (COALESCE(d.last_read_message_id, 0), d.id)
+                """);
+        jdbcTemplate.execute("""
+                ALTER TABLE group_read_states
+                    ADD CONSTRAINT uk_group_read_group_user UNIQUE (group_id, user_id)
+                """);
+        log.info("Added uk_group_read_group_user to group_read_states, {} duplicate read states removed", removed);
+    }
+}
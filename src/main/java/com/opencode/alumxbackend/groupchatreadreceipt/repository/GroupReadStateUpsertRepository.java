@@ -0,0 +1,95 @@
+package com.opencode.alumxbackend.groupchatreadreceipt.repository;
+
+import com.opencode.alumxbackend.common.readstate.CoalescingReadStateWriter.ReadPosition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Moves a member's read position forward in one statement, creating the read state on the
+ * first read: no select before the write, and no duplicate rows from concurrent first reads,
+ * which the unique {@code (group_id, user_id)} key turns into an update. The unread counter is
+ * recounted from the new position in the same statement. A position at or before the stored
+ * one changes nothing.
+ *
+ * {@code readstate.upsert} picks the statement: {@code on-conflict} is PostgreSQL's
+ * {@code INSERT ... ON CONFLICT DO UPDATE}; {@code merge} is a standard SQL {@code MERGE} for
+ * databases without it (the H2 test profile). A {@code MERGE} racing another first read can
+ * still hit the unique key, and is then run once more, as the update it has become. With
+ * {@code on-conflict}, the unique key is added to older schemas as this repository is created,
+ * see {@link GroupReadStateSchemaInitializer}.
+ */
+@Repository
+public class GroupReadStateUpsertRepository {
+
+    private static final String ON_CONFLICT_SQL = """
+            INSERT INTO group_read_states AS s (group_id, user_id, last_read_message_id, unread_count)
+            SELECT ?, ?, ?, COUNT(*) FROM group_messages m
+            WHERE m.group_id = ? AND m.sender_user_id <> ? AND m.id > ?
+            ON CONFLICT (group_id, user_id) DO UPDATE
+            SET last_read_message_id = EXCLUDED.last_read_message_id, unread_count = EXCLUDED.unread_count
+            WHERE s.last_read_message_id IS NULL OR s.last_read_message_id < EXCLUDED.last_read_message_id
+            """;
+
+    private static final String MERGE_SQL = """
+            MERGE INTO group_read_states s
+            USING (SELECT CAST(? AS BIGINT) AS group_id, CAST(? AS BIGINT) AS user_id,
+                          CAST(? AS BIGINT) AS last_read_message_id,
+                          (SELECT COUNT(*) FROM group_messages m
+                           WHERE m.group_id = ? AND m.sender_user_id <> ? AND m.id > ?) AS unread_count) v
+            ON s.group_id = v.group_id AND s.user_id = v.user_id
+            WHEN MATCHED AND (s.last_read_message_id IS NULL OR s.last_read_message_id < v.last_read_message_id) THEN
+                UPDATE SET last_read_message_id = v.last_read_message_id, unread_count = v.unread_count
+            WHEN NOT MATCHED THEN
+                INSERT (group_id, user_id, last_read_message_id, unread_count)
+                VALUES (v.group_id, v.user_id, v.last_read_message_id, v.unread_count)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsertSql;
+    private final boolean retryDuplicates;
+
+    public GroupReadStateUpsertRepository(
+            JdbcTemplate jdbcTemplate,
+            GroupReadStateSchemaInitializer schemaInitializer,
+            @Value("${readstate.upsert:on-conflict}") String upsert) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsertSql = switch (upsert) {
+            case "on-conflict" -> ON_CONFLICT_SQL;
+            case "merge" -> MERGE_SQL;
+            default -> throw new IllegalArgumentException("Unknown readstate.upsert: " + upsert);
+        };
+        this.retryDuplicates = "merge".equals(upsert);
+        if ("on-conflict".equals(upsert)) {
+            // Before the first request: ON CONFLICT needs the unique key
+            schemaInitializer.ensureUniqueKey();
+        }
+    }
+
+    /** 1 if the position was stored, 0 if the member had already read further. */
+    public int upsert(Long groupId, Long userId, Long lastReadMessageId) {
+        try {
+            return jdbcTemplate.update(upsertSql, groupId, userId, lastReadMessageId, groupId, userId, lastReadMessageId);
+        } catch (DuplicateKeyException e) {
+            if (!retryDuplicates) {
+                throw e;
+            }
+            return jdbcTemplate.update(upsertSql, groupId, userId, lastReadMessageId, groupId, userId, lastReadMessageId);
+        }
+    }
+
+    /** Same as {@link #upsert} for many positions, as one JDBC batch. */
+    public void upsertAll(List<ReadPosition> positions) {
+        jdbcTemplate.batchUpdate(upsertSql, positions, positions.size(), (ps, p) -> {
+            ps.setLong(1, p.conversationId());
+            ps.setLong(2, p.userId());
+            ps.setLong(3, p.lastReadMessageId());
+            ps.setLong(4, p.conversationId());
+            ps.setLong(5, p.userId());
+            ps.setLong(6, p.lastReadMessageId());
+        });
+    }
+}
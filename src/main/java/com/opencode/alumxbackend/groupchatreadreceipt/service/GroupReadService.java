@@ -1,10 +1,44 @@
 package com.opencode.alumxbackend.groupchatreadreceipt.service;
 
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
 import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupReadResponse;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupSeenByResponse;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupUnreadCountResponse;
+
+import java.util.List;
 
 public interface GroupReadService {
 
     GroupReadResponse updateLastRead(Long groupId, Long userId, Long lastReadMessageId);
 
+    /**
+     * Same as {@link #updateLastRead}, for callers reporting positions often: the position is
+     * coalesced with the user's other reports and stored with the next flush of
+     * {@link GroupReadStateWriter}. Answers with the furthest of the pending and stored
+     * positions, as {@link #updateLastRead} does.
+     */
+    GroupReadResponse recordRead(Long groupId, Long userId, Long lastReadMessageId);
+
+    /**
+     * {@link #recordRead} for a message the user just sent, which needs no answer and so no
+     * lookup of the stored position.
+     */
+    void recordOwnMessageRead(Long groupId, Long userId, Long messageId);
+
     GroupReadResponse getLastReadMessage(Long groupId, Long userId);
+
+    /**
+     * Counts stored messages as unread for every other current member of their group, except
+     * members who already read past them. Called by the writer once the rows are inserted.
+     */
+    void incrementUnreadCounts(List<GroupMessage> messages);
+
+    GroupUnreadCountResponse getUnreadCount(Long groupId, Long userId);
+
+    List<GroupUnreadCountResponse> getAllUnreadCounts(Long userId);
+
+    /** Members other than the sender whose stored read position is at or past the message. */
+    GroupSeenByResponse getSeenBy(Long groupId, Long messageId);
+
+    void reconcileUnreadCounts();
 }
@@ -1,40 +1,154 @@
 package com.opencode.alumxbackend.groupchatreadreceipt.service;
 
+import com.opencode.alumxbackend.common.exception.Errors.ResourceNotFoundException;
+import com.opencode.alumxbackend.groupchatmessages.exception.GroupNotFoundException;
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import com.opencode.alumxbackend.groupchatreadreceipt.cache.GroupReadPositions;
+import com.opencode.alumxbackend.groupchatreadreceipt.cache.GroupReadPositionsCache;
 import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupReadResponse;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupSeenByResponse;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupUnreadCountResponse;
 import com.opencode.alumxbackend.groupchatreadreceipt.model.GroupReadState;
 import com.opencode.alumxbackend.groupchatreadreceipt.repository.GroupReadStateRepository;
+import com.opencode.alumxbackend.groupchatreadreceipt.repository.GroupReadStateUpsertRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.function.ToIntBiFunction;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class GroupReadServiceImpl implements GroupReadService {
+
+    // Atomic, no read-modify-write. Members only: a former member's read state stops counting
+    private static final String INCREMENT_SQL = """
+            UPDATE group_read_states SET unread_count = unread_count + 1
+            WHERE group_id = ? AND user_id <> ?
+            AND (last_read_message_id IS NULL OR last_read_message_id < ?)
+            AND user_id IN (SELECT p.user_id FROM group_chat_participants p WHERE p.group_id = ?)
+            """;
+
     private final GroupReadStateRepository repository;
+    private final GroupReadStateUpsertRepository upsertRepository;
+    private final GroupReadPositionsCache positionsCache;
+    private final GroupMessageRepository messageRepository;
+    private final GroupReadStateWriter readStateWriter;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${readstate.unread.reconcile.batch-size:1000}")
+    private int reconcileBatchSize;
 
     @Override
     public GroupReadResponse updateLastRead(Long groupId, Long userId, Long lastReadMessageId) {
-
-        GroupReadState state = repository.findByGroupIdAndUserId(groupId, userId)
-                .orElse(GroupReadState.builder()
-                        .groupId(groupId)
-                        .userId(userId)
-                        .lastReadMessageId(lastReadMessageId)
-                        .build());
-
-        if (state.getLastReadMessageId() == null || lastReadMessageId > state.getLastReadMessageId()) {
-            state.setLastReadMessageId(lastReadMessageId);
-            repository.save(state);
+        if (upsertRepository.upsert(groupId, userId, lastReadMessageId) > 0) {
+            positionsCache.invalidate(groupId);
+            return new GroupReadResponse(userId, lastReadMessageId);
         }
+        // Already read further: only then is the stored position worth a round trip
+        return repository.findByGroupIdAndUserId(groupId, userId)
+                .map(state -> new GroupReadResponse(userId, state.getLastReadMessageId()))
+                .orElse(new GroupReadResponse(userId, lastReadMessageId));
+    }
 
-        return new GroupReadResponse(state.getUserId(), state.getLastReadMessageId());
+    @Override
+    public GroupReadResponse recordRead(Long groupId, Long userId, Long lastReadMessageId) {
+        long pending = readStateWriter.record(groupId, userId, lastReadMessageId);
+        // Looked up after recording, so a flush in between is seen as stored
+        Long stored = repository.findByGroupIdAndUserId(groupId, userId)
+                .map(GroupReadState::getLastReadMessageId)
+                .orElse(null);
+        return new GroupReadResponse(userId, stored != null && stored > pending ? stored : pending);
+    }
+
+    @Override
+    public void recordOwnMessageRead(Long groupId, Long userId, Long messageId) {
+        readStateWriter.record(groupId, userId, messageId);
     }
 
     @Override
     public GroupReadResponse getLastReadMessage(Long groupId, Long userId) {
-        return repository.findByGroupIdAndUserId(groupId, userId)
-                .map(state -> new GroupReadResponse(state.getUserId(), state.getLastReadMessageId()))
-                .orElse(new GroupReadResponse(userId, null));
+        Long stored = repository.findByGroupIdAndUserId(groupId, userId)
+                .map(GroupReadState::getLastReadMessageId)
+                .orElse(null);
+        // A position recorded but not flushed yet is ahead of the stored one
+        Long lastRead = readStateWriter.pending(groupId, userId)
+                .filter(pending -> stored == null || pending > stored)
+                .orElse(stored);
+        return new GroupReadResponse(userId, lastRead);
+    }
+
+    // One JDBC batch for a whole write-behind flush
+    @Override
+    public void incrementUnreadCounts(List<GroupMessage> messages) {
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setLong(1, message.getGroupId());
+            ps.setLong(2, message.getSenderUserId());
+            ps.setLong(3, message.getId());
+            ps.setLong(4, message.getGroupId());
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GroupUnreadCountResponse getUnreadCount(Long groupId, Long userId) {
+        // Counted only until the user's read state exists (first read or reconciliation)
+        Long unreadCount = repository.findByGroupIdAndUserId(groupId, userId)
+                .map(GroupReadState::getUnreadCount)
+                .orElseGet(() -> repository.countAllMessagesFromOthers(groupId, userId));
+
+        return new GroupUnreadCountResponse(groupId, userId, unreadCount);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GroupUnreadCountResponse> getAllUnreadCounts(Long userId) {
+        return repository.findAllUnreadCounts(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GroupSeenByResponse getSeenBy(Long groupId, Long messageId) {
+        GroupMessage message = messageRepository.findById(messageId)
+                .filter(found -> found.getGroupId().equals(groupId))
+                .orElseThrow(() -> new ResourceNotFoundException("Message not found: " + messageId));
+        GroupReadPositions positions = positionsCache.get(groupId)
+                .orElseThrow(() -> new GroupNotFoundException(String.valueOf(groupId)));
+
+        return new GroupSeenByResponse(groupId, messageId,
+                positions.seenBy(messageId, message.getSenderUserId()), positions.memberCount());
+    }
+
+    // Creates the read states of members who never read and repairs counters that drifted,
+    // e.g. increments lost when a write-behind flush failed after its insert
+    // One id range per transaction, see readstate.unread.reconcile.batch-size
+    @Override
+    @Scheduled(initialDelayString = "${readstate.unread.reconcile.initial-delay-ms:60000}",
+            fixedDelayString = "${readstate.unread.reconcile.interval-ms:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcileUnreadCounts() {
+        int created = inBatches(repository.findMaxParticipantId(), repository::insertMissingReadStates);
+        int repaired = inBatches(repository.findMaxId(), repository::repairUnreadCounts);
+        if (created > 0 || repaired > 0) {
+            log.info("Group unread counters reconciled: {} read states created, {} repaired", created, repaired);
+        }
+    }
+
+    // [fromId, toId) ranges of readstate.unread.reconcile.batch-size ids up to maxId
+    private int inBatches(long maxId, ToIntBiFunction<Long, Long> update) {
+        int changed = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += reconcileBatchSize) {
+            changed += update.applyAsInt(fromId, fromId + reconcileBatchSize);
+        }
+        return changed;
     }
 }
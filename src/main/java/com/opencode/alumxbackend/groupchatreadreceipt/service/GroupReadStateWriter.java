@@ -0,0 +1,31 @@
+package com.opencode.alumxbackend.groupchatreadreceipt.service;
+
+import com.opencode.alumxbackend.common.readstate.CoalescingReadStateWriter;
+import com.opencode.alumxbackend.groupchatreadreceipt.cache.GroupReadPositionsCache;
+import com.opencode.alumxbackend.groupchatreadreceipt.repository.GroupReadStateUpsertRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/** Coalesced group read positions; see {@link CoalescingReadStateWriter}. */
+@Component
+@RequiredArgsConstructor
+public class GroupReadStateWriter extends CoalescingReadStateWriter {
+
+    private final GroupReadStateUpsertRepository upsertRepository;
+    private final GroupReadPositionsCache positionsCache;
+
+    // Upserts create missing read states themselves, so nothing needs a retry
+    @Override
+    protected List<ReadPosition> store(List<ReadPosition> positions) {
+        upsertRepository.upsertAll(positions);
+        Map<Long, Map<Long, Long>> byGroup = positions.stream()
+                .collect(Collectors.groupingBy(ReadPosition::conversationId, Collectors.toMap(
+                        ReadPosition::userId, ReadPosition::lastReadMessageId, Math::max)));
+        byGroup.forEach(positionsCache::advance);
+        return List.of();
+    }
+}
@@ -0,0 +1,74 @@
+package com.opencode.alumxbackend.search.config;
+
+import com.opencode.alumxbackend.search.embedding.HashingEmbeddingModel;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.openai.OpenAiEmbeddingModel;
+import org.springframework.ai.openai.OpenAiEmbeddingOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.pgvector.PgVectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Embedding model and vector store used by semantic user search.
+ *
+ * Only the Spring AI libraries are on the classpath (no auto-configuration starters), so the
+ * beans are built here from the existing {@code spring.ai.*} properties. Both pieces can be
+ * swapped for offline use:
+ * <ul>
+ *   <li>{@code search.semantic.embedding-model}: {@code openai} or {@code local} ({@link HashingEmbeddingModel})</li>
+ *   <li>{@code search.semantic.store}: {@code pgvector} or {@code memory}</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "search.semantic.enabled", havingValue = "true")
+public class SemanticSearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "search.semantic.embedding-model", havingValue = "openai", matchIfMissing = true)
+    public EmbeddingModel openAiEmbeddingModel(
+            @Value("${spring.ai.openai.api-key}") String apiKey,
+            @Value("${spring.ai.openai.embedding.model:text-embedding-3-small}") String model) {
+        OpenAiApi openAiApi = OpenAiApi.builder()
+                .apiKey(apiKey)
+                .build();
+        return new OpenAiEmbeddingModel(openAiApi, MetadataMode.EMBED,
+                OpenAiEmbeddingOptions.builder().model(model).build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "search.semantic.embedding-model", havingValue = "local")
+    public EmbeddingModel localEmbeddingModel(
+            @Value("${spring.ai.vectorstore.pgvector.dimensions:1536}") int dimensions) {
+        return new HashingEmbeddingModel(dimensions);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "search.semantic.store", havingValue = "pgvector", matchIfMissing = true)
+    public VectorStore pgVectorStore(
+            JdbcTemplate jdbcTemplate,
+            EmbeddingModel embeddingModel,
+            @Value("${spring.ai.vectorstore.pgvector.table-name:alumni_embeddings}") String tableName,
+            @Value("${spring.ai.vectorstore.pgvector.dimensions:1536}") int dimensions,
+            @Value("${spring.ai.vectorstore.pgvector.initialize-schema:false}") boolean initializeSchema) {
+        return PgVectorStore.builder(jdbcTemplate, embeddingModel)
+                .vectorTableName(tableName)
+                .dimensions(dimensions)
+                .distanceType(PgVectorStore.PgDistanceType.COSINE_DISTANCE)
+                .indexType(PgVectorStore.PgIndexType.HNSW)
+                .initializeSchema(initializeSchema)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "search.semantic.store", havingValue = "memory")
+    public VectorStore inMemoryVectorStore(EmbeddingModel embeddingModel) {
+        return SimpleVectorStore.builder(embeddingModel).build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.opencode.alumxbackend.search.controller;
+
+import com.opencode.alumxbackend.search.dto.SearchLegStats;
+import com.opencode.alumxbackend.search.service.HybridUserSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/search")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.users.mode", havingValue = "hybrid")
+public class HybridSearchMetricsController {
+
+    private final HybridUserSearchService hybridSearchService;
+
+    @GetMapping("/metrics")
+    public ResponseEntity<List<SearchLegStats>> legMetrics() {
+        return ResponseEntity.ok(hybridSearchService.legStats());
+    }
+}
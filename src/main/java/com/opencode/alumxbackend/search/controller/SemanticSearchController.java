@@ -0,0 +1,26 @@
+package com.opencode.alumxbackend.search.controller;
+
+import com.opencode.alumxbackend.search.dto.SemanticUserMatch;
+import com.opencode.alumxbackend.search.service.SemanticSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.semantic.enabled", havingValue = "true")
+public class SemanticSearchController {
+
+    private final SemanticSearchService service;
+
+    @GetMapping("/semantic-search")
+    public ResponseEntity<List<SemanticUserMatch>> semanticSearch(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer k) {
+        return ResponseEntity.ok(service.search(query, k));
+    }
+}
@@ -1,7 +1,9 @@
 package com.opencode.alumxbackend.search.controller;
 
-import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import com.opencode.alumxbackend.search.dto.UserSearchResponse;
+import com.opencode.alumxbackend.search.dto.UserSuggestionResponse;
 import com.opencode.alumxbackend.search.service.UserSearchService;
+import com.opencode.alumxbackend.search.service.UserSuggestService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,9 +16,20 @@ import java.util.List;
 public class UserSearchController {
 
     private final UserSearchService service;
+    private final UserSuggestService suggestService;
 
     @GetMapping("/search")
-    public ResponseEntity<List<UserResponseDto>> searchUsers(@RequestParam("q") String query) {
-        return ResponseEntity.ok(service.search(query));
+    public ResponseEntity<UserSearchResponse> searchUsers(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.search(query, cursor, size));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<UserSuggestionResponse>> suggestUsers(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(suggestService.suggest(query, limit));
     }
 }
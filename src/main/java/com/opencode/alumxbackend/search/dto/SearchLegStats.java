@@ -0,0 +1,16 @@
+package com.opencode.alumxbackend.search.dto;
+
+/**
+ * Latency summary of one hybrid search leg since startup. Percentiles are approximate
+ * (power-of-two microsecond buckets, reported as the bucket's upper bound).
+ */
+public record SearchLegStats(
+        String leg,
+        long calls,
+        long timeouts,
+        long failures,
+        double avgMillis,
+        double p50Millis,
+        double p99Millis,
+        double maxMillis) {
+}
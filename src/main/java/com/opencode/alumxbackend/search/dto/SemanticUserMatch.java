@@ -0,0 +1,16 @@
+package com.opencode.alumxbackend.search.dto;
+
+import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A semantic search result; {@code score} is the cosine similarity reported by the vector store
+ * (higher is closer).
+ */
+@Getter
+@AllArgsConstructor
+public class SemanticUserMatch {
+    private final UserResponseDto user;
+    private final double score;
+}
@@ -0,0 +1,34 @@
+package com.opencode.alumxbackend.search.dto;
+
+import com.opencode.alumxbackend.common.exception.Errors.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a ranked user search: the (rank, id) of the last returned user.
+ * Sent to clients as an opaque URL-safe token.
+ */
+public record UserSearchCursor(int rank, long id) {
+
+    public static UserSearchCursor after(UserSearchHit hit) {
+        return new UserSearchCursor(hit.getRank(), hit.getUser().getId());
+    }
+
+    public String encode() {
+        String raw = rank + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new UserSearchCursor(
+                    Integer.parseInt(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid search cursor");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.opencode.alumxbackend.search.dto;
+
+import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One search match together with its relevance tier (lower is better), see {@link UserSearchRank}.
+ */
+@Getter
+@AllArgsConstructor
+public class UserSearchHit {
+    private final UserResponseDto user;
+    private final int rank;
+}
@@ -0,0 +1,17 @@
+package com.opencode.alumxbackend.search.dto;
+
+/**
+ * Relevance tiers for user search, best first. Results are ordered by (tier, user id),
+ * which is also the keyset used by {@link UserSearchCursor}.
+ */
+public final class UserSearchRank {
+
+    public static final int EXACT_USERNAME = 0;
+    public static final int NAME_PREFIX = 1;     // username or name starts with the query
+    public static final int NAME_CONTAINS = 2;   // username or name contains the query
+    public static final int COMPANY = 3;
+    public static final int BACKGROUND = 4;      // education, experience, internships
+
+    private UserSearchRank() {
+    }
+}
@@ -0,0 +1,20 @@
+package com.opencode.alumxbackend.search.dto;
+
+import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchResponse {
+    private List<UserResponseDto> users;
+    private String nextCursor;   // pass back as ?cursor= to get the next page, null on the last page
+    private boolean hasNext;
+    private int size;
+}
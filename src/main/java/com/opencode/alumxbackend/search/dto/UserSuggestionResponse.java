@@ -0,0 +1,17 @@
+package com.opencode.alumxbackend.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSuggestionResponse {
+    private Long id;
+    private String username;
+    private String name;
+    private String currentCompany;
+}
@@ -0,0 +1,168 @@
+package com.opencode.alumxbackend.search.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory token -> user id index for as-you-type suggestions.
+ *
+ * Tokens (username, name words, company words, skills) live in a sorted skip list, so a
+ * prefix lookup is a range scan starting at the prefix. Each token maps to a sorted
+ * {@code long[]} of user ids that is replaced copy-on-write, which keeps the postings
+ * compact (no boxing) and lets reads run without locks. Writes are rare (sign up, profile
+ * edit) and are serialized on the index.
+ */
+@Component
+public class UserPrefixIndex {
+
+    private final ConcurrentSkipListMap<String, long[]> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Searchable snapshot of one user.
+     */
+    public record Entry(long userId, String username, String name, String currentCompany, Set<String> tokens) {
+
+        public static Entry of(long userId, String username, String name, String currentCompany,
+                               Collection<String> skills) {
+            Set<String> tokens = new HashSet<>();
+            addTokens(tokens, username);
+            addTokens(tokens, name);
+            addTokens(tokens, currentCompany);
+            if (skills != null) {
+                skills.forEach(skill -> addTokens(tokens, skill));
+            }
+            return new Entry(userId, username, name, currentCompany, Set.copyOf(tokens));
+        }
+
+        private static void addTokens(Set<String> tokens, String text) {
+            if (text == null || text.isBlank()) {
+                return;
+            }
+            tokens.addAll(tokenize(text.toLowerCase(Locale.ROOT)));
+        }
+
+        boolean matchesAll(List<String> terms) {
+            return terms.stream().allMatch(term -> tokens.stream().anyMatch(token -> token.startsWith(term)));
+        }
+    }
+
+    public synchronized void put(Entry entry) {
+        Entry previous = entries.put(entry.userId(), entry);
+        Set<String> oldTokens = previous == null ? Set.of() : previous.tokens();
+
+        for (String token : oldTokens) {
+            if (!entry.tokens().contains(token)) {
+                removePosting(token, entry.userId());
+            }
+        }
+        for (String token : entry.tokens()) {
+            if (!oldTokens.contains(token)) {
+                addPosting(token, entry.userId());
+            }
+        }
+    }
+
+    /**
+     * Adds the user unless they are already indexed, so a bulk load cannot overwrite a newer
+     * entry written while it ran.
+     */
+    public synchronized void putIfAbsent(Entry entry) {
+        if (!entries.containsKey(entry.userId())) {
+            put(entry);
+        }
+    }
+
+    /**
+     * The first {@code limit} users in {@code order} among those having, for every term of
+     * the query, a token starting with that term. Every match is ranked, however many there
+     * are (one-letter queries); only the best {@code limit} are held while scanning.
+     */
+    public List<Entry> lookup(String query, int limit, Comparator<Entry> order) {
+        List<String> terms = tokenize(query.toLowerCase(Locale.ROOT));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        // drive the scan with the longest term, it has the narrowest token range
+        String driver = terms.stream().max((a, b) -> Integer.compare(a.length(), b.length())).orElseThrow();
+
+        Set<Long> seen = new HashSet<>();
+        // head is the worst match kept so far
+        PriorityQueue<Entry> best = new PriorityQueue<>(limit + 1, order.reversed());
+        for (long[] ids : postings.subMap(driver, true, driver + Character.MAX_VALUE, false).values()) {
+            for (long id : ids) {
+                if (!seen.add(id)) {
+                    continue;
+                }
+                Entry entry = entries.get(id);
+                if (entry != null && entry.matchesAll(terms)
+                        && (best.size() < limit || order.compare(entry, best.peek()) < 0)) {
+                    best.add(entry);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        List<Entry> result = new ArrayList<>(best);
+        result.sort(order);
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    static List<String> tokenize(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private void addPosting(String token, long userId) {
+        postings.compute(token, (key, ids) -> {
+            if (ids == null) {
+                return new long[]{userId};
+            }
+            int position = Arrays.binarySearch(ids, userId);
+            if (position >= 0) {
+                return ids;
+            }
+            int insertAt = -position - 1;
+            long[] copy = new long[ids.length + 1];
+            System.arraycopy(ids, 0, copy, 0, insertAt);
+            copy[insertAt] = userId;
+            System.arraycopy(ids, insertAt, copy, insertAt + 1, ids.length - insertAt);
+            return copy;
+        });
+    }
+
+    private void removePosting(String token, long userId) {
+        postings.computeIfPresent(token, (key, ids) -> {
+            int position = Arrays.binarySearch(ids, userId);
+            if (position < 0) {
+                return ids;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            long[] copy = new long[ids.length - 1];
+            System.arraycopy(ids, 0, copy, 0, position);
+            System.arraycopy(ids, position + 1, copy, position, ids.length - position - 1);
+            return copy;
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.opencode.alumxbackend.search.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records which version of a user's profile is currently in the vector store, so the
+ * ingestion job only re-embeds users whose {@code updatedAt} moved past it.
+ */
+@Entity
+@Table(name = "user_embedding_states")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserEmbeddingState {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // users.updated_at of the profile that was embedded
+    @Column(nullable = false)
+    private LocalDateTime profileUpdatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime embeddedAt;
+}
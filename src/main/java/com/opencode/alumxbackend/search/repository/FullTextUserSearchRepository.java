@@ -0,0 +1,124 @@
+package com.opencode.alumxbackend.search.repository;
+
+import com.opencode.alumxbackend.common.TextSearch;
+import com.opencode.alumxbackend.search.dto.UserSearchCursor;
+import com.opencode.alumxbackend.search.dto.UserSearchHit;
+import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import com.opencode.alumxbackend.users.model.UserRole;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PostgreSQL search engine backed by the {@code user_search_documents} side table.
+ *
+ * Whole words and word prefixes are answered by the GIN index on the {@code tsvector}
+ * column, partial names (typos, infixes) by the {@code pg_trgm} GIN index on the
+ * username + name text. The table is kept current by triggers, see
+ * {@link UserSearchSchemaInitializer}.
+ *
+ * Enabled with {@code search.users.engine=fulltext}.
+ */
+@Repository
+@ConditionalOnProperty(name = "search.users.engine", havingValue = "fulltext")
+public class FullTextUserSearchRepository implements UserSearchRepository {
+
+    // pg_trgm can only use the index for LIKE patterns with at least one full trigram
+    private static final int MIN_TRIGRAM_QUERY_LENGTH = 3;
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserSearchHit> searchUsers(String query, UserSearchCursor after, int limit) {
+        String tsQuery = TextSearch.toPrefixTsQuery(query, MAX_QUERY_TOKENS);
+        String text = query.toLowerCase(Locale.ROOT);
+        boolean useTrigram = text.length() >= MIN_TRIGRAM_QUERY_LENGTH;
+
+        if (tsQuery.isEmpty() && !useTrigram) {
+            return List.of();
+        }
+
+        StringBuilder match = new StringBuilder();
+        if (!tsQuery.isEmpty()) {
+            match.append("d.document @@ to_tsquery('simple', :tsq)");
+        }
+        if (useTrigram) {
+            if (!match.isEmpty()) {
+                match.append(" OR ");
+            }
+            match.append("d.display_text % :q OR d.display_text LIKE :contains");
+        }
+
+        // The index only narrows candidates; the tiers from UserSearchRank are computed on those rows
+        String sql = """
+                SELECT id, name, email, role, created_at, search_rank
+                FROM (
+                    SELECT u.id, u.name, u.email, u.role, u.created_at,
+                           CASE
+                               WHEN lower(u.username) = :q THEN 0
+                               WHEN lower(u.username) LIKE :prefix OR lower(u.name) LIKE :prefix THEN 1
+                               WHEN d.display_text LIKE :contains THEN 2
+                               WHEN lower(u.current_company) LIKE :contains THEN 3
+                               ELSE 4
+                           END AS search_rank
+                    FROM user_search_documents d
+                    JOIN users u ON u.id = d.user_id
+                    WHERE %s
+                ) ranked
+                %s
+                ORDER BY search_rank, id
+                """.formatted(match, after == null
+                ? ""
+                : "WHERE search_rank > :afterRank OR (search_rank = :afterRank AND id > :afterId)");
+
+        String escaped = escapeLike(text);
+        Query nativeQuery = entityManager.createNativeQuery(sql)
+                .setParameter("q", text)
+                .setParameter("prefix", escaped + "%")
+                .setParameter("contains", "%" + escaped + "%")
+                .setMaxResults(limit);
+        if (!tsQuery.isEmpty()) {
+            nativeQuery.setParameter("tsq", tsQuery);
+        }
+        if (after != null) {
+            nativeQuery.setParameter("afterRank", after.rank())
+                    .setParameter("afterId", after.id());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = nativeQuery.getResultList();
+        return rows.stream()
+                .map(row -> new UserSearchHit(toDto(row), ((Number) row[5]).intValue()))
+                .toList();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static UserResponseDto toDto(Object[] row) {
+        return UserResponseDto.builder()
+                .id(((Number) row[0]).longValue())
+                .name((String) row[1])
+                .email((String) row[2])
+                .role(row[3] == null ? null : UserRole.valueOf(row[3].toString()))
+                .createdAt(toLocalDateTime(row[4]))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
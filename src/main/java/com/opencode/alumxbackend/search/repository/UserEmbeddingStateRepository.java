@@ -0,0 +1,32 @@
+package com.opencode.alumxbackend.search.repository;
+
+import com.opencode.alumxbackend.search.model.UserEmbeddingState;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserEmbeddingStateRepository extends JpaRepository<UserEmbeddingState, Long> {
+
+    // users never embedded, or edited since their last embedding, oldest change first
+    @Query("""
+            SELECT u.id FROM User u
+            WHERE NOT EXISTS (
+                SELECT 1 FROM UserEmbeddingState s
+                WHERE s.userId = u.id AND s.profileUpdatedAt >= u.updatedAt
+            )
+            ORDER BY u.updatedAt, u.id
+            """)
+    List<Long> findUserIdsNeedingEmbedding(Pageable pageable);
+
+    // embedded users that were deleted since; their vectors are still in the store
+    @Query("""
+            SELECT s.userId FROM UserEmbeddingState s
+            WHERE NOT EXISTS (SELECT 1 FROM User u WHERE u.id = s.userId)
+            ORDER BY s.userId
+            """)
+    List<Long> findDeletedUserIds(Pageable pageable);
+}
@@ -1,8 +1,14 @@
 package com.opencode.alumxbackend.search.repository;
 
-import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import com.opencode.alumxbackend.search.dto.UserSearchCursor;
+import com.opencode.alumxbackend.search.dto.UserSearchHit;
 import java.util.List;
 
 public interface UserSearchRepository {
-    List<UserResponseDto> searchUsers(String query);
+
+    /**
+     * Returns at most {@code limit} matches ordered by (rank, user id), starting strictly
+     * after {@code after} when a cursor is given.
+     */
+    List<UserSearchHit> searchUsers(String query, UserSearchCursor after, int limit);
 }
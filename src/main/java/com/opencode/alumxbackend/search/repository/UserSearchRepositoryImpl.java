@@ -1,44 +1,85 @@
 package com.opencode.alumxbackend.search.repository;
 
+import com.opencode.alumxbackend.search.dto.UserSearchCursor;
+import com.opencode.alumxbackend.search.dto.UserSearchHit;
 import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import com.opencode.alumxbackend.users.model.UserRole;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
+/**
+ * Portable LIKE based search engine (works on H2 and PostgreSQL without extra schema).
+ * Default engine, selected with {@code search.users.engine=like}.
+ */
 @Repository
+@ConditionalOnProperty(name = "search.users.engine", havingValue = "like", matchIfMissing = true)
 public class UserSearchRepositoryImpl implements UserSearchRepository {
 
+    // tiers as defined in UserSearchRank
+    private static final String RANK = """
+            CASE
+                WHEN LOWER(u.username) = :q THEN 0
+                WHEN LOWER(u.username) LIKE :prefix ESCAPE '!' OR LOWER(u.name) LIKE :prefix ESCAPE '!' THEN 1
+                WHEN LOWER(u.username) LIKE :contains ESCAPE '!' OR LOWER(u.name) LIKE :contains ESCAPE '!' THEN 2
+                WHEN LOWER(u.currentCompany) LIKE :contains ESCAPE '!' THEN 3
+                ELSE 4
+            END""";
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
-    public List<UserResponseDto> searchUsers(String query) {
+    public List<UserSearchHit> searchUsers(String query, UserSearchCursor after, int limit) {
 
+        // EXISTS instead of LEFT JOIN + DISTINCT: one row per user, no fan-out per collection entry
         String jpql = """
-    SELECT DISTINCT new com.opencode.alumxbackend.users.dto.UserResponseDto(
-        u.id,
-        u.name,
-        u.email,
-        u.role,
-        u.createdAt
-    )
+    SELECT u.id, u.name, u.email, u.role, u.createdAt, %1$s
     FROM User u
-    LEFT JOIN u.education e
-    LEFT JOIN u.experience exp
-    LEFT JOIN u.internships i
-    WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :q, '%'))
-       OR LOWER(u.name) LIKE LOWER(CONCAT('%', :q, '%'))
-       OR LOWER(u.currentCompany) LIKE LOWER(CONCAT('%', :q, '%'))
-       OR LOWER(e) LIKE LOWER(CONCAT('%', :q, '%'))
-       OR LOWER(exp) LIKE LOWER(CONCAT('%', :q, '%'))
-       OR LOWER(i) LIKE LOWER(CONCAT('%', :q, '%'))
-""";
-
-
-        return entityManager.createQuery(jpql, UserResponseDto.class)
-                .setParameter("q", query)
-                .getResultList();
+    WHERE (LOWER(u.username) LIKE :contains ESCAPE '!'
+       OR LOWER(u.name) LIKE :contains ESCAPE '!'
+       OR LOWER(u.currentCompany) LIKE :contains ESCAPE '!'
+       OR EXISTS (SELECT 1 FROM User u2 JOIN u2.education e WHERE u2.id = u.id AND LOWER(e) LIKE :contains ESCAPE '!')
+       OR EXISTS (SELECT 1 FROM User u2 JOIN u2.experience exp WHERE u2.id = u.id AND LOWER(exp) LIKE :contains ESCAPE '!')
+       OR EXISTS (SELECT 1 FROM User u2 JOIN u2.internships i WHERE u2.id = u.id AND LOWER(i) LIKE :contains ESCAPE '!'))
+    %2$s
+    ORDER BY %1$s, u.id
+""".formatted(RANK, after == null ? "" : "AND (%1$s > :afterRank OR (%1$s = :afterRank AND u.id > :afterId))".formatted(RANK));
+
+        String q = query.toLowerCase(Locale.ROOT);
+        String escaped = escapeLike(q);
+
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(jpql, Object[].class)
+                .setParameter("q", q)
+                .setParameter("prefix", escaped + "%")
+                .setParameter("contains", "%" + escaped + "%")
+                .setMaxResults(limit);
+        if (after != null) {
+            typedQuery.setParameter("afterRank", after.rank())
+                    .setParameter("afterId", after.id());
+        }
+
+        return typedQuery.getResultList()
+                .stream()
+                .map(row -> new UserSearchHit(
+                        UserResponseDto.builder()
+                                .id((Long) row[0])
+                                .name((String) row[1])
+                                .email((String) row[2])
+                                .role((UserRole) row[3])
+                                .createdAt((LocalDateTime) row[4])
+                                .build(),
+                        ((Number) row[5]).intValue()))
+                .toList();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
     }
 }
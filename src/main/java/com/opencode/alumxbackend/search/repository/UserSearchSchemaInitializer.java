@@ -0,0 +1,115 @@
+package com.opencode.alumxbackend.search.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Creates and back-fills the {@code user_search_documents} side table used by
+ * {@link FullTextUserSearchRepository}.
+ *
+ * Hibernate only manages the entity tables ({@code ddl-auto=update}), so the GIN indexes,
+ * the refresh function and the triggers on {@code users} and the searched element
+ * collections are (re)created here on startup. Every statement is idempotent.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.users.engine", havingValue = "fulltext")
+public class UserSearchSchemaInitializer implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(UserSearchSchemaInitializer.class.getName());
+
+    private static final List<String> COLLECTION_TABLES = List.of(
+            "user_education", "user_experience", "user_internships");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS user_search_documents (
+                    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+                    display_text TEXT NOT NULL,
+                    document TSVECTOR NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE INDEX IF NOT EXISTS idx_user_search_document
+                    ON user_search_documents USING GIN (document)
+                """);
+        jdbcTemplate.execute("""
+                CREATE INDEX IF NOT EXISTS idx_user_search_display_trgm
+                    ON user_search_documents USING GIN (display_text gin_trgm_ops)
+                """);
+
+        // username/name weigh most, then company, then education/experience/internships
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION refresh_user_search_document(p_user_id BIGINT) RETURNS void AS $$
+                BEGIN
+                    INSERT INTO user_search_documents (user_id, display_text, document)
+                    SELECT u.id,
+                           lower(coalesce(u.username, '') || ' ' || coalesce(u.name, '')),
+                           setweight(to_tsvector('simple', coalesce(u.username, '') || ' ' || coalesce(u.name, '')), 'A')
+                           || setweight(to_tsvector('simple', coalesce(u.current_company, '')), 'B')
+                           || setweight(to_tsvector('simple', coalesce(
+                                  (SELECT string_agg(education, ' ') FROM user_education WHERE user_id = u.id), '')), 'C')
+                           || setweight(to_tsvector('simple', coalesce(
+                                  (SELECT string_agg(experience, ' ') FROM user_experience WHERE user_id = u.id), '')), 'C')
+                           || setweight(to_tsvector('simple', coalesce(
+                                  (SELECT string_agg(internship, ' ') FROM user_internships WHERE user_id = u.id), '')), 'C')
+                    FROM users u
+                    WHERE u.id = p_user_id
+                    ON CONFLICT (user_id) DO UPDATE
+                        SET display_text = EXCLUDED.display_text,
+                            document = EXCLUDED.document;
+                END;
+                $$ LANGUAGE plpgsql
+                """);
+
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION sync_user_search_document() RETURNS trigger AS $$
+                BEGIN
+                    IF TG_TABLE_NAME = 'users' THEN
+                        PERFORM refresh_user_search_document(NEW.id);
+                    ELSIF TG_OP = 'DELETE' THEN
+                        PERFORM refresh_user_search_document(OLD.user_id);
+                    ELSE
+                        PERFORM refresh_user_search_document(NEW.user_id);
+                    END IF;
+                    RETURN NULL;
+                END;
+                $$ LANGUAGE plpgsql
+                """);
+
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE TRIGGER trg_users_search_document
+                    AFTER INSERT OR UPDATE OF username, name, current_company ON users
+                    FOR EACH ROW EXECUTE FUNCTION sync_user_search_document()
+                """);
+        for (String table : COLLECTION_TABLES) {
+            jdbcTemplate.execute("""
+                    CREATE OR REPLACE TRIGGER trg_%1$s_search_document
+                        AFTER INSERT OR UPDATE OR DELETE ON %1$s
+                        FOR EACH ROW EXECUTE FUNCTION sync_user_search_document()
+                    """.formatted(table));
+        }
+
+        // Back-fill users created before the engine was switched on
+        Integer backfilled = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM (
+                    SELECT refresh_user_search_document(u.id)
+                    FROM users u
+                    WHERE NOT EXISTS (SELECT 1 FROM user_search_documents d WHERE d.user_id = u.id)
+                ) missing
+                """, Integer.class);
+        logger.info("User full-text search ready, back-filled " + backfilled + " documents");
+    }
+}
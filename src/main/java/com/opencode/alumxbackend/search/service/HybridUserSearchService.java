@@ -0,0 +1,196 @@
+package com.opencode.alumxbackend.search.service;
+
+import com.opencode.alumxbackend.search.dto.SearchLegStats;
+import com.opencode.alumxbackend.search.dto.SemanticUserMatch;
+import com.opencode.alumxbackend.search.dto.UserSearchHit;
+import com.opencode.alumxbackend.search.dto.UserSearchResponse;
+import com.opencode.alumxbackend.search.repository.UserSearchRepository;
+import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the lexical search ({@link UserSearchRepository}) and the k-NN lookup
+ * ({@link SemanticSearchService}) concurrently on virtual threads and merges both rankings
+ * with reciprocal rank fusion: {@code score(user) = sum over legs of 1 / (rrf-k + rank)}.
+ *
+ * Both legs share one deadline ({@code search.users.hybrid.timeout-ms}); a leg that has not
+ * answered by then is dropped and the page is built from the other one, so a slow embedding
+ * call degrades relevance instead of latency.
+ *
+ * Each leg returns at most {@code search.users.hybrid.candidates} users, and a search returns
+ * a single page: the best {@code size} of the fused list, never a cursor. Both legs run again
+ * on every request and may answer differently (a leg missing the deadline, a profile embedded
+ * in between), so an offset into a later fused list could repeat or skip users.
+ *
+ * Enabled with {@code search.users.mode=hybrid}; requires {@code search.semantic.enabled=true}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "search.users.mode", havingValue = "hybrid")
+public class HybridUserSearchService implements UserSearchService, DisposableBean {
+
+    static final String LEXICAL = "lexical";
+    static final String SEMANTIC = "semantic";
+
+    private final UserSearchRepository lexicalRepository;
+    private final SemanticSearchService semanticSearchService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int candidates;
+    private final int rrfK;
+    private final long timeoutNanos;
+
+    private final SearchLegMetrics lexicalMetrics = new SearchLegMetrics(LEXICAL);
+    private final SearchLegMetrics semanticMetrics = new SearchLegMetrics(SEMANTIC);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public HybridUserSearchService(
+            UserSearchRepository lexicalRepository,
+            SemanticSearchService semanticSearchService,
+            @Value("${search.users.default-page-size:20}") int defaultPageSize,
+            @Value("${search.users.max-page-size:50}") int maxPageSize,
+            @Value("${search.users.hybrid.candidates:50}") int candidates,
+            @Value("${search.users.hybrid.rrf-k:60}") int rrfK,
+            @Value("${search.users.hybrid.timeout-ms:300}") long timeoutMs) {
+        this.lexicalRepository = lexicalRepository;
+        this.semanticSearchService = semanticSearchService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.candidates = candidates;
+        this.rrfK = rrfK;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    @Override
+    public List<UserResponseDto> search(String query) {
+        return search(query, null, null).getUsers();
+    }
+
+    @Override
+    public UserSearchResponse search(String query, String cursor, Integer size) {
+        String trimmed = UserSearchQueries.normalize(query);
+        int pageSize = UserSearchQueries.pageSize(size, defaultPageSize, maxPageSize);
+        if (cursor != null && !cursor.isBlank()) {
+            // a cursor from another search mode: there is no page after the first one here
+            return UserSearchResponse.builder().users(List.of()).hasNext(false).size(0).build();
+        }
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        CompletableFuture<List<UserSearchHit>> lexical = submit(lexicalMetrics,
+                () -> lexicalRepository.searchUsers(trimmed, null, candidates));
+        CompletableFuture<List<SemanticUserMatch>> semantic = submit(semanticMetrics,
+                () -> semanticSearchService.search(trimmed, candidates));
+
+        List<UserResponseDto> fused = fuse(
+                await(lexical, lexicalMetrics, deadline).stream().map(UserSearchHit::getUser).toList(),
+                await(semantic, semanticMetrics, deadline).stream().map(SemanticUserMatch::getUser).toList());
+
+        List<UserResponseDto> page = fused.subList(0, Math.min(pageSize, fused.size()));
+
+        return UserSearchResponse.builder()
+                .users(page)
+                .hasNext(false)
+                .size(page.size())
+                .build();
+    }
+
+    /**
+     * Latency, timeout and failure counters of both legs since startup.
+     */
+    public List<SearchLegStats> legStats() {
+        return List.of(lexicalMetrics.snapshot(), semanticMetrics.snapshot());
+    }
+
+    /**
+     * Reciprocal rank fusion of the two rankings. Ties go to the user placed higher in either leg, then the lower id.
+     */
+    List<UserResponseDto> fuse(List<UserResponseDto> lexical, List<UserResponseDto> semantic) {
+        Map<Long, Candidate> byId = new LinkedHashMap<>();
+        for (int i = 0; i < lexical.size(); i++) {
+            byId.computeIfAbsent(lexical.get(i).getId(), id -> new Candidate()).add(lexical.get(i), i, rrfK);
+        }
+        for (int i = 0; i < semantic.size(); i++) {
+            byId.computeIfAbsent(semantic.get(i).getId(), id -> new Candidate()).add(semantic.get(i), i, rrfK);
+        }
+
+        List<Candidate> ranked = new ArrayList<>(byId.values());
+        ranked.sort(Comparator.comparingDouble(Candidate::score).reversed()
+                .thenComparingInt(Candidate::firstSeen)
+                .thenComparing(c -> c.user.getId()));
+        return ranked.stream().map(c -> c.user).toList();
+    }
+
+    private <T> CompletableFuture<List<T>> submit(SearchLegMetrics metrics, Supplier<List<T>> leg) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return leg.get();
+            } finally {
+                metrics.recordLatency(System.nanoTime() - start);
+            }
+        }, executor);
+    }
+
+    private <T> List<T> await(CompletableFuture<List<T>> future, SearchLegMetrics metrics, long deadline) {
+        try {
+            List<T> result = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return result == null ? List.of() : result;
+        } catch (TimeoutException e) {
+            metrics.recordTimeout();
+            future.cancel(true);
+            log.debug("Search leg '{}' missed the deadline and was dropped", metrics.leg());
+            return List.of();
+        } catch (ExecutionException e) {
+            metrics.recordFailure();
+            log.warn("Search leg '{}' failed: {}", metrics.leg(), e.getCause().getMessage());
+            return List.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static final class Candidate {
+        private UserResponseDto user;
+        private double score;
+        private int firstSeen = Integer.MAX_VALUE;
+
+        void add(UserResponseDto user, int index, int rrfK) {
+            if (this.user == null) {
+                this.user = user;
+            }
+            score += 1.0 / (rrfK + index + 1);
+            firstSeen = Math.min(firstSeen, index);
+        }
+
+        double score() {
+            return score;
+        }
+
+        int firstSeen() {
+            return firstSeen;
+        }
+    }
+}
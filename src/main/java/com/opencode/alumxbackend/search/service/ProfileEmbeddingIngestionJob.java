@@ -0,0 +1,211 @@
+package com.opencode.alumxbackend.search.service;
+
+import com.opencode.alumxbackend.search.model.UserEmbeddingState;
+import com.opencode.alumxbackend.search.repository.UserEmbeddingStateRepository;
+import com.opencode.alumxbackend.users.model.User;
+import com.opencode.alumxbackend.users.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Background pipeline that keeps the vector store in sync with user profiles.
+ *
+ * Each run picks users whose {@code updatedAt} is newer than the version recorded in
+ * {@link UserEmbeddingState}, embeds them in batches of {@code search.semantic.ingest.batch-size}
+ * (one embedding API call per batch) and waits {@code min-batch-interval-ms} between batches
+ * so a large backlog cannot exhaust the provider's rate limit. Unchanged profiles are never
+ * re-embedded. Vectors of deleted users are removed at the start of each run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.semantic.enabled", havingValue = "true")
+public class ProfileEmbeddingIngestionJob {
+
+    static final String USER_ID_METADATA = "userId";
+
+    private final UserRepository userRepository;
+    private final UserEmbeddingStateRepository stateRepository;
+    private final VectorStore vectorStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long minBatchIntervalMs;
+
+    public ProfileEmbeddingIngestionJob(
+            UserRepository userRepository,
+            UserEmbeddingStateRepository stateRepository,
+            VectorStore vectorStore,
+            PlatformTransactionManager transactionManager,
+            @Value("${search.semantic.ingest.batch-size:50}") int batchSize,
+            @Value("${search.semantic.ingest.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${search.semantic.ingest.min-batch-interval-ms:1000}") long minBatchIntervalMs) {
+        this.userRepository = userRepository;
+        this.stateRepository = stateRepository;
+        this.vectorStore = vectorStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.minBatchIntervalMs = minBatchIntervalMs;
+    }
+
+    @Scheduled(initialDelayString = "${search.semantic.ingest.initial-delay-ms:30000}",
+            fixedDelayString = "${search.semantic.ingest.interval-ms:60000}")
+    public void scheduledRun() {
+        try {
+            int embedded = ingestPending();
+            if (embedded > 0) {
+                log.info("Embedded {} user profiles", embedded);
+            }
+        } catch (RuntimeException e) {
+            // the same users are still stale, so the next run simply retries them
+            log.warn("Profile embedding run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Embeds up to {@code max-batches-per-run} batches of stale profiles.
+     *
+     * @return number of profiles written to the vector store
+     */
+    public synchronized int ingestPending() {
+        int removed = removeDeletedProfiles();
+        if (removed > 0) {
+            log.info("Removed {} embedded profiles of deleted users", removed);
+        }
+
+        int embedded = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (batch > 0 && !pause()) {
+                break;
+            }
+
+            // read in a short transaction; the embedding call itself must not hold a connection
+            List<ProfileSnapshot> snapshots = transactionTemplate.execute(status -> loadStaleProfiles());
+            if (snapshots == null || snapshots.isEmpty()) {
+                break;
+            }
+
+            vectorStore.add(snapshots.stream().map(ProfileSnapshot::toDocument).toList());
+
+            LocalDateTime now = LocalDateTime.now();
+            stateRepository.saveAll(snapshots.stream()
+                    .map(s -> new UserEmbeddingState(s.userId(), s.updatedAt(), now))
+                    .toList());
+
+            embedded += snapshots.size();
+            if (snapshots.size() < batchSize) {
+                break;
+            }
+        }
+        return embedded;
+    }
+
+    /**
+     * Deletes the vectors and embedding states of users deleted since they were embedded, in
+     * batches of {@code batch-size}.
+     *
+     * @return number of profiles removed from the vector store
+     */
+    private int removeDeletedProfiles() {
+        int removed = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = stateRepository.findDeletedUserIds(PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            vectorStore.delete(ids.stream().map(ProfileEmbeddingIngestionJob::documentId).toList());
+            stateRepository.deleteAllByIdInBatch(ids);
+            removed += ids.size();
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Stable vector store id for a user, so re-embedding overwrites the previous vector.
+     */
+    static String documentId(Long userId) {
+        return UUID.nameUUIDFromBytes(("user:" + userId).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private List<ProfileSnapshot> loadStaleProfiles() {
+        List<Long> ids = stateRepository.findUserIdsNeedingEmbedding(PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> users = userRepository.findAllWithSkillsByIdIn(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        // same transaction: these initialize the other collections of the instances above
+        userRepository.findAllWithTechStackByIdIn(ids);
+        userRepository.findAllWithExperienceByIdIn(ids);
+
+        List<ProfileSnapshot> snapshots = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            User user = users.get(id);
+            if (user != null) {
+                snapshots.add(new ProfileSnapshot(id, user.getUpdatedAt(), profileText(user)));
+            }
+        }
+        return snapshots;
+    }
+
+    static String profileText(User user) {
+        StringBuilder text = new StringBuilder(user.getName());
+        appendLine(text, "Role", user.getCurrentRole());
+        appendLine(text, "Company", user.getCurrentCompany());
+        appendLine(text, "About", user.getAbout());
+        appendList(text, "Skills", user.getSkills());
+        appendList(text, "Tech stack", user.getTechStack());
+        appendList(text, "Experience", user.getExperience());
+        return text.toString();
+    }
+
+    private static void appendLine(StringBuilder text, String label, String value) {
+        if (value != null && !value.isBlank()) {
+            text.append('\n').append(label).append(": ").append(value.trim());
+        }
+    }
+
+    private static void appendList(StringBuilder text, String label, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            appendLine(text, label, String.join(", ", values));
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(minBatchIntervalMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record ProfileSnapshot(Long userId, LocalDateTime updatedAt, String text) {
+
+        Document toDocument() {
+            return new Document(documentId(userId), text, Map.of(USER_ID_METADATA, userId));
+        }
+    }
+}
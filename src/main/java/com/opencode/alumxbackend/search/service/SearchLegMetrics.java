@@ -0,0 +1,86 @@
+package com.opencode.alumxbackend.search.service;
+
+import com.opencode.alumxbackend.search.dto.SearchLegStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency recorder for one leg of {@link HybridUserSearchService}.
+ *
+ * Latencies go into 64 power-of-two microsecond buckets, which is enough to tell a 5 ms
+ * leg from a 500 ms one without keeping samples.
+ */
+class SearchLegMetrics {
+
+    private final String leg;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+    SearchLegMetrics(String leg) {
+        this.leg = leg;
+    }
+
+    String leg() {
+        return leg;
+    }
+
+    void recordLatency(long nanos) {
+        calls.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        buckets.incrementAndGet(bucket(nanos));
+    }
+
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    void recordFailure() {
+        failures.increment();
+    }
+
+    SearchLegStats snapshot() {
+        long count = calls.sum();
+        return new SearchLegStats(
+                leg,
+                count,
+                timeouts.sum(),
+                failures.sum(),
+                count == 0 ? 0 : toMillis(totalNanos.sum() / count),
+                percentile(count, 0.50),
+                percentile(count, 0.99),
+                toMillis(maxNanos.get()));
+    }
+
+    private double percentile(long count, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(count * quantile);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                // bucket i holds latencies below 2^i microseconds
+                return (1L << i) / 1000.0;
+            }
+        }
+        return toMillis(maxNanos.get());
+    }
+
+    private static int bucket(long nanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+        return Math.min(63, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
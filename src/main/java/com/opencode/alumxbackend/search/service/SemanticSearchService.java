@@ -0,0 +1,13 @@
+package com.opencode.alumxbackend.search.service;
+
+import com.opencode.alumxbackend.search.dto.SemanticUserMatch;
+
+import java.util.List;
+
+public interface SemanticSearchService {
+
+    /**
+     * Returns the {@code k} users whose embedded profile is closest to the query, best first.
+     */
+    List<SemanticUserMatch> search(String query, Integer k);
+}
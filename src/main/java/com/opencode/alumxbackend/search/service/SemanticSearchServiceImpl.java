@@ -0,0 +1,85 @@
+package com.opencode.alumxbackend.search.service;
+
+import com.opencode.alumxbackend.common.exception.Errors.BadRequestException;
+import com.opencode.alumxbackend.search.dto.SemanticUserMatch;
+import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import com.opencode.alumxbackend.users.model.User;
+import com.opencode.alumxbackend.users.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.semantic.enabled", havingValue = "true")
+public class SemanticSearchServiceImpl implements SemanticSearchService {
+
+    private static final int MAX_QUERY_LENGTH = 500;
+    private static final int DEFAULT_K = 10;
+    private static final int MAX_K = 50;
+
+    private final VectorStore vectorStore;
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SemanticUserMatch> search(String query, Integer k) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new BadRequestException("Search query cannot be empty");
+        }
+        String trimmed = query.trim();
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (k != null && k < 1) {
+            throw new BadRequestException("k must be greater than zero");
+        }
+
+        List<Document> documents = vectorStore.similaritySearch(SearchRequest.builder()
+                .query(trimmed)
+                .topK(Math.min(k == null ? DEFAULT_K : k, MAX_K))
+                .build());
+        if (documents == null || documents.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = documents.stream().map(SemanticSearchServiceImpl::userId).toList();
+        Map<Long, User> users = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // keep the vector store's order; users deleted since they were embedded are skipped
+        List<SemanticUserMatch> matches = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            User user = users.get(userId(document));
+            if (user != null) {
+                double score = document.getScore() == null ? 0 : document.getScore();
+                matches.add(new SemanticUserMatch(toDto(user), score));
+            }
+        }
+        return matches;
+    }
+
+    private static Long userId(Document document) {
+        return ((Number) document.getMetadata().get(ProfileEmbeddingIngestionJob.USER_ID_METADATA)).longValue();
+    }
+
+    private static UserResponseDto toDto(User user) {
+        return UserResponseDto.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
+}
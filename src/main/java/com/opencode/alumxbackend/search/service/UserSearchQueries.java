@@ -0,0 +1,32 @@
+package com.opencode.alumxbackend.search.service;
+
+import com.opencode.alumxbackend.common.exception.Errors.BadRequestException;
+
+/**
+ * Request validation shared by the {@link UserSearchService} implementations.
+ */
+final class UserSearchQueries {
+
+    static final int MAX_QUERY_LENGTH = 100;
+
+    private UserSearchQueries() {
+    }
+
+    static String normalize(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new BadRequestException("Search query cannot be empty");
+        }
+        String trimmed = query.trim();
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        return trimmed;
+    }
+
+    static int pageSize(Integer size, int defaultPageSize, int maxPageSize) {
+        if (size != null && size < 1) {
+            throw new BadRequestException("Page size must be greater than zero");
+        }
+        return Math.min(size == null ? defaultPageSize : size, maxPageSize);
+    }
+}
@@ -1,8 +1,19 @@
 package com.opencode.alumxbackend.search.service;
 
+import com.opencode.alumxbackend.search.dto.UserSearchResponse;
 import com.opencode.alumxbackend.users.dto.UserResponseDto;
 import java.util.List;
 
 public interface UserSearchService {
+
+    /**
+     * First page of ranked results (at most the default page size).
+     */
     List<UserResponseDto> search(String query);
+
+    /**
+     * One keyset page of ranked results. {@code cursor} is the {@code nextCursor} of the
+     * previous page (null for the first page); {@code size} is capped by the configured maximum.
+     */
+    UserSearchResponse search(String query, String cursor, Integer size);
 }
@@ -1,23 +1,57 @@
 package com.opencode.alumxbackend.search.service;
 
+import com.opencode.alumxbackend.search.dto.UserSearchCursor;
+import com.opencode.alumxbackend.search.dto.UserSearchHit;
+import com.opencode.alumxbackend.search.dto.UserSearchResponse;
 import com.opencode.alumxbackend.users.dto.UserResponseDto;
 import com.opencode.alumxbackend.search.repository.UserSearchRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+/**
+ * Lexical search only (the default {@code search.users.mode}); see {@link HybridUserSearchService}.
+ */
 @Service
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.users.mode", havingValue = "lexical", matchIfMissing = true)
 public class UserSearchServiceImpl implements UserSearchService {
 
     private final UserSearchRepository repository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public UserSearchServiceImpl(
+            UserSearchRepository repository,
+            @Value("${search.users.default-page-size:20}") int defaultPageSize,
+            @Value("${search.users.max-page-size:50}") int maxPageSize) {
+        this.repository = repository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
 
     @Override
     public List<UserResponseDto> search(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            throw new IllegalArgumentException("Search query cannot be empty");
-        }
-        return repository.searchUsers(query.trim());
+        return search(query, null, null).getUsers();
+    }
+
+    @Override
+    public UserSearchResponse search(String query, String cursor, Integer size) {
+        String trimmed = UserSearchQueries.normalize(query);
+        int pageSize = UserSearchQueries.pageSize(size, defaultPageSize, maxPageSize);
+        UserSearchCursor after = cursor == null || cursor.isBlank() ? null : UserSearchCursor.decode(cursor);
+
+        // fetch one extra row to know whether another page exists, without a count query
+        List<UserSearchHit> hits = repository.searchUsers(trimmed, after, pageSize + 1);
+        boolean hasNext = hits.size() > pageSize;
+        List<UserSearchHit> page = hasNext ? hits.subList(0, pageSize) : hits;
+
+        return UserSearchResponse.builder()
+                .users(page.stream().map(UserSearchHit::getUser).toList())
+                .nextCursor(hasNext ? UserSearchCursor.after(page.get(page.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .size(page.size())
+                .build();
     }
 }
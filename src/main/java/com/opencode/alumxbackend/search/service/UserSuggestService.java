@@ -0,0 +1,13 @@
+package com.opencode.alumxbackend.search.service;
+
+import com.opencode.alumxbackend.search.dto.UserSuggestionResponse;
+
+import java.util.List;
+
+public interface UserSuggestService {
+
+    /**
+     * Typeahead suggestions served from the in-memory prefix index, best match first.
+     */
+    List<UserSuggestionResponse> suggest(String query, Integer limit);
+}
@@ -0,0 +1,108 @@
+package com.opencode.alumxbackend.search.service;
+
+import com.opencode.alumxbackend.common.exception.Errors.BadRequestException;
+import com.opencode.alumxbackend.search.dto.UserSuggestionResponse;
+import com.opencode.alumxbackend.search.index.UserPrefixIndex;
+import com.opencode.alumxbackend.users.event.UserProfileChangedEvent;
+import com.opencode.alumxbackend.users.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserSuggestServiceImpl implements UserSuggestService, SmartInitializingSingleton {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 20;
+
+    private final UserPrefixIndex index;
+    private final UserRepository userRepository;
+
+    // Built before the web server starts, so the first suggestions do not come from an empty
+    // index; users already put by a profile change are newer than these rows and kept
+    @Override
+    @Transactional(readOnly = true)
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+
+        Map<Long, List<String>> skillsByUser = new HashMap<>();
+        for (Object[] row : userRepository.findAllUserSkills()) {
+            skillsByUser.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        for (Object[] row : userRepository.findAllSearchFields()) {
+            Long userId = (Long) row[0];
+            index.putIfAbsent(UserPrefixIndex.Entry.of(
+                    userId, (String) row[1], (String) row[2], (String) row[3],
+                    skillsByUser.getOrDefault(userId, List.of())));
+        }
+
+        log.info("Typeahead index warmed with {} users in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    // after commit, so a rolled back sign up or profile edit never shows up in suggestions
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        index.put(UserPrefixIndex.Entry.of(
+                event.getUserId(), event.getUsername(), event.getName(),
+                event.getCurrentCompany(), event.getSkills()));
+    }
+
+    @Override
+    public List<UserSuggestionResponse> suggest(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Suggestion query cannot be empty");
+        }
+        if (limit != null && limit < 1) {
+            throw new BadRequestException("Limit must be greater than zero");
+        }
+        int max = Math.min(limit == null ? DEFAULT_LIMIT : limit, MAX_LIMIT);
+        String q = query.trim().toLowerCase(Locale.ROOT);
+
+        Comparator<UserPrefixIndex.Entry> order = Comparator
+                .comparingInt((UserPrefixIndex.Entry entry) -> score(entry, q))
+                .thenComparing(UserPrefixIndex.Entry::username, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparingLong(UserPrefixIndex.Entry::userId);
+
+        return index.lookup(q, max, order)
+                .stream()
+                .map(entry -> UserSuggestionResponse.builder()
+                        .id(entry.userId())
+                        .username(entry.username())
+                        .name(entry.name())
+                        .currentCompany(entry.currentCompany())
+                        .build())
+                .toList();
+    }
+
+    // same tiers as the full search: exact username, name prefix, company, everything else
+    private int score(UserPrefixIndex.Entry entry, String q) {
+        String username = lower(entry.username());
+        String name = lower(entry.name());
+        if (username.equals(q)) {
+            return 0;
+        }
+        if (username.startsWith(q) || name.startsWith(q)) {
+            return 1;
+        }
+        if (lower(entry.currentCompany()).startsWith(q)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
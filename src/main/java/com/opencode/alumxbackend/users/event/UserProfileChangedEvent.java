@@ -0,0 +1,32 @@
+package com.opencode.alumxbackend.users.event;
+
+import com.opencode.alumxbackend.users.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published whenever a user is created or their profile is updated.
+ *
+ * Carries a detached copy of the searchable fields so listeners running after the
+ * transaction commits never touch lazy collections of the entity.
+ */
+@Getter
+@AllArgsConstructor
+public class UserProfileChangedEvent {
+    private final Long userId;
+    private final String username;
+    private final String name;
+    private final String currentCompany;
+    private final List<String> skills;
+
+    public static UserProfileChangedEvent of(User user) {
+        return new UserProfileChangedEvent(
+                user.getId(),
+                user.getUsername(),
+                user.getName(),
+                user.getCurrentCompany(),
+                user.getSkills() == null ? List.of() : List.copyOf(user.getSkills()));
+    }
+}
@@ -2,8 +2,14 @@ package com.opencode.alumxbackend.users.repository;
 
 import com.opencode.alumxbackend.users.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -16,6 +22,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
+
+    // Login by email or username in one query; can match two users (one's email being the
+    // other's username), callers prefer the email match
+    @Query("SELECT u FROM User u WHERE u.email = :login OR u.username = :login")
+    List<User> findByEmailOrUsername(@Param("login") String login);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.id = :id")
+    int updatePasswordHash(@Param("id") Long id, @Param("passwordHash") String passwordHash);
     Optional<User> findById(Long userId);
     
     boolean existsById(Long userId);
@@ -24,4 +40,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     long countByIdIn(Set<Long> ids);
 
+    // id, username, name, currentCompany - used to warm the typeahead index
+    @Query("SELECT u.id, u.username, u.name, u.currentCompany FROM User u")
+    List<Object[]> findAllSearchFields();
+
+    // (user id, skill) pairs for all users in one query instead of one lazy load per user
+    @Query("SELECT u.id, s FROM User u JOIN u.skills s")
+    List<Object[]> findAllUserSkills();
+
+    // Profile collections of a batch of users, one fetch join per collection (several bags
+    // cannot be fetched in one query). Run in one transaction, they fill the same instances,
+    // so reading a batch of profiles costs three queries instead of three lazy loads per user
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.skills WHERE u.id IN :ids")
+    List<User> findAllWithSkillsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.techStack WHERE u.id IN :ids")
+    List<User> findAllWithTechStackByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.experience WHERE u.id IN :ids")
+    List<User> findAllWithExperienceByIdIn(@Param("ids") Collection<Long> ids);
+
 }
@@ -2,14 +2,16 @@ package com.opencode.alumxbackend.users.service;
 
 import java.util.List;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.opencode.alumxbackend.auth.security.PasswordHasher;
 import com.opencode.alumxbackend.common.exception.Errors.BadRequestException;
 import com.opencode.alumxbackend.users.dto.UserProfileResponse;
 import com.opencode.alumxbackend.users.dto.UserProfileUpdateRequest;
 import com.opencode.alumxbackend.users.dto.UserRequest;
 import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import com.opencode.alumxbackend.users.event.UserProfileChangedEvent;
 import com.opencode.alumxbackend.users.model.User;
 import com.opencode.alumxbackend.users.model.UserRole;
 import com.opencode.alumxbackend.users.repository.UserRepository;
@@ -23,7 +25,8 @@ import lombok.RequiredArgsConstructor;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public User createUser(UserRequest request) {
@@ -59,12 +62,14 @@ public class UserServiceImpl implements UserService {
                 .username(request.getUsername())
                 .name(request.getName())
                 .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHasher.encode(request.getPassword()))
                 .role(role)
                 .profileCompleted(true) // default for dev
                 .build();
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(savedUser));
+        return savedUser;
     }
 
     @Override
@@ -215,6 +220,7 @@ public class UserServiceImpl implements UserService {
             user.setHobbies(request.getHobbies());
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(updatedUser));
         return mapToProfileDTO(updatedUser);
     }
 }
@@ -2,6 +2,8 @@ package com.opencode.alumxbackend.auth;
 
 import com.opencode.alumxbackend.auth.dto.LoginRequest;
 import com.opencode.alumxbackend.auth.dto.LoginResponse;
+import com.opencode.alumxbackend.auth.dto.RefreshTokenRequest;
+import com.opencode.alumxbackend.auth.repository.RefreshTokenRepository;
 import com.opencode.alumxbackend.jobposts.repository.CommentRepository;
 import com.opencode.alumxbackend.notifications.repository.NotificationRepository;
 import com.opencode.alumxbackend.users.model.User;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -39,6 +42,9 @@ class AuthControllerTest {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -55,6 +61,7 @@ class AuthControllerTest {
         // Clean up dependent entities first to avoid foreign key constraint violations
         commentRepository.deleteAll();
         notificationRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         userRepository.deleteAll(); // this line is used to clean teh database
 
         testUser = User.builder()
@@ -219,4 +226,108 @@ class AuthControllerTest {
         assertThat(response.getAccessToken()).isNotNull();
         assertThat(response.getAccessToken()).isNotEmpty();
     }
+
+    @Test
+    @DisplayName("Login should rehash a password stored before the encoder prefix")
+    void loginWithLegacyHash_shouldRehash() {
+        // Plain bcrypt as the old BCryptPasswordEncoder stored it, with a lower strength
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+        userRepository.updatePasswordHash(testUser.getId(), legacyHash);
+
+        LoginResponse response = webClient.post()
+                .uri("/api/auth/login")
+                .bodyValue(new LoginRequest("test@example.com", "password123"))
+                .retrieve()
+                .bodyToMono(LoginResponse.class)
+                .block();
+
+        assertThat(response).isNotNull();
+        String storedHash = userRepository.findById(testUser.getId()).orElseThrow().getPasswordHash();
+        assertThat(storedHash).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("password123", storedHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(storedHash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Refresh should issue new tokens and spend the old refresh token")
+    void refresh_shouldRotateTokens() {
+        LoginResponse login = login();
+        assertThat(login.getRefreshToken()).isNotBlank();
+
+        LoginResponse refreshed = refresh(login.getRefreshToken());
+
+        assertThat(refreshed.getAccessToken()).isNotEqualTo(login.getAccessToken());
+        assertThat(refreshed.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+        assertThat(refreshed.getUser().getId()).isEqualTo(testUser.getId());
+        assertThat(getProfile(refreshed.getAccessToken())).isNotNull();
+        // Only the hash is stored
+        assertThat(refreshTokenRepository.findAll())
+                .extracting(token -> token.getTokenHash())
+                .doesNotContain(login.getRefreshToken(), refreshed.getRefreshToken());
+    }
+
+    @Test
+    @DisplayName("Reusing a spent refresh token should fail and revoke its successor")
+    void refreshReuse_shouldRevokeFamily() {
+        LoginResponse login = login();
+        LoginResponse refreshed = refresh(login.getRefreshToken());
+
+        WebClientResponseException reuse = assertThrows(WebClientResponseException.class,
+                () -> refresh(login.getRefreshToken()));
+        assertThat(reuse.getStatusCode().value()).isEqualTo(401);
+
+        WebClientResponseException successor = assertThrows(WebClientResponseException.class,
+                () -> refresh(refreshed.getRefreshToken()));
+        assertThat(successor.getStatusCode().value()).isEqualTo(401);
+    }
+
+    @Test
+    @DisplayName("Logout should revoke the access token and the refresh token")
+    void logout_shouldRevokeTokens() {
+        LoginResponse login = login();
+        assertThat(getProfile(login.getAccessToken())).isNotNull();
+
+        webClient.post()
+                .uri("/api/auth/logout")
+                .header("Authorization", "Bearer " + login.getAccessToken())
+                .bodyValue(new RefreshTokenRequest(login.getRefreshToken()))
+                .retrieve()
+                .toBodilessEntity()
+                .block();
+
+        WebClientResponseException access = assertThrows(WebClientResponseException.class,
+                () -> getProfile(login.getAccessToken()));
+        assertThat(access.getStatusCode().value()).isIn(401, 403);
+
+        WebClientResponseException refresh = assertThrows(WebClientResponseException.class,
+                () -> refresh(login.getRefreshToken()));
+        assertThat(refresh.getStatusCode().value()).isEqualTo(401);
+    }
+
+    private LoginResponse login() {
+        return webClient.post()
+                .uri("/api/auth/login")
+                .bodyValue(new LoginRequest("test@example.com", "password123"))
+                .retrieve()
+                .bodyToMono(LoginResponse.class)
+                .block();
+    }
+
+    private LoginResponse refresh(String refreshToken) {
+        return webClient.post()
+                .uri("/api/auth/refresh")
+                .bodyValue(new RefreshTokenRequest(refreshToken))
+                .retrieve()
+                .bodyToMono(LoginResponse.class)
+                .block();
+    }
+
+    private String getProfile(String accessToken) {
+        return webClient.get()
+                .uri("/api/users/" + testUser.getId() + "/profile")
+                .header("Authorization", "Bearer " + accessToken)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+    }
 }
@@ -0,0 +1,131 @@
+package com.opencode.alumxbackend.auth.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "testSecretKeyForTestingPurposesOnlyMustBeAtLeast32Characters";
+
+    @Test
+    @DisplayName("parseClaims - should read every claim of a valid token")
+    void parseClaims_ReadsAllClaims() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3600000, 100);
+        String token = provider.generateToken(7L, "alice@test.com", "alice", "STUDENT");
+
+        Optional<JwtClaims> claims = provider.parseClaims(token);
+
+        assertThat(claims).isPresent();
+        assertThat(claims.get().userId()).isEqualTo(7L);
+        assertThat(claims.get().email()).isEqualTo("alice@test.com");
+        assertThat(claims.get().username()).isEqualTo("alice");
+        assertThat(claims.get().role()).isEqualTo("STUDENT");
+        assertThat(claims.get().expiresAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("parseClaims - should answer a repeated token from the verified cache")
+    void parseClaims_CachesVerifiedToken() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3600000, 100);
+        String token = provider.generateToken(7L, "alice@test.com", "alice", "STUDENT");
+
+        JwtClaims first = provider.parseClaims(token).orElseThrow();
+
+        assertThat(provider.parseClaims(token)).containsSame(first);
+    }
+
+    @Test
+    @DisplayName("parseClaims - should keep the verified cache within its bound")
+    void parseClaims_CacheIsBounded() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3600000, 10);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tokens.add(provider.generateToken((long) i, "user" + i + "@test.com", "user" + i, "STUDENT"));
+        }
+
+        tokens.forEach(provider::parseClaims);
+
+        assertThat(provider.cachedTokenCount()).isLessThanOrEqualTo(10);
+        // Evicted tokens are verified again, not rejected
+        assertThat(tokens).allMatch(token -> provider.parseClaims(token).isPresent());
+    }
+
+    @Test
+    @DisplayName("parseClaims - should verify concurrently without losing or mixing up claims")
+    void parseClaims_Concurrent() throws Exception {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3600000, 16);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            tokens.add(provider.generateToken((long) i, "user" + i + "@test.com", "user" + i, "STUDENT"));
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    for (int round = 0; round < 20; round++) {
+                        for (int i = 0; i < tokens.size(); i++) {
+                            Long userId = provider.parseClaims(tokens.get(i)).map(JwtClaims::userId).orElse(null);
+                            if (userId == null || userId != i) {
+                                return false;
+                            }
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        }
+        assertThat(provider.cachedTokenCount()).isLessThanOrEqualTo(16 + 8);
+    }
+
+    @Test
+    @DisplayName("parseClaims - should reject tampered tokens and tokens signed with another key")
+    void parseClaims_RejectsInvalidTokens() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3600000, 100);
+        JwtTokenProvider other = new JwtTokenProvider(SECRET.replace('t', 'x'), 3600000, 100);
+        String token = provider.generateToken(7L, "alice@test.com", "alice", "STUDENT");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(provider.parseClaims(tampered)).isEmpty();
+        assertThat(provider.parseClaims(other.generateToken(7L, "alice@test.com", "alice", "ADMIN"))).isEmpty();
+        assertThat(provider.parseClaims("not-a-jwt")).isEmpty();
+        assertThat(provider.parseClaims(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("parseClaims - should stop accepting a cached token once it expires")
+    void parseClaims_CachedTokenExpires() throws InterruptedException {
+        // JWT expiry has second precision; 1.5s leaves at least half a second of validity
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 1500, 100);
+        String token = provider.generateToken(7L, "alice@test.com", "alice", "STUDENT");
+
+        assertThat(provider.parseClaims(token)).isPresent();
+        Thread.sleep(1600);
+
+        assertThat(provider.parseClaims(token)).isEmpty();
+        assertThat(provider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    @DisplayName("parseClaims - should keep verifying every time with the cache disabled")
+    void parseClaims_CacheDisabled() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3600000, 0);
+        String token = provider.generateToken(7L, "alice@test.com", "alice", "STUDENT");
+
+        JwtClaims first = provider.parseClaims(token).orElseThrow();
+
+        assertThat(provider.parseClaims(token)).get().isNotSameAs(first).isEqualTo(first);
+    }
+}
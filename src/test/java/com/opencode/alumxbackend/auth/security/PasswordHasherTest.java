@@ -0,0 +1,81 @@
+package com.opencode.alumxbackend.auth.security;
+
+import com.opencode.alumxbackend.auth.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("encode/matches - should hash and verify on the pool")
+    void encodeAndMatches() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 2, 10, 5000);
+
+        String hash = hasher.encode("secret");
+
+        assertThat(hasher.matches("secret", hash)).isTrue();
+        assertThat(hasher.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("needsRehash - should flag hashes below the configured strength")
+    void needsRehash_LowerStrength() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(6), 1, 10, 5000);
+
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(hasher.needsRehash(hasher.encode("secret"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("matches - should refuse work beyond the pool and its queue")
+    void matches_RefusesWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        when(slow.matches(any(), any())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+        hasher = new PasswordHasher(slow, 1, 1, 5000);
+
+        // one running, one queued
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> hasher.matches("a", "x"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> hasher.matches("b", "x"));
+        Thread.sleep(200);
+
+        assertThatThrownBy(() -> hasher.matches("c", "x")).isInstanceOf(PasswordHashingBusyException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("matches - should give up after the timeout")
+    void matches_TimesOut() {
+        CountDownLatch never = new CountDownLatch(1);
+        PasswordEncoder stuck = mock(PasswordEncoder.class);
+        when(stuck.matches(any(), any())).thenAnswer(invocation -> never.await(5, TimeUnit.SECONDS));
+        hasher = new PasswordHasher(stuck, 1, 1, 100);
+
+        assertThatThrownBy(() -> hasher.matches("a", "x")).isInstanceOf(PasswordHashingBusyException.class);
+    }
+}
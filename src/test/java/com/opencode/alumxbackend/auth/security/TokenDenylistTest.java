@@ -0,0 +1,68 @@
+package com.opencode.alumxbackend.auth.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+    @Test
+    @DisplayName("isRevoked - should report revoked ids and only those")
+    void isRevoked_OnlyRevokedIds() {
+        TokenDenylist denylist = new TokenDenylist(100, 0.01);
+        denylist.revoke("revoked-jti", Instant.now().plusSeconds(60));
+
+        assertThat(denylist.isRevoked("revoked-jti")).isTrue();
+        assertThat(denylist.isRevoked("other-jti")).isFalse();
+        assertThat(denylist.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("revoke - should ignore tokens that have already expired")
+    void revoke_IgnoresExpiredToken() {
+        TokenDenylist denylist = new TokenDenylist(100, 0.01);
+        denylist.revoke("expired-jti", Instant.now().minusSeconds(1));
+
+        assertThat(denylist.isRevoked("expired-jti")).isFalse();
+        assertThat(denylist.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("purgeExpired - should drop expired entries and keep live ones")
+    void purgeExpired_DropsExpiredEntries() throws InterruptedException {
+        TokenDenylist denylist = new TokenDenylist(100, 0.01);
+        denylist.revoke("short-jti", Instant.now().plusMillis(50));
+        denylist.revoke("long-jti", Instant.now().plusSeconds(60));
+
+        Thread.sleep(100);
+        denylist.purgeExpired();
+
+        assertThat(denylist.size()).isEqualTo(1);
+        assertThat(denylist.isRevoked("short-jti")).isFalse();
+        assertThat(denylist.isRevoked("long-jti")).isTrue();
+    }
+
+    @Test
+    @DisplayName("BloomFilter - should never miss an added key and rarely match others")
+    void bloomFilter_FalsePositiveRate() {
+        TokenDenylist.BloomFilter bloom = new TokenDenylist.BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            bloom.add("jti-" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(bloom.mightContain("jti-" + i)).isTrue();
+        }
+        long falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (bloom.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
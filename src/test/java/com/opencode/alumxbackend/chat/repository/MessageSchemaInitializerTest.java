@@ -0,0 +1,39 @@
+package com.opencode.alumxbackend.chat.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MessageSchemaInitializerTest {
+
+    @Autowired
+    private MessageSchemaInitializer initializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int indexCount(String name) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE UPPER(INDEX_NAME) = UPPER(?)",
+                Integer.class, name);
+    }
+
+    @Test
+    @DisplayName("run - should drop the old chat_id index and keep the composite one")
+    void run_DropsOldIndex() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_chat_id ON messages (chat_id)");
+
+        initializer.run(null);
+        initializer.run(null);
+
+        assertThat(indexCount("idx_chat_id")).isZero();
+        assertThat(indexCount("idx_messages_chat_id_message_id")).isEqualTo(1);
+    }
+}
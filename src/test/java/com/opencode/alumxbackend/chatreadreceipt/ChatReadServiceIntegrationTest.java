@@ -0,0 +1,287 @@
+package com.opencode.alumxbackend.chatreadreceipt;
+
+import com.opencode.alumxbackend.chat.model.Chat;
+import com.opencode.alumxbackend.chat.model.Message;
+import com.opencode.alumxbackend.chat.repository.ChatRepository;
+import com.opencode.alumxbackend.chat.repository.MessageRepository;
+import com.opencode.alumxbackend.chatreadreceipt.dto.ChatReadResponse;
+import com.opencode.alumxbackend.chatreadreceipt.dto.UnreadCountResponse;
+import com.opencode.alumxbackend.chatreadreceipt.model.ChatReadState;
+import com.opencode.alumxbackend.chatreadreceipt.repository.ChatReadStateRepository;
+import com.opencode.alumxbackend.chatreadreceipt.service.ChatReadService;
+import com.opencode.alumxbackend.chatreadreceipt.service.ChatReadStateWriter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChatReadServiceIntegrationTest {
+
+    private static final long ALICE = 1001L;
+    private static final long BOB = 1002L;
+    private static final long CAROL = 1003L;
+    private static final long DAVE = 1004L;
+
+    @Autowired
+    private ChatReadService chatReadService;
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ChatReadStateRepository chatReadStateRepository;
+
+    @Autowired
+    private ChatReadStateWriter chatReadStateWriter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        chatReadStateWriter.flush();
+        chatReadStateRepository.deleteAll();
+        messageRepository.deleteAll();
+        chatRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("getAllUnreadCounts - should count messages from others past the read position")
+    void getAllUnreadCounts_CountsPerChat() {
+        Chat withBob = createChat(ALICE, BOB);
+        Chat withCarol = createChat(ALICE, CAROL);
+        Chat quiet = createChat(DAVE, ALICE);
+        Chat notAlices = createChat(BOB, CAROL);
+
+        Message firstFromBob = send(withBob, BOB);
+        send(withBob, ALICE);
+        send(withBob, BOB);
+        send(withBob, BOB);
+        chatReadService.updateLastRead(withBob.getChatID(), ALICE, firstFromBob.getMessageID());
+
+        send(withCarol, CAROL);
+        send(withCarol, CAROL);
+        send(quiet, ALICE);
+        send(notAlices, BOB);
+
+        List<UnreadCountResponse> counts = chatReadService.getAllUnreadCounts(ALICE);
+
+        assertThat(counts)
+                .extracting(UnreadCountResponse::getChatId, UnreadCountResponse::getUserId, UnreadCountResponse::getUnreadCount)
+                .containsExactly(
+                        tuple(withBob.getChatID(), ALICE, 2L),
+                        tuple(withCarol.getChatID(), ALICE, 2L),
+                        tuple(quiet.getChatID(), ALICE, 0L));
+        // Same numbers as the per-chat endpoint
+        assertThat(counts).allSatisfy(count -> assertThat(count.getUnreadCount())
+                .isEqualTo(chatReadService.getUnreadCount(count.getChatId(), ALICE).getUnreadCount()));
+    }
+
+    @Test
+    @DisplayName("getAllUnreadCounts - should answer with one query however many chats the user has")
+    void getAllUnreadCounts_SingleQuery() {
+        for (long other = 2000; other < 2020; other++) {
+            send(createChat(ALICE, other), other);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            assertThat(chatReadService.getAllUnreadCounts(ALICE)).hasSize(20);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @DisplayName("unread counter - should grow with sends and drop to what is left on read")
+    void unreadCounter_FollowsSendsAndReads() {
+        Chat chat = createChat(ALICE, BOB);
+        Message first = send(chat, BOB);
+        chatReadService.updateLastRead(chat.getChatID(), ALICE, first.getMessageID());
+
+        Message second = sendCounted(chat, BOB, ALICE);
+        sendCounted(chat, BOB, ALICE);
+        sendCounted(chat, ALICE, BOB);
+
+        assertThat(chatReadService.getUnreadCount(chat.getChatID(), ALICE).getUnreadCount()).isEqualTo(2L);
+        assertThat(chatReadService.getAllUnreadCounts(ALICE))
+                .extracting(UnreadCountResponse::getUnreadCount)
+                .containsExactly(2L);
+
+        chatReadService.updateLastRead(chat.getChatID(), ALICE, second.getMessageID());
+
+        assertThat(chatReadService.getUnreadCount(chat.getChatID(), ALICE).getUnreadCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("updateLastRead - should keep one read state under concurrent first reads")
+    void updateLastRead_ConcurrentFirstReads() throws Exception {
+        Chat chat = createChat(ALICE, BOB);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ids.add(send(chat, BOB).getMessageID());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(ids.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ChatReadResponse>> reads = new ArrayList<>();
+            for (Long id : ids) {
+                reads.add(pool.submit(() -> {
+                    start.await();
+                    return chatReadService.updateLastRead(chat.getChatID(), ALICE, id);
+                }));
+            }
+            start.countDown();
+            for (Future<ChatReadResponse> read : reads) {
+                read.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(chatReadStateRepository.findAll())
+                .singleElement()
+                .satisfies(state -> {
+                    assertThat(state.getLastReadMessageId()).isEqualTo(ids.getLast());
+                    assertThat(state.getUnreadCount()).isZero();
+                });
+    }
+
+    @Test
+    @DisplayName("incrementUnreadCount - should not count a message already read")
+    void incrementUnreadCount_IgnoresReadMessages() {
+        Chat chat = createChat(ALICE, BOB);
+        Message first = send(chat, BOB);
+        chatReadService.updateLastRead(chat.getChatID(), ALICE, first.getMessageID());
+        Message second = send(chat, BOB);
+
+        // Read from the broadcast before the sender's increment ran
+        chatReadService.updateLastRead(chat.getChatID(), ALICE, second.getMessageID());
+        chatReadService.incrementUnreadCount(chat.getChatID(), ALICE, second.getMessageID());
+
+        assertThat(chatReadService.getUnreadCount(chat.getChatID(), ALICE).getUnreadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("reconcileUnreadCounts - should create missing read states and repair drifted counters")
+    void reconcileUnreadCounts_CreatesAndRepairs() {
+        Chat chat = createChat(ALICE, BOB);
+        send(chat, BOB);
+        send(chat, BOB);
+
+        chatReadService.reconcileUnreadCounts();
+
+        assertThat(chatReadStateRepository.findByChatIdAndUserId(chat.getChatID(), ALICE))
+                .hasValueSatisfying(state -> assertThat(state.getUnreadCount()).isEqualTo(2L));
+        assertThat(chatReadStateRepository.findByChatIdAndUserId(chat.getChatID(), BOB))
+                .hasValueSatisfying(state -> assertThat(state.getUnreadCount()).isZero());
+
+        ChatReadState drifted = chatReadStateRepository.findByChatIdAndUserId(chat.getChatID(), ALICE).orElseThrow();
+        drifted.setUnreadCount(99L);
+        chatReadStateRepository.save(drifted);
+
+        chatReadService.reconcileUnreadCounts();
+
+        assertThat(chatReadService.getUnreadCount(chat.getChatID(), ALICE).getUnreadCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("recordRead - should store only the highest of the coalesced positions on flush")
+    void recordRead_CoalescesUntilFlush() {
+        Chat chat = createChat(ALICE, BOB);
+        Message first = send(chat, BOB);
+        Message second = send(chat, BOB);
+        send(chat, BOB);
+
+        chatReadService.recordRead(chat.getChatID(), ALICE, second.getMessageID());
+        chatReadService.recordRead(chat.getChatID(), ALICE, first.getMessageID());
+
+        assertThat(chatReadStateWriter.pendingCount()).isEqualTo(1);
+        assertThat(chatReadStateRepository.findByChatIdAndUserId(chat.getChatID(), ALICE)).isEmpty();
+        assertThat(chatReadService.getLastReadMessage(chat.getChatID(), ALICE).getLastReadMessageId())
+                .isEqualTo(second.getMessageID());
+
+        chatReadStateWriter.flush();
+
+        assertThat(chatReadStateWriter.pendingCount()).isZero();
+        assertThat(chatReadStateRepository.findByChatIdAndUserId(chat.getChatID(), ALICE))
+                .hasValueSatisfying(state -> {
+                    assertThat(state.getLastReadMessageId()).isEqualTo(second.getMessageID());
+                    assertThat(state.getUnreadCount()).isEqualTo(1L);
+                });
+    }
+
+    @Test
+    @DisplayName("recordRead - should never move a stored position backwards")
+    void recordRead_IsMonotonic() {
+        Chat chat = createChat(ALICE, BOB);
+        Message first = send(chat, BOB);
+        Message second = send(chat, BOB);
+        Message third = send(chat, BOB);
+        chatReadService.updateLastRead(chat.getChatID(), ALICE, second.getMessageID());
+
+        assertThat(chatReadService.recordRead(chat.getChatID(), ALICE, first.getMessageID()).getLastReadMessageId())
+                .isEqualTo(second.getMessageID());
+        chatReadStateWriter.flush();
+
+        assertThat(chatReadStateRepository.findByChatIdAndUserId(chat.getChatID(), ALICE))
+                .hasValueSatisfying(state -> {
+                    assertThat(state.getLastReadMessageId()).isEqualTo(second.getMessageID());
+                    assertThat(state.getUnreadCount()).isEqualTo(1L);
+                });
+
+        chatReadService.recordRead(chat.getChatID(), ALICE, third.getMessageID());
+        chatReadStateWriter.flush();
+
+        assertThat(chatReadService.getUnreadCount(chat.getChatID(), ALICE).getUnreadCount()).isZero();
+    }
+
+    private Chat createChat(long user1Id, long user2Id) {
+        return chatRepository.save(Chat.builder()
+                .user1Id(user1Id)
+                .user2Id(user2Id)
+                .user1Username("user" + user1Id)
+                .user2Username("user" + user2Id)
+                .build());
+    }
+
+    // A send as ChatService makes it: stored, then counted for the receiver
+    private Message sendCounted(Chat chat, long senderId, long receiverId) {
+        Message message = send(chat, senderId);
+        chatReadService.incrementUnreadCount(chat.getChatID(), receiverId, message.getMessageID());
+        return message;
+    }
+
+    private Message send(Chat chat, long senderId) {
+        return messageRepository.save(Message.builder()
+                .chat(chat)
+                .senderId(senderId)
+                .senderUsername("user" + senderId)
+                .content("hello")
+                .build());
+    }
+}
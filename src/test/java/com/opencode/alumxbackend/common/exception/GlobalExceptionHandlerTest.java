@@ -0,0 +1,174 @@
+package com.opencode.alumxbackend.common.exception;
+
+import com.opencode.alumxbackend.auth.dto.LoginRequest;
+import com.opencode.alumxbackend.auth.dto.LoginResponse;
+import com.opencode.alumxbackend.groupchat.dto.GroupChatRequest;
+import com.opencode.alumxbackend.groupchat.dto.GroupChatResponse;
+import com.opencode.alumxbackend.groupchat.repository.GroupChatRepository;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import com.opencode.alumxbackend.users.model.User;
+import com.opencode.alumxbackend.users.model.UserRole;
+import com.opencode.alumxbackend.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Status codes of the module exceptions declaring them with {@code @ResponseStatus} and of
+ * Spring's request binding errors, which used to fall through to the catch-all 500.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class GlobalExceptionHandlerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GroupChatRepository groupChatRepository;
+
+    @Autowired
+    private GroupMessageRepository groupMessageRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private WebClient webClient;
+    private User member;
+    private Long groupId;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        webClient = WebClient.create("http://localhost:" + port);
+
+        groupMessageRepository.deleteAll();
+        groupChatRepository.deleteAll();
+        userRepository.deleteAll();
+
+        member = userRepository.save(User.builder()
+                .username("statusUser")
+                .name("Status User")
+                .email("status@test.com")
+                .passwordHash(passwordEncoder.encode("password123"))
+                .role(UserRole.STUDENT)
+                .profileCompleted(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        User other = userRepository.save(User.builder()
+                .username("statusOther")
+                .name("Status Other")
+                .email("status-other@test.com")
+                .passwordHash("unused")
+                .role(UserRole.ALUMNI)
+                .profileCompleted(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        accessToken = webClient.post()
+                .uri("/api/auth/login")
+                .bodyValue(new LoginRequest("status@test.com", "password123"))
+                .retrieve()
+                .bodyToMono(LoginResponse.class)
+                .block()
+                .getAccessToken();
+
+        groupId = webClient.post()
+                .uri("/api/group-chats")
+                .header("Authorization", "Bearer " + accessToken)
+                .bodyValue(GroupChatRequest.builder()
+                        .name("Status Group")
+                        .ownerId(member.getId())
+                        .participants(List.of(
+                                new GroupChatRequest.ParticipantRequest(member.getId(), member.getUsername()),
+                                new GroupChatRequest.ParticipantRequest(other.getId(), other.getUsername())))
+                        .build())
+                .retrieve()
+                .bodyToMono(GroupChatResponse.class)
+                .block()
+                .getGroupId();
+    }
+
+    private ErrorResponse get(String uri) {
+        return exchange(webClient.get().uri(uri).header("Authorization", "Bearer " + accessToken));
+    }
+
+    private static ErrorResponse exchange(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(response -> response.bodyToMono(ErrorResponse.class)
+                        .filter(body -> body.getStatus() == response.statusCode().value())
+                        .switchIfEmpty(Mono.error(new AssertionError(
+                                "Body status differs from response status " + response.statusCode()))))
+                .block();
+    }
+
+    @Test
+    @DisplayName("InvalidCredentialsException - should answer 401")
+    void invalidCredentials_Returns401() {
+        ErrorResponse error = exchange(webClient.post()
+                .uri("/api/auth/login")
+                .bodyValue(new LoginRequest("status@test.com", "wrong-password")));
+
+        assertThat(error.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    @DisplayName("GroupNotFoundException - should answer 404")
+    void groupNotFound_Returns404() {
+        ErrorResponse error = get("/api/groups/999999/messages/history?userId=" + member.getId());
+
+        assertThat(error.getStatus()).isEqualTo(404);
+        assertThat(error.getMessage()).contains("999999");
+    }
+
+    @Test
+    @DisplayName("UserNotMemberException - should answer 403")
+    void userNotMember_Returns403() {
+        assertThat(get("/api/groups/" + groupId + "/messages/history?userId=999999").getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    @DisplayName("InvalidRequestException - should answer 400")
+    void invalidRequest_Returns400() {
+        ErrorResponse error = get("/api/groups/" + groupId + "/messages/history?userId=" + member.getId()
+                + "&before=10&after=1");
+
+        assertThat(error.getStatus()).isEqualTo(400);
+        assertThat(error.getMessage()).isEqualTo("Use either before or after, not both");
+    }
+
+    @Test
+    @DisplayName("InvalidMessageException - should answer 400")
+    void invalidMessage_Returns400() {
+        ErrorResponse error = exchange(webClient.delete()
+                .uri("/api/groups/" + groupId + "/messages/999999?userId=" + member.getId())
+                .header("Authorization", "Bearer " + accessToken));
+
+        assertThat(error.getStatus()).isEqualTo(400);
+        assertThat(error.getMessage()).isEqualTo("Message not found");
+    }
+
+    @Test
+    @DisplayName("Missing request header or parameter - should answer 400")
+    void missingHeaderOrParameter_Returns400() {
+        assertThat(get("/api/groups/" + groupId + "/messages/user").getStatus()).isEqualTo(400);
+        assertThat(get("/api/groups/" + groupId + "/messages/history").getStatus()).isEqualTo(400);
+    }
+}
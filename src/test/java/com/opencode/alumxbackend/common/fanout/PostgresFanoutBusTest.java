@@ -0,0 +1,98 @@
+package com.opencode.alumxbackend.common.fanout;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Receive side of the bus without a database: notifications are fed to {@code accept} the
+ * way the listener thread does.
+ */
+@ExtendWith(MockitoExtension.class)
+class PostgresFanoutBusTest {
+
+    private static final String KIND = "group-message";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private FanoutResolver resolver;
+
+    private PostgresFanoutBus bus;
+
+    @BeforeEach
+    void setUp() {
+        when(resolver.kind()).thenReturn(KIND);
+        bus = new PostgresFanoutBus(dataSource, jdbcTemplate, messagingTemplate, List.of(resolver), 20, 500, 3, 100);
+    }
+
+    @Test
+    @DisplayName("deliverPending - should fetch a batch once and broadcast every message")
+    void deliverPending_FetchesBatchOnce() {
+        bus.accept("other-node:" + KIND + ":1");
+        bus.accept("other-node:" + KIND + ":2");
+        bus.accept("other-node:" + KIND + ":2");
+        when(resolver.resolve(List.of(1L, 2L))).thenReturn(List.of(
+                new FanoutDelivery(1L, "/topic/group/7", "first"),
+                new FanoutDelivery(2L, "/topic/group/7", "second")));
+
+        bus.deliverPending();
+
+        verify(resolver, times(1)).resolve(any());
+        verify(messagingTemplate).convertAndSend("/topic/group/7", (Object) "first");
+        verify(messagingTemplate).convertAndSend("/topic/group/7", (Object) "second");
+        assertThat(bus.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("accept - should ignore notifications published by this instance")
+    void accept_IgnoresOwnNotifications() {
+        bus.accept(bus.nodeId() + ":" + KIND + ":1");
+        bus.accept("garbage");
+
+        bus.deliverPending();
+
+        verify(resolver, never()).resolve(any());
+        assertThat(bus.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("deliverPending - should retry messages that are not visible yet, then drop them")
+    void deliverPending_RetriesThenDrops() {
+        bus.accept("other-node:" + KIND + ":5");
+        when(resolver.resolve(List.of(5L))).thenReturn(List.of());
+
+        bus.deliverPending();
+        bus.deliverPending();
+        assertThat(bus.pendingCount()).isEqualTo(1);
+
+        bus.deliverPending();
+
+        verify(resolver, times(3)).resolve(List.of(5L));
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        assertThat(bus.pendingCount()).isZero();
+    }
+}
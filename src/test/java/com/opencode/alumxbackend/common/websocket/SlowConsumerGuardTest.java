@@ -0,0 +1,107 @@
+package com.opencode.alumxbackend.common.websocket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SlowConsumerGuardTest {
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    private static Message<byte[]> outbound(String sessionId, SimpMessageType type) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static WebSocketSession connect(SlowConsumerGuard guard, String sessionId) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        guard.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(session);
+        return session;
+    }
+
+    @Test
+    @DisplayName("preSend - should drop messages for a session over its queue limit only")
+    void preSend_DropsOverLimit() {
+        SlowConsumerGuard guard = new SlowConsumerGuard(2, "drop");
+
+        assertThat(guard.preSend(outbound("slow", SimpMessageType.MESSAGE), channel)).isNotNull();
+        assertThat(guard.preSend(outbound("slow", SimpMessageType.MESSAGE), channel)).isNotNull();
+        assertThat(guard.preSend(outbound("slow", SimpMessageType.MESSAGE), channel)).isNull();
+        assertThat(guard.preSend(outbound("fast", SimpMessageType.MESSAGE), channel)).isNotNull();
+
+        WebSocketTransportStats stats = guard.stats();
+        assertThat(stats.droppedMessages()).isEqualTo(1);
+        assertThat(stats.queuedMessages()).isEqualTo(3);
+        assertThat(stats.evictedSessions()).isZero();
+    }
+
+    @Test
+    @DisplayName("afterMessageHandled - should free queue slots once messages are written")
+    void afterMessageHandled_FreesSlots() {
+        SlowConsumerGuard guard = new SlowConsumerGuard(1, "drop");
+        Message<byte[]> first = outbound("s1", SimpMessageType.MESSAGE);
+
+        assertThat(guard.preSend(first, channel)).isNotNull();
+        guard.afterMessageHandled(first, channel, null, null);
+
+        assertThat(guard.preSend(outbound("s1", SimpMessageType.MESSAGE), channel)).isNotNull();
+        assertThat(guard.stats().droppedMessages()).isZero();
+    }
+
+    @Test
+    @DisplayName("preSend - should never drop connect acknowledgements")
+    void preSend_KeepsControlFrames() {
+        SlowConsumerGuard guard = new SlowConsumerGuard(1, "drop");
+
+        guard.preSend(outbound("s1", SimpMessageType.MESSAGE), channel);
+
+        assertThat(guard.preSend(outbound("s1", SimpMessageType.CONNECT_ACK), channel)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("preSend - should close a slow session under the evict policy")
+    void preSend_EvictsSlowSession() throws Exception {
+        SlowConsumerGuard guard = new SlowConsumerGuard(1, "evict");
+        WebSocketSession slow = connect(guard, "slow");
+        WebSocketSession fast = connect(guard, "fast");
+
+        guard.preSend(outbound("slow", SimpMessageType.MESSAGE), channel);
+        assertThat(guard.preSend(outbound("slow", SimpMessageType.MESSAGE), channel)).isNull();
+        // Further messages for an evicted session are dropped without another close
+        assertThat(guard.preSend(outbound("slow", SimpMessageType.MESSAGE), channel)).isNull();
+
+        verify(slow, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(fast, never()).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(guard.stats().evictedSessions()).isEqualTo(1);
+        assertThat(guard.stats().droppedMessages()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("afterConnectionClosed - should count sessions Spring closed for exceeding send limits")
+    void afterConnectionClosed_CountsSendLimitClosures() throws Exception {
+        SlowConsumerGuard guard = new SlowConsumerGuard(10, "evict");
+        WebSocketHandler handler = guard.decorate(mock(WebSocketHandler.class));
+        WebSocketSession session = connect(guard, "s1");
+
+        handler.afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+
+        assertThat(guard.stats().sendLimitEvictions()).isEqualTo(1);
+        assertThat(guard.stats().openSessions()).isZero();
+    }
+}
@@ -0,0 +1,202 @@
+package com.opencode.alumxbackend.common.websocket;
+
+import com.opencode.alumxbackend.auth.security.JwtTokenProvider;
+import com.opencode.alumxbackend.groupchat.model.GroupChat;
+import com.opencode.alumxbackend.groupchat.model.Participant;
+import com.opencode.alumxbackend.groupchat.model.ParticipantRole;
+import com.opencode.alumxbackend.groupchat.repository.GroupChatRepository;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import com.opencode.alumxbackend.users.model.User;
+import com.opencode.alumxbackend.users.model.UserRole;
+import com.opencode.alumxbackend.users.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the broker relay mode against {@link InProcessStompBroker}: broadcasts leave the
+ * application through the relay's system session and come back through the broker.
+ */
+// Own database: this context's create-drop would otherwise reset the shared testdb under other cached contexts
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:broker-relay-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL",
+        "websocket.broker.mode=relay",
+        "websocket.broker.relay.embedded=true"
+})
+@ActiveProfiles("test")
+class StompBrokerRelayIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private StompBrokerRelayMessageHandler relayHandler;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GroupChatRepository groupChatRepository;
+
+    @Autowired
+    private GroupMessageRepository messageRepository;
+
+    private WebSocketStompClient stompClient;
+    private User member;
+    private String groupOneTopic;
+    private String groupTwoTopic;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        // The relay's system session connects asynchronously; clients are refused until it has
+        for (int attempt = 0; attempt < 50 && !relayHandler.isBrokerAvailable(); attempt++) {
+            Thread.sleep(100);
+        }
+
+        stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new JacksonJsonMessageConverter());
+
+        messageRepository.deleteAll();
+        groupChatRepository.deleteAll();
+        userRepository.deleteAll();
+
+        member = userRepository.save(User.builder()
+                .username("relay")
+                .name("relay")
+                .email("relay@test.com")
+                .passwordHash("hashed_password")
+                .role(UserRole.STUDENT)
+                .profileCompleted(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        groupOneTopic = "/topic/group/" + createGroup("Relay 1").getGroupId();
+        groupTwoTopic = "/topic/group/" + createGroup("Relay 2").getGroupId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stompClient.stop();
+    }
+
+    private GroupChat createGroup(String name) {
+        GroupChat group = new GroupChat();
+        group.setGroupName(name);
+        group.setOwnerId(member.getId());
+        group.setCreatedAt(LocalDateTime.now());
+        Participant participant = new Participant();
+        participant.setUserId(member.getId());
+        participant.setUsername(member.getUsername());
+        participant.setRole(ParticipantRole.ADMIN);
+        participant.setGroupChat(group);
+        group.setParticipants(List.of(participant));
+        return groupChatRepository.save(group);
+    }
+
+    private StompSession connect() throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + jwtTokenProvider.generateToken(
+                member.getId(), member.getEmail(), member.getUsername(), member.getRole().name()));
+        return stompClient.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(),
+                        connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    private BlockingQueue<Map<String, Object>> subscribe(StompSession session, String destination) {
+        BlockingQueue<Map<String, Object>> received = new LinkedBlockingQueue<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((Map<String, Object>) payload);
+            }
+        });
+        return received;
+    }
+
+    // The subscription travels client -> relay -> broker asynchronously; resend until it is live
+    private Map<String, Object> broadcastUntilReceived(String destination, Object payload,
+                                                       BlockingQueue<Map<String, Object>> received) throws InterruptedException {
+        for (int attempt = 0; attempt < 25; attempt++) {
+            messagingTemplate.convertAndSend(destination, payload);
+            Map<String, Object> message = received.poll(200, TimeUnit.MILLISECONDS);
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    @DisplayName("relay - should deliver server broadcasts to every subscriber through the broker")
+    void relay_DeliversBroadcastToAllSubscribers() throws Exception {
+        StompSession first = connect();
+        StompSession second = connect();
+        BlockingQueue<Map<String, Object>> firstReceived = subscribe(first, groupOneTopic);
+        BlockingQueue<Map<String, Object>> secondReceived = subscribe(second, groupOneTopic);
+
+        Map<String, Object> message = broadcastUntilReceived(
+                groupOneTopic, Map.of("content", "hello relay"), firstReceived);
+
+        assertThat(message).containsEntry("content", "hello relay");
+        // The second SUBSCRIBE may still be in flight (it is authorized separately)
+        assertThat(broadcastUntilReceived(groupOneTopic, Map.of("content", "hello relay"), secondReceived))
+                .containsEntry("content", "hello relay");
+
+        first.disconnect();
+        second.disconnect();
+    }
+
+    @Test
+    @DisplayName("relay - should keep topics isolated")
+    void relay_KeepsTopicsIsolated() throws Exception {
+        StompSession session = connect();
+        BlockingQueue<Map<String, Object>> groupOne = subscribe(session, groupOneTopic);
+        BlockingQueue<Map<String, Object>> groupTwo = subscribe(session, groupTwoTopic);
+
+        assertThat(broadcastUntilReceived(groupTwoTopic, Map.of("content", "only two"), groupTwo))
+                .containsEntry("content", "only two");
+        assertThat(groupOne.poll(300, TimeUnit.MILLISECONDS)).isNull();
+
+        session.disconnect();
+    }
+}
@@ -0,0 +1,154 @@
+package com.opencode.alumxbackend.groupchat.cache;
+
+import com.opencode.alumxbackend.groupchat.repository.GroupChatRepository;
+import com.opencode.alumxbackend.groupchat.repository.ParticipantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupMembershipCacheTest {
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    @Mock
+    private GroupChatRepository groupChatRepository;
+
+    private GroupMembershipCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GroupMembershipCache(participantRepository, groupChatRepository, 10, 60_000);
+    }
+
+    private static List<Object[]> rows(long... userIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id : userIds) {
+            rows.add(new Object[]{id, "user" + id});
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("get - should load members once and answer later lookups from memory")
+    void get_CachesMembers() {
+        when(participantRepository.findMembersByGroupId(1L)).thenReturn(rows(10, 20));
+
+        GroupMembers members = cache.get(1L).orElseThrow();
+        cache.get(1L);
+
+        assertThat(members.contains(10)).isTrue();
+        assertThat(members.contains(30)).isFalse();
+        assertThat(members.username(20)).isEqualTo("user20");
+        verify(participantRepository, times(1)).findMembersByGroupId(1L);
+    }
+
+    @Test
+    @DisplayName("get - should return empty for an unknown group without caching it")
+    void get_UnknownGroup_ReturnsEmpty() {
+        when(participantRepository.findMembersByGroupId(5L)).thenReturn(List.of());
+        when(groupChatRepository.existsById(5L)).thenReturn(false);
+
+        assertThat(cache.get(5L)).isEmpty();
+        assertThat(cache.get(5L)).isEmpty();
+        verify(participantRepository, times(2)).findMembersByGroupId(5L);
+    }
+
+    @Test
+    @DisplayName("invalidate - should reload the group on the next lookup")
+    void invalidate_ReloadsMembers() {
+        when(participantRepository.findMembersByGroupId(1L)).thenReturn(rows(10), rows(10, 20));
+
+        assertThat(cache.get(1L).orElseThrow().contains(20)).isFalse();
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L).orElseThrow().contains(20)).isTrue();
+    }
+
+    @Test
+    @DisplayName("invalidate - should only drop the invalidated group")
+    void invalidate_OtherGroupsKept() {
+        when(participantRepository.findMembersByGroupId(1L)).thenReturn(rows(1));
+        when(participantRepository.findMembersByGroupId(2L)).thenReturn(rows(2));
+
+        cache.get(1L);
+        cache.get(2L);
+        cache.invalidate(1L);
+        cache.get(1L);
+        cache.get(2L);
+
+        verify(participantRepository, times(2)).findMembersByGroupId(1L);
+        verify(participantRepository, times(1)).findMembersByGroupId(2L);
+    }
+
+    @Test
+    @DisplayName("invalidate - should not let a load that read the old members be cached")
+    void invalidate_DuringLoad_LoadNotCached() {
+        when(participantRepository.findMembersByGroupId(1L)).thenAnswer(invocation -> {
+            cache.invalidate(1L);
+            return rows(10, 20);
+        }).thenReturn(rows(10));
+
+        assertThat(cache.get(1L).orElseThrow().contains(20)).isTrue();
+        assertThat(cache.get(1L).orElseThrow().contains(20)).isFalse();
+        assertThat(cache.get(1L).orElseThrow().contains(20)).isFalse();
+        verify(participantRepository, times(2)).findMembersByGroupId(1L);
+    }
+
+    @Test
+    @DisplayName("get - should reload expired groups and keep the member list if it did not change")
+    void get_Expired_Reloads() {
+        cache = new GroupMembershipCache(participantRepository, groupChatRepository, 10, 0);
+        when(participantRepository.findMembersByGroupId(1L)).thenReturn(rows(10, 20), rows(20, 10), rows(10));
+
+        GroupMembers first = cache.get(1L).orElseThrow();
+        GroupMembers unchanged = cache.get(1L).orElseThrow();
+        GroupMembers changed = cache.get(1L).orElseThrow();
+
+        assertThat(unchanged).isSameAs(first);
+        assertThat(changed.contains(20)).isFalse();
+        verify(participantRepository, times(3)).findMembersByGroupId(1L);
+    }
+
+    @Test
+    @DisplayName("get - should stay bounded by the configured number of groups")
+    void get_Bounded() {
+        when(participantRepository.findMembersByGroupId(anyLong())).thenReturn(rows(1));
+
+        for (long groupId = 1; groupId <= 50; groupId++) {
+            cache.get(groupId);
+        }
+
+        assertThat(cache.cachedGroupCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("GroupMembers - should find every member of a large group")
+    void groupMembers_LargeGroup() {
+        long[] ids = new long[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1 + i * 7919L;
+        }
+
+        GroupMembers members = GroupMembers.of(rows(ids));
+
+        for (long id : ids) {
+            assertThat(members.contains(id)).isTrue();
+        }
+        assertThat(members.contains(2)).isFalse();
+        assertThat(members.size()).isEqualTo(1000);
+    }
+}
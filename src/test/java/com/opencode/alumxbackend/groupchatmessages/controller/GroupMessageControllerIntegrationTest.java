@@ -1,7 +1,11 @@
 package com.opencode.alumxbackend.groupchatmessages.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +18,7 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import com.opencode.alumxbackend.common.RestResponsePage;
 
 import com.opencode.alumxbackend.auth.dto.LoginRequest;
@@ -21,8 +26,12 @@ import com.opencode.alumxbackend.auth.dto.LoginResponse;
 import com.opencode.alumxbackend.groupchat.dto.GroupChatRequest;
 import com.opencode.alumxbackend.groupchat.dto.GroupChatResponse;
 import com.opencode.alumxbackend.groupchat.repository.GroupChatRepository;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageHistoryResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageRankedSearchResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchHit;
 import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
 import com.opencode.alumxbackend.groupchatmessages.dto.SendGroupMessageRequest;
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
 import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
 import com.opencode.alumxbackend.users.model.User;
 import com.opencode.alumxbackend.users.model.UserRole;
@@ -452,4 +461,189 @@ class GroupMessageControllerIntegrationTest {
         assertThat(response1).isNotNull();
         assertThat(response1).contains("From user 1");
     }
+
+    private List<Long> sendMessages(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            SendGroupMessageRequest msg = new SendGroupMessageRequest();
+            msg.setUserId(testUser1.getId());
+            msg.setContent("Message " + i);
+            ids.add(webClient.post().uri("/api/groups/" + testGroupId + "/messages")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .bodyValue(msg).retrieve().bodyToMono(GroupMessageResponse.class).block().getId());
+        }
+        return ids;
+    }
+
+    private GroupMessageHistoryResponse getHistory(String params) {
+        return webClient.get()
+                .uri("/api/groups/" + testGroupId + "/messages/history?userId=" + testUser1.getId() + params)
+                .header("Authorization", "Bearer " + accessToken)
+                .retrieve()
+                .bodyToMono(GroupMessageHistoryResponse.class)
+                .block();
+    }
+
+    private static List<Long> ids(GroupMessageHistoryResponse response) {
+        return response.getMessages().stream().map(GroupMessageResponse::getId).toList();
+    }
+
+    @Test
+    @DisplayName("GET /api/groups/{groupId}/messages/history - should scroll back with before cursor")
+    void getHistory_ScrollBack_ReturnsOlderSlices() {
+        List<Long> sent = sendMessages(5);
+
+        GroupMessageHistoryResponse latest = getHistory("&limit=2");
+        assertThat(ids(latest)).containsExactly(sent.get(3), sent.get(4));
+        assertThat(latest.isHasMore()).isTrue();
+
+        GroupMessageHistoryResponse older = getHistory("&limit=2&before=" + latest.getOldestId());
+        assertThat(ids(older)).containsExactly(sent.get(1), sent.get(2));
+        assertThat(older.isHasMore()).isTrue();
+
+        GroupMessageHistoryResponse oldest = getHistory("&limit=2&before=" + older.getOldestId());
+        assertThat(ids(oldest)).containsExactly(sent.get(0));
+        assertThat(oldest.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("GET /api/groups/{groupId}/messages/history - should catch up with after cursor")
+    void getHistory_CatchUp_ReturnsNewerMessages() {
+        List<Long> sent = sendMessages(4);
+
+        GroupMessageHistoryResponse newer = getHistory("&after=" + sent.get(0));
+
+        assertThat(ids(newer)).containsExactly(sent.get(1), sent.get(2), sent.get(3));
+        assertThat(newer.isHasMore()).isFalse();
+        assertThat(newer.getNewestId()).isEqualTo(sent.get(3));
+    }
+
+    @Test
+    @DisplayName("GET /api/groups/{groupId}/messages/history - should reject before and after together")
+    void getHistory_BeforeAndAfter_ReturnsBadRequest() {
+        try {
+            getHistory("&before=10&after=1");
+            throw new AssertionError("Expected exception for before and after together");
+        } catch (Exception e) {
+            assertThat(e.getMessage()).contains("400");
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/groups/{groupId}/messages/user - should stream the full history as a JSON array")
+    void getAllMessages_StreamsJsonArray() {
+        List<Long> sent = sendMessages(3);
+
+        List<GroupMessageResponse> messages = webClient.get()
+                .uri("/api/groups/" + testGroupId + "/messages/user")
+                .header("Authorization", "Bearer " + accessToken)
+                .header("X-USER-ID", String.valueOf(testUser1.getId()))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<GroupMessageResponse>>() {})
+                .block();
+
+        assertThat(messages).extracting(GroupMessageResponse::getId).containsExactlyElementsOf(sent);
+        assertThat(messages.get(0).getContent()).isEqualTo("Message 1");
+        assertThat(messages.get(0).getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("GET /api/groups/{groupId}/messages/export - should write one JSON message per line")
+    void exportMessages_WritesNdjson() {
+        List<Long> sent = sendMessages(3);
+        StringBuilder expected = new StringBuilder();
+        for (Long id : sent) {
+            GroupMessage message = groupMessageRepository.findById(id).orElseThrow();
+            expected.append("{\"id\":").append(id)
+                    .append(",\"senderUserId\":").append(message.getSenderUserId())
+                    .append(",\"senderUsername\":\"").append(message.getSenderUsername())
+                    .append("\",\"content\":\"").append(message.getContent())
+                    .append("\",\"createdAt\":\"").append(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(message.getCreatedAt()))
+                    .append("\"}\n");
+        }
+
+        byte[] body = webClient.get()
+                .uri("/api/groups/" + testGroupId + "/messages/export?userId=" + testUser1.getId())
+                .header("Authorization", "Bearer " + accessToken)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .block();
+
+        assertThat(body).isEqualTo(expected.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("GET /api/groups/{groupId}/messages/export - should reject non members before streaming")
+    void exportMessages_NonMember_ReturnsError() {
+        try {
+            webClient.get()
+                    .uri("/api/groups/" + testGroupId + "/messages/export?userId=999999")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+            throw new AssertionError("Expected exception for non member");
+        } catch (WebClientResponseException e) {
+            assertThat(e.getStatusCode().isError()).isTrue();
+            assertThat(e.getResponseBodyAsString()).doesNotContain("senderUsername");
+        }
+    }
+
+    private void sendMessage(String content) {
+        SendGroupMessageRequest msg = new SendGroupMessageRequest();
+        msg.setUserId(testUser1.getId());
+        msg.setContent(content);
+        webClient.post().uri("/api/groups/" + testGroupId + "/messages")
+                .header("Authorization", "Bearer " + accessToken)
+                .bodyValue(msg).retrieve().bodyToMono(GroupMessageResponse.class).block();
+    }
+
+    private GroupMessageRankedSearchResponse searchRanked(String query, String cursor, int size) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/group-chats/" + testGroupId + "/messages/search/ranked")
+                        .queryParam("query", query)
+                        .queryParam("size", size)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .build())
+                .header("Authorization", "Bearer " + accessToken)
+                .header("X-USER-ID", String.valueOf(testUser1.getId()))
+                .retrieve()
+                .bodyToMono(GroupMessageRankedSearchResponse.class)
+                .block();
+    }
+
+    @Test
+    @DisplayName("GET /api/group-chats/{groupId}/messages/search/ranked - should rank phrase matches first with snippets")
+    void searchRanked_RanksAndHighlights() {
+        sendMessage("release notes are out, the build is green");
+        sendMessage("the release build is red again");
+        sendMessage("lunch anyone?");
+
+        GroupMessageRankedSearchResponse response = searchRanked("release build", null, 10);
+
+        assertThat(response.getResults()).hasSize(2);
+        GroupMessageSearchHit best = response.getResults().get(0);
+        assertThat(best.getMessage().getContent()).isEqualTo("the release build is red again");
+        assertThat(best.getSnippet()).contains("<mark>release</mark>").contains("<mark>build</mark>");
+        assertThat(response.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("GET /api/group-chats/{groupId}/messages/search/ranked - should page with the cursor")
+    void searchRanked_PagesWithCursor() {
+        for (int i = 1; i <= 5; i++) {
+            sendMessage("standup note " + i);
+        }
+
+        GroupMessageRankedSearchResponse first = searchRanked("standup", null, 3);
+        GroupMessageRankedSearchResponse second = searchRanked("standup", first.getNextCursor(), 3);
+
+        assertThat(first.getResults()).hasSize(3);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getResults()).hasSize(2);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getResults().get(0).getMessage().getId())
+                .isLessThan(first.getResults().get(2).getMessage().getId());
+    }
 }
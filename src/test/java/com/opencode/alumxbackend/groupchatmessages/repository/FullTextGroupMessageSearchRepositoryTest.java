@@ -0,0 +1,102 @@
+package com.opencode.alumxbackend.groupchatmessages.repository;
+
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageSearchCursor;
+import com.opencode.alumxbackend.groupchatmessages.dto.RankedGroupMessage;
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the tsvector engine against a real PostgreSQL, see application-postgres.properties.
+ * Skipped unless {@code -Dpostgres.url} is set.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "postgres"})
+@EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+class FullTextGroupMessageSearchRepositoryTest {
+
+    private static final long GROUP_ID = 7L;
+
+    @Autowired
+    private FullTextGroupMessageSearchRepository repository;
+
+    @Autowired
+    private GroupMessageRepository messageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("startup - should create a valid expression index without adding a column")
+    void schema_UsesExpressionIndex() {
+        Boolean valid = jdbcTemplate.queryForObject("""
+                SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE c.relname = 'idx_group_messages_group_content_fts'
+                """, Boolean.class);
+        Integer tsvColumns = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE table_name = 'group_messages' AND column_name = 'content_tsv'
+                """, Integer.class);
+
+        assertThat(valid).isTrue();
+        assertThat(tsvColumns).isZero();
+    }
+
+    @Test
+    @DisplayName("search - should match word prefixes within the group, best score first")
+    void search_RanksPrefixMatches() {
+        GroupMessage dense = save(GROUP_ID, "deploy deploy deploy the release");
+        GroupMessage single = save(GROUP_ID, "deployment notes for the team");
+        save(GROUP_ID, "redeploy tomorrow");
+        save(GROUP_ID + 1, "deploy in another group");
+
+        List<RankedGroupMessage> hits = repository.search(GROUP_ID, "deploy", null, 10);
+
+        assertThat(hits).extracting(hit -> hit.message().getId())
+                .containsExactly(dense.getId(), single.getId());
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    @DisplayName("search - should continue after the cursor without repeating messages")
+    void search_KeysetPagination() {
+        for (int i = 0; i < 5; i++) {
+            save(GROUP_ID, "release candidate " + i);
+        }
+
+        List<RankedGroupMessage> first = repository.search(GROUP_ID, "release", null, 3);
+        List<RankedGroupMessage> second = repository.search(GROUP_ID, "release",
+                GroupMessageSearchCursor.after(first.get(first.size() - 1)), 3);
+
+        assertThat(first).hasSize(3);
+        assertThat(second).hasSize(2);
+        assertThat(second).extracting(hit -> hit.message().getId())
+                .doesNotContainAnyElementsOf(first.stream().map(hit -> hit.message().getId()).toList());
+    }
+
+    private GroupMessage save(long groupId, String content) {
+        return messageRepository.save(GroupMessage.builder()
+                .groupId(groupId)
+                .senderUserId(1L)
+                .senderUsername("user1")
+                .content(content)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
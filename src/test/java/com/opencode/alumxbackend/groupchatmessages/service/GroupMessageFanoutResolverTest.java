@@ -0,0 +1,49 @@
+package com.opencode.alumxbackend.groupchatmessages.service;
+
+import com.opencode.alumxbackend.common.fanout.FanoutDelivery;
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupMessageFanoutResolverTest {
+
+    @Mock
+    private GroupMessageRepository messageRepository;
+
+    @InjectMocks
+    private GroupMessageFanoutResolver resolver;
+
+    private static GroupMessage message(long id) {
+        return GroupMessage.builder()
+                .id(id)
+                .groupId(7L)
+                .senderUserId(1L)
+                .senderUsername("user1")
+                .content("message " + id)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("resolve - should return deliveries in message id order")
+    void resolve_OrdersById() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(messageRepository.findAllById(ids)).thenReturn(List.of(message(3), message(1), message(2)));
+
+        assertThat(resolver.resolve(ids))
+                .extracting(FanoutDelivery::id)
+                .containsExactly(1L, 2L, 3L);
+    }
+}
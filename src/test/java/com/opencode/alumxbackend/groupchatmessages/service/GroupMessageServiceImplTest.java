@@ -16,9 +16,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.opencode.alumxbackend.groupchat.model.GroupChat;
-import com.opencode.alumxbackend.groupchat.model.Participant;
-import com.opencode.alumxbackend.groupchat.repository.GroupChatRepository;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembers;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembershipCache;
 import com.opencode.alumxbackend.groupchatmessages.exception.InvalidMessageException;
 import com.opencode.alumxbackend.groupchatmessages.exception.UserNotMemberException;
 import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
@@ -31,7 +30,7 @@ class GroupMessageServiceImplTest {
     private GroupMessageRepository messageRepository;
 
     @Mock
-    private GroupChatRepository groupChatRepository;
+    private GroupMembershipCache membershipCache;
 
     @InjectMocks
     private GroupMessageServiceImpl service;
@@ -52,10 +51,10 @@ class GroupMessageServiceImplTest {
     @Test
     @DisplayName("deleteMessage - should delete message when member and sender")
     void deleteMessage_WithValidData_DeletesMessage() {
-        GroupChat group = groupWithMember(groupId, userId);
+        GroupMembers members = membersOf(groupId, userId);
         GroupMessage message = groupMessage(messageId, groupId, userId);
 
-        when(groupChatRepository.findById(groupId)).thenReturn(Optional.of(group));
+        when(membershipCache.get(groupId)).thenReturn(Optional.of(members));
         when(messageRepository.findById(messageId)).thenReturn(Optional.of(message));
 
         service.deleteMessage(groupId, messageId, userId);
@@ -68,9 +67,9 @@ class GroupMessageServiceImplTest {
     @Test
     @DisplayName("deleteMessage - should reject when user is not a group member")
     void deleteMessage_NonMember_ThrowsForbidden() {
-        GroupChat group = groupWithMember(groupId, 99L);
+        GroupMembers members = membersOf(groupId, 99L);
 
-        when(groupChatRepository.findById(groupId)).thenReturn(Optional.of(group));
+        when(membershipCache.get(groupId)).thenReturn(Optional.of(members));
 
         assertThatThrownBy(() -> service.deleteMessage(groupId, messageId, userId))
                 .isInstanceOf(UserNotMemberException.class);
@@ -81,10 +80,10 @@ class GroupMessageServiceImplTest {
     @Test
     @DisplayName("deleteMessage - should reject when user is not the sender")
     void deleteMessage_NotSender_ThrowsBadRequest() {
-        GroupChat group = groupWithMember(groupId, userId);
+        GroupMembers members = membersOf(groupId, userId);
         GroupMessage message = groupMessage(messageId, groupId, 99L);
 
-        when(groupChatRepository.findById(groupId)).thenReturn(Optional.of(group));
+        when(membershipCache.get(groupId)).thenReturn(Optional.of(members));
         when(messageRepository.findById(messageId)).thenReturn(Optional.of(message));
 
         assertThatThrownBy(() -> service.deleteMessage(groupId, messageId, userId))
@@ -96,9 +95,9 @@ class GroupMessageServiceImplTest {
     @Test
     @DisplayName("deleteMessage - should reject when message does not exist")
     void deleteMessage_MessageNotFound_ThrowsBadRequest() {
-        GroupChat group = groupWithMember(groupId, userId);
+        GroupMembers members = membersOf(groupId, userId);
 
-        when(groupChatRepository.findById(groupId)).thenReturn(Optional.of(group));
+        when(membershipCache.get(groupId)).thenReturn(Optional.of(members));
         when(messageRepository.findById(messageId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.deleteMessage(groupId, messageId, userId))
@@ -108,26 +107,18 @@ class GroupMessageServiceImplTest {
     @Test
     @DisplayName("deleteMessage - should reject when message belongs to another group")
     void deleteMessage_WrongGroup_ThrowsBadRequest() {
-        GroupChat group = groupWithMember(groupId, userId);
+        GroupMembers members = membersOf(groupId, userId);
         GroupMessage message = groupMessage(messageId, 99L, userId);
 
-        when(groupChatRepository.findById(groupId)).thenReturn(Optional.of(group));
+        when(membershipCache.get(groupId)).thenReturn(Optional.of(members));
         when(messageRepository.findById(messageId)).thenReturn(Optional.of(message));
 
         assertThatThrownBy(() -> service.deleteMessage(groupId, messageId, userId))
                 .isInstanceOf(InvalidMessageException.class);
     }
 
-    private GroupChat groupWithMember(Long groupId, Long userId) {
-        Participant participant = Participant.builder()
-                .userId(userId)
-                .username("member")
-                .build();
-
-        return GroupChat.builder()
-                .groupId(groupId)
-                .participants(List.of(participant))
-                .build();
+    private GroupMembers membersOf(Long groupId, Long userId) {
+        return GroupMembers.of(List.<Object[]>of(new Object[]{userId, "member"}));
     }
 
     private GroupMessage groupMessage(Long messageId, Long groupId, Long senderId) {
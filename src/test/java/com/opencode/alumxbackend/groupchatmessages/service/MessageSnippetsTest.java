@@ -0,0 +1,46 @@
+package com.opencode.alumxbackend.groupchatmessages.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageSnippetsTest {
+
+    @Test
+    @DisplayName("highlight - should mark whole words starting with a query token")
+    void highlight_MarksMatchedWords() {
+        String snippet = MessageSnippets.highlight("Deploying the new Kubernetes cluster", List.of("deploy", "kube"));
+
+        assertThat(snippet).isEqualTo("<mark>Deploying</mark> the new <mark>Kubernetes</mark> cluster");
+    }
+
+    @Test
+    @DisplayName("highlight - should not mark a token found inside a word")
+    void highlight_IgnoresMatchesInsideWords() {
+        String snippet = MessageSnippets.highlight("Redeploy, then deploy again", List.of("deploy"));
+
+        assertThat(snippet).isEqualTo("Redeploy, then <mark>deploy</mark> again");
+    }
+
+    @Test
+    @DisplayName("highlight - should escape HTML in message content")
+    void highlight_EscapesHtml() {
+        String snippet = MessageSnippets.highlight("<script>alert('x')</script> release", List.of("release"));
+
+        assertThat(snippet).isEqualTo("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; <mark>release</mark>");
+    }
+
+    @Test
+    @DisplayName("highlight - should centre long messages on the first match")
+    void highlight_CentresLongMessages() {
+        String content = "word ".repeat(100) + "needle " + "tail ".repeat(100);
+
+        String snippet = MessageSnippets.highlight(content, List.of("needle"));
+
+        assertThat(snippet).startsWith("...").endsWith("...").contains("<mark>needle</mark>");
+        assertThat(snippet.length()).isLessThan(MessageSnippets.MAX_LENGTH + 30);
+    }
+}
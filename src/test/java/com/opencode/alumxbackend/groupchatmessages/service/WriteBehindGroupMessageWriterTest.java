@@ -0,0 +1,138 @@
+package com.opencode.alumxbackend.groupchatmessages.service;
+
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Own database: this context's create-drop would otherwise reset the shared testdb under other cached contexts
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:write-behind-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL",
+        "groupchat.messages.write-behind.enabled=true",
+        "groupchat.messages.write-behind.batch-size=7",
+        "groupchat.messages.write-behind.spool-file=target/group-messages-test.spool",
+        "groupchat.messages.write-behind.dead-letter-file=target/group-messages-test.dead"
+})
+@ActiveProfiles("test")
+class WriteBehindGroupMessageWriterTest {
+
+    private static final long GROUP_ID = 42L;
+    private static final Path DEAD_LETTER_FILE = Path.of("target/group-messages-test.dead");
+
+    @Autowired
+    private WriteBehindGroupMessageWriter writer;
+
+    @Autowired
+    private GroupMessageRepository messageRepository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        messageRepository.deleteAll();
+        Files.deleteIfExists(DEAD_LETTER_FILE);
+    }
+
+    private GroupMessage message(String content) {
+        return GroupMessage.builder()
+                .groupId(GROUP_ID)
+                .senderUserId(1L)
+                .senderUsername("user1")
+                .content(content)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void awaitRows(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (messageRepository.count() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @DisplayName("write - should assign ids up front and insert every message in batches")
+    void write_AssignsIdsAndFlushes() throws InterruptedException {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            GroupMessage written = writer.write(message("message " + i));
+            assertThat(written.getId()).isNotNull();
+            ids.add(written.getId());
+        }
+
+        awaitRows(30);
+
+        assertThat(ids).hasSize(30);
+        assertThat(messageRepository.findAll())
+                .extracting(GroupMessage::getId)
+                .containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("write - should not collide with ids Hibernate assigns from the same sequence")
+    void write_SharesSequenceWithHibernate() throws InterruptedException {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            ids.add(writer.write(message("queued " + i)).getId());
+            ids.add(messageRepository.save(message("saved " + i)).getId());
+        }
+
+        awaitRows(120);
+
+        assertThat(ids).hasSize(120);
+        assertThat(messageRepository.count()).isEqualTo(120);
+    }
+
+    @Test
+    @DisplayName("stop - should flush queued messages and write directly afterwards")
+    void stop_FlushesQueue() {
+        for (int i = 0; i < 20; i++) {
+            writer.write(message("before stop " + i));
+        }
+
+        writer.stop();
+        try {
+            assertThat(writer.pending()).isZero();
+            assertThat(messageRepository.count()).isEqualTo(20);
+
+            writer.write(message("after stop"));
+            assertThat(messageRepository.count()).isEqualTo(21);
+        } finally {
+            writer.start();
+        }
+    }
+
+    @Test
+    @DisplayName("write - should dead-letter a rejected message and keep flushing the rest")
+    void write_RejectedMessage_DeadLettered() throws InterruptedException, IOException {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(writer.write(message("before " + i)).getId());
+        }
+        GroupMessage rejected = writer.write(message("x".repeat(1001)));
+        for (int i = 0; i < 5; i++) {
+            ids.add(writer.write(message("after " + i)).getId());
+        }
+
+        awaitRows(10);
+        ids.add(writer.write(message("later")).getId());
+        awaitRows(11);
+
+        assertThat(messageRepository.findAll())
+                .extracting(GroupMessage::getId)
+                .containsExactlyInAnyOrderElementsOf(ids)
+                .doesNotContain(rejected.getId());
+        assertThat(Files.size(DEAD_LETTER_FILE)).isPositive();
+    }
+}
@@ -0,0 +1,272 @@
+package com.opencode.alumxbackend.groupchatmessages.websocket;
+
+import com.opencode.alumxbackend.auth.security.JwtTokenProvider;
+import com.opencode.alumxbackend.common.websocket.StompErrorResponse;
+import com.opencode.alumxbackend.common.websocket.TypingEvent;
+import com.opencode.alumxbackend.common.websocket.TypingRequest;
+import com.opencode.alumxbackend.groupchat.model.GroupChat;
+import com.opencode.alumxbackend.groupchat.model.Participant;
+import com.opencode.alumxbackend.groupchat.model.ParticipantRole;
+import com.opencode.alumxbackend.groupchat.repository.GroupChatRepository;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.StompGroupMessageRequest;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import com.opencode.alumxbackend.users.model.User;
+import com.opencode.alumxbackend.users.model.UserRole;
+import com.opencode.alumxbackend.users.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sending through {@code /app} instead of the REST API: the message must be stored and
+ * broadcast exactly like POST /api/groups/{groupId}/messages.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class GroupChatStompIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GroupChatRepository groupChatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GroupMessageRepository messageRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private WebSocketStompClient stompClient;
+    private User alice;
+    private User bob;
+    private GroupChat group;
+
+    @BeforeEach
+    void setUp() {
+        stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new JacksonJsonMessageConverter());
+
+        messageRepository.deleteAll();
+        groupChatRepository.deleteAll();
+        userRepository.deleteAll();
+
+        alice = createTestUser("alice");
+        bob = createTestUser("bob");
+        group = createTestGroup(alice, List.of(alice, bob));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stompClient.stop();
+    }
+
+    @Test
+    @DisplayName("send - should store and broadcast a message sent over STOMP")
+    void send_StoresAndBroadcasts() throws Exception {
+        StompSession bobSession = connect(bob);
+        BlockingQueue<GroupMessageResponse> received =
+                subscribe(bobSession, "/topic/group/" + group.getGroupId(), GroupMessageResponse.class);
+        StompSession aliceSession = connect(alice);
+        Thread.sleep(300);
+
+        StompGroupMessageRequest request = new StompGroupMessageRequest();
+        request.setContent("Hello over STOMP");
+        aliceSession.send("/app/group/" + group.getGroupId() + "/send", request);
+
+        GroupMessageResponse message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(message.getSenderUserId()).isEqualTo(alice.getId());
+        assertThat(message.getContent()).isEqualTo("Hello over STOMP");
+        assertThat(messageRepository.findById(message.getId())).isPresent();
+
+        aliceSession.disconnect();
+        bobSession.disconnect();
+    }
+
+    @Test
+    @DisplayName("typing - should relay typing events with the member's username")
+    void typing_RelaysEvent() throws Exception {
+        StompSession bobSession = connect(bob);
+        BlockingQueue<TypingEvent> received =
+                subscribe(bobSession, "/topic/group/" + group.getGroupId() + "/typing", TypingEvent.class);
+        StompSession aliceSession = connect(alice);
+        Thread.sleep(300);
+
+        aliceSession.send("/app/group/" + group.getGroupId() + "/typing", new TypingRequest(true));
+
+        TypingEvent event = received.poll(5, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.userId()).isEqualTo(alice.getId());
+        assertThat(event.username()).isEqualTo("alice");
+        assertThat(event.typing()).isTrue();
+
+        aliceSession.disconnect();
+        bobSession.disconnect();
+    }
+
+    @Test
+    @DisplayName("send - should report an error to a non-member and store nothing")
+    void send_NonMemberGetsError() throws Exception {
+        User mallory = createTestUser("mallory");
+        StompSession session = connect(mallory);
+        BlockingQueue<StompErrorResponse> errors =
+                subscribe(session, "/user/queue/errors", StompErrorResponse.class);
+        Thread.sleep(300);
+
+        StompGroupMessageRequest request = new StompGroupMessageRequest();
+        request.setContent("Let me in");
+        session.send("/app/group/" + group.getGroupId() + "/send", request);
+
+        StompErrorResponse error = errors.poll(5, TimeUnit.SECONDS);
+        assertThat(error).isNotNull();
+        assertThat(error.message()).contains("not a member");
+        assertThat(messageRepository.count()).isZero();
+
+        session.disconnect();
+    }
+
+    @Test
+    @DisplayName("subscribe - should refuse a group topic to a non-member with an ERROR frame")
+    void subscribe_NonMemberRefused() throws Exception {
+        User mallory = createTestUser("mallory");
+        BlockingQueue<String> errors = new LinkedBlockingQueue<>();
+        StompSession session = connect(mallory, errorCollector(errors));
+
+        BlockingQueue<GroupMessageResponse> received =
+                subscribe(session, "/topic/group/" + group.getGroupId(), GroupMessageResponse.class);
+
+        assertThat(errors.poll(5, TimeUnit.SECONDS)).contains("Not a member");
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("send - should refuse a SEND straight to a broker topic with an ERROR frame")
+    void send_ToTopicRefused() throws Exception {
+        StompSession bobSession = connect(bob);
+        BlockingQueue<GroupMessageResponse> received =
+                subscribe(bobSession, "/topic/group/" + group.getGroupId(), GroupMessageResponse.class);
+        BlockingQueue<String> errors = new LinkedBlockingQueue<>();
+        StompSession aliceSession = connect(alice, errorCollector(errors));
+        Thread.sleep(300);
+
+        GroupMessageResponse forged = new GroupMessageResponse();
+        forged.setContent("Forged broadcast");
+        aliceSession.send("/topic/group/" + group.getGroupId(), forged);
+
+        assertThat(errors.poll(5, TimeUnit.SECONDS)).contains("not allowed");
+        assertThat(received.poll(500, TimeUnit.MILLISECONDS)).isNull();
+
+        bobSession.disconnect();
+    }
+
+    @Test
+    @DisplayName("connect - should refuse a CONNECT frame without a bearer token")
+    void connect_WithoutTokenRefused() throws Exception {
+        BlockingQueue<String> errors = new LinkedBlockingQueue<>();
+        stompClient.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(),
+                new StompHeaders(), errorCollector(errors));
+
+        assertThat(errors.poll(5, TimeUnit.SECONDS)).contains("Missing bearer token");
+    }
+
+    private StompSession connect(User user) throws Exception {
+        return connect(user, new StompSessionHandlerAdapter() {});
+    }
+
+    private StompSession connect(User user, StompSessionHandlerAdapter handler) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        String token = jwtTokenProvider.generateToken(
+                user.getId(), user.getEmail(), user.getUsername(), user.getRole().name());
+        connectHeaders.add("Authorization", "Bearer " + token);
+        return stompClient.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(),
+                        connectHeaders, handler)
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    // ERROR frames reach the session handler, carrying the reason in the "message" header
+    private StompSessionHandlerAdapter errorCollector(BlockingQueue<String> errors) {
+        return new StompSessionHandlerAdapter() {
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                errors.add(String.valueOf(headers.getFirst("message")));
+            }
+        };
+    }
+
+    private <T> BlockingQueue<T> subscribe(StompSession session, String destination, Class<T> type) {
+        BlockingQueue<T> received = new LinkedBlockingQueue<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return type;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add(type.cast(payload));
+            }
+        });
+        return received;
+    }
+
+    private User createTestUser(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .name(username)
+                .email(username + "@test.com")
+                .passwordHash("hashed_password")
+                .role(UserRole.STUDENT)
+                .profileCompleted(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private GroupChat createTestGroup(User owner, List<User> members) {
+        GroupChat chat = new GroupChat();
+        chat.setGroupName("Stomp Group");
+        chat.setOwnerId(owner.getId());
+        chat.setCreatedAt(LocalDateTime.now());
+        chat.setParticipants(members.stream()
+                .map(user -> {
+                    Participant participant = new Participant();
+                    participant.setUserId(user.getId());
+                    participant.setUsername(user.getUsername());
+                    participant.setGroupChat(chat);
+                    participant.setRole(user.getId().equals(owner.getId()) ? ParticipantRole.ADMIN : ParticipantRole.MEMBER);
+                    return participant;
+                })
+                .toList());
+        return groupChatRepository.save(chat);
+    }
+}
@@ -1,5 +1,6 @@
 package com.opencode.alumxbackend.groupchatmessages.websocket;
 
+import com.opencode.alumxbackend.auth.security.JwtTokenProvider;
 import com.opencode.alumxbackend.groupchat.model.GroupChat;
 import com.opencode.alumxbackend.groupchat.model.Participant;
 import com.opencode.alumxbackend.groupchat.model.ParticipantRole;
@@ -18,6 +19,7 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.messaging.converter.JacksonJsonMessageConverter;
 import org.springframework.messaging.simp.stomp.*;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 import org.springframework.web.socket.messaging.WebSocketStompClient;
 import org.springframework.web.socket.sockjs.client.SockJsClient;
@@ -59,6 +61,9 @@ class GroupChatWebSocketIntegrationTest {
     @Autowired
     private GroupMessageRepository messageRepository;
 
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
     private WebSocketStompClient stompClient;
     private String wsUrl;
 
@@ -92,8 +97,7 @@ class GroupChatWebSocketIntegrationTest {
         BlockingQueue<GroupMessageResponse> receivedMessages = new ArrayBlockingQueue<>(1);
 
         // When: Client subscribes to group topic
-        StompSession session = stompClient.connectAsync(wsUrl, new StompSessionHandlerAdapter() {})
-                .get(5, TimeUnit.SECONDS);
+        StompSession session = connect(user2);
 
         session.subscribe("/topic/group/" + group.getGroupId(), new StompFrameHandler() {
             @Override
@@ -145,10 +149,8 @@ class GroupChatWebSocketIntegrationTest {
         BlockingQueue<GroupMessageResponse> client2Messages = new ArrayBlockingQueue<>(1);
 
         // Connect two clients
-        StompSession session1 = stompClient.connectAsync(wsUrl, new StompSessionHandlerAdapter() {})
-                .get(5, TimeUnit.SECONDS);
-        StompSession session2 = stompClient.connectAsync(wsUrl, new StompSessionHandlerAdapter() {})
-                .get(5, TimeUnit.SECONDS);
+        StompSession session1 = connect(user2);
+        StompSession session2 = connect(user3);
 
         // Both subscribe to the same group topic
         String topic = "/topic/group/" + group.getGroupId();
@@ -198,10 +200,8 @@ class GroupChatWebSocketIntegrationTest {
         GroupChat group2 = createTestGroup("Group 2", user2.getId(), List.of(user2));
 
         // Connect clients to different group topics
-        StompSession session1 = stompClient.connectAsync(wsUrl, new StompSessionHandlerAdapter() {})
-                .get(5, TimeUnit.SECONDS);
-        StompSession session2 = stompClient.connectAsync(wsUrl, new StompSessionHandlerAdapter() {})
-                .get(5, TimeUnit.SECONDS);
+        StompSession session1 = connect(user1);
+        StompSession session2 = connect(user2);
 
         BlockingQueue<GroupMessageResponse> group1Messages = new ArrayBlockingQueue<>(1);
         BlockingQueue<GroupMessageResponse> group2Messages = new ArrayBlockingQueue<>(1);
@@ -241,6 +241,17 @@ class GroupChatWebSocketIntegrationTest {
         session2.disconnect();
     }
 
+    // STOMP sessions authenticate with the JWT in the CONNECT frame
+    private StompSession connect(User user) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        String token = jwtTokenProvider.generateToken(
+                user.getId(), user.getEmail(), user.getUsername(), user.getRole().name());
+        connectHeaders.add("Authorization", "Bearer " + token);
+        return stompClient.connectAsync(wsUrl, new WebSocketHttpHeaders(), connectHeaders,
+                        new StompSessionHandlerAdapter() {})
+                .get(5, TimeUnit.SECONDS);
+    }
+
     private User createTestUser(String username, String email) {
         User user = User.builder()
                 .username(username)
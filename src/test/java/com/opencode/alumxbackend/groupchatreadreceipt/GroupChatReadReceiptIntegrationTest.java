@@ -1,5 +1,396 @@
 package com.opencode.alumxbackend.groupchatreadreceipt;
 
-public class GroupChatReadReceiptIntegrationTest {
-    
+import com.opencode.alumxbackend.common.exception.Errors.ResourceNotFoundException;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembershipCache;
+import com.opencode.alumxbackend.groupchat.model.GroupChat;
+import com.opencode.alumxbackend.groupchat.model.Participant;
+import com.opencode.alumxbackend.groupchat.model.ParticipantRole;
+import com.opencode.alumxbackend.groupchat.repository.GroupChatRepository;
+import com.opencode.alumxbackend.groupchat.repository.ParticipantRepository;
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import com.opencode.alumxbackend.groupchatmessages.service.GroupMessageWriter;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupReadResponse;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupSeenByResponse;
+import com.opencode.alumxbackend.groupchatreadreceipt.dto.GroupUnreadCountResponse;
+import com.opencode.alumxbackend.groupchatreadreceipt.model.GroupReadState;
+import com.opencode.alumxbackend.groupchatreadreceipt.repository.GroupReadStateRepository;
+import com.opencode.alumxbackend.groupchatreadreceipt.service.GroupReadService;
+import com.opencode.alumxbackend.groupchatreadreceipt.service.GroupReadStateWriter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GroupChatReadReceiptIntegrationTest {
+
+    private static final long ALICE = 3001L;
+    private static final long BOB = 3002L;
+    private static final long CAROL = 3003L;
+    private static final long DAVE = 3004L;
+
+    @Autowired
+    private GroupReadService groupReadService;
+
+    @Autowired
+    private GroupMessageWriter messageWriter;
+
+    @Autowired
+    private GroupReadStateWriter readStateWriter;
+
+    @Autowired
+    private GroupChatRepository groupChatRepository;
+
+    @Autowired
+    private GroupMessageRepository messageRepository;
+
+    @Autowired
+    private GroupReadStateRepository readStateRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private GroupMembershipCache membershipCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        readStateWriter.flush();
+        readStateRepository.deleteAll();
+        messageRepository.deleteAll();
+        groupChatRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("unread counter - should count messages from other members and drop on read")
+    void unreadCounter_FollowsSendsAndReads() {
+        long groupId = createGroup(ALICE, BOB, CAROL);
+        GroupMessage first = send(groupId, BOB);
+        groupReadService.updateLastRead(groupId, ALICE, first.getId());
+        groupReadService.updateLastRead(groupId, BOB, first.getId());
+
+        GroupMessage second = send(groupId, BOB);
+        send(groupId, CAROL);
+        send(groupId, ALICE);
+
+        assertThat(groupReadService.getUnreadCount(groupId, ALICE).getUnreadCount()).isEqualTo(2L);
+        assertThat(groupReadService.getUnreadCount(groupId, BOB).getUnreadCount()).isEqualTo(2L);
+        // No read state yet: counted from the messages
+        assertThat(groupReadService.getUnreadCount(groupId, CAROL).getUnreadCount()).isEqualTo(3L);
+
+        groupReadService.updateLastRead(groupId, ALICE, second.getId());
+
+        assertThat(groupReadService.getUnreadCount(groupId, ALICE).getUnreadCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("incrementUnreadCounts - should not count a message already read")
+    void incrementUnreadCounts_IgnoresReadMessages() {
+        long groupId = createGroup(ALICE, BOB);
+        GroupMessage first = send(groupId, BOB);
+        groupReadService.updateLastRead(groupId, ALICE, first.getId());
+        GroupMessage second = messageRepository.save(message(groupId, BOB));
+
+        // Read from the broadcast before the write-behind flush counted it
+        groupReadService.updateLastRead(groupId, ALICE, second.getId());
+        groupReadService.incrementUnreadCounts(List.of(second));
+
+        assertThat(groupReadService.getUnreadCount(groupId, ALICE).getUnreadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("reconcileUnreadCounts - should create members' read states and repair drifted counters")
+    void reconcileUnreadCounts_CreatesAndRepairs() {
+        long groupId = createGroup(ALICE, BOB);
+        send(groupId, BOB);
+        send(groupId, BOB);
+
+        groupReadService.reconcileUnreadCounts();
+
+        assertThat(readStateRepository.findByGroupIdAndUserId(groupId, ALICE))
+                .hasValueSatisfying(state -> assertThat(state.getUnreadCount()).isEqualTo(2L));
+        assertThat(readStateRepository.findByGroupIdAndUserId(groupId, BOB))
+                .hasValueSatisfying(state -> assertThat(state.getUnreadCount()).isZero());
+
+        GroupReadState drifted = readStateRepository.findByGroupIdAndUserId(groupId, ALICE).orElseThrow();
+        drifted.setUnreadCount(99L);
+        readStateRepository.save(drifted);
+
+        groupReadService.reconcileUnreadCounts();
+
+        assertThat(groupReadService.getUnreadCount(groupId, ALICE).getUnreadCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("updateLastRead - should keep one read state per member under concurrent first reads")
+    void updateLastRead_ConcurrentFirstReads() throws Exception {
+        long groupId = createGroup(ALICE, BOB);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ids.add(send(groupId, BOB).getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(ids.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<GroupReadResponse>> reads = new ArrayList<>();
+            for (Long id : ids) {
+                reads.add(pool.submit(() -> {
+                    start.await();
+                    return groupReadService.updateLastRead(groupId, ALICE, id);
+                }));
+            }
+            start.countDown();
+            for (Future<GroupReadResponse> read : reads) {
+                read.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(readStateRepository.findByGroupId(groupId))
+                .singleElement()
+                .satisfies(state -> {
+                    assertThat(state.getLastReadMessageId()).isEqualTo(ids.getLast());
+                    assertThat(state.getUnreadCount()).isZero();
+                });
+    }
+
+    @Test
+    @DisplayName("updateLastRead - should answer with the stored position when it is further")
+    void updateLastRead_DoesNotMoveBackwards() {
+        long groupId = createGroup(ALICE, BOB);
+        GroupMessage first = send(groupId, BOB);
+        GroupMessage second = send(groupId, BOB);
+        groupReadService.updateLastRead(groupId, ALICE, second.getId());
+
+        GroupReadResponse response = groupReadService.updateLastRead(groupId, ALICE, first.getId());
+
+        assertThat(response.getLastReadMessageId()).isEqualTo(second.getId());
+        assertThat(groupReadService.getUnreadCount(groupId, ALICE).getUnreadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("group_read_states - should reject a second read state for the same member")
+    void readStates_UniquePerMember() {
+        long groupId = createGroup(ALICE, BOB);
+        groupReadService.updateLastRead(groupId, ALICE, 1L);
+
+        assertThatThrownBy(() -> readStateRepository.saveAndFlush(GroupReadState.builder()
+                .groupId(groupId)
+                .userId(ALICE)
+                .lastReadMessageId(2L)
+                .build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("recordRead - should coalesce the positions of every reader into one flush")
+    void recordRead_CoalescesUntilFlush() {
+        long groupId = createGroup(ALICE, BOB, CAROL);
+        GroupMessage first = send(groupId, ALICE);
+        GroupMessage second = send(groupId, BOB);
+        GroupMessage third = send(groupId, CAROL);
+        groupReadService.updateLastRead(groupId, ALICE, first.getId());
+
+        // What every send does for its sender, plus a read report
+        groupReadService.recordOwnMessageRead(groupId, ALICE, first.getId());
+        groupReadService.recordRead(groupId, BOB, second.getId());
+        groupReadService.recordRead(groupId, CAROL, third.getId());
+        groupReadService.recordRead(groupId, ALICE, third.getId());
+
+        assertThat(readStateWriter.pendingCount()).isEqualTo(3);
+        assertThat(groupReadService.getUnreadCount(groupId, ALICE).getUnreadCount()).isEqualTo(2L);
+
+        readStateWriter.flush();
+
+        assertThat(readStateWriter.pendingCount()).isZero();
+        assertThat(readStateRepository.findByGroupId(groupId))
+                .extracting(GroupReadState::getUserId, GroupReadState::getLastReadMessageId, GroupReadState::getUnreadCount)
+                .containsExactlyInAnyOrder(
+                        tuple(ALICE, third.getId(), 0L),
+                        tuple(BOB, second.getId(), 1L),
+                        tuple(CAROL, third.getId(), 0L));
+    }
+
+    @Test
+    @DisplayName("recordRead - should answer a stale report with the position already stored")
+    void recordRead_StaleReport_ReturnsStoredPosition() {
+        long groupId = createGroup(ALICE, BOB);
+        GroupMessage first = send(groupId, BOB);
+        GroupMessage second = send(groupId, BOB);
+        groupReadService.recordRead(groupId, ALICE, second.getId());
+        readStateWriter.flush();
+
+        assertThat(groupReadService.recordRead(groupId, ALICE, first.getId()).getLastReadMessageId())
+                .isEqualTo(second.getId());
+    }
+
+    @Test
+    @DisplayName("stop - should flush pending positions and store later ones directly")
+    void stop_FlushesPendingPositions() {
+        long groupId = createGroup(ALICE, BOB);
+        GroupMessage first = send(groupId, BOB);
+        GroupMessage second = send(groupId, BOB);
+        groupReadService.recordRead(groupId, ALICE, first.getId());
+
+        readStateWriter.stop();
+        try {
+            assertThat(readStateRepository.findByGroupIdAndUserId(groupId, ALICE))
+                    .hasValueSatisfying(state -> assertThat(state.getLastReadMessageId()).isEqualTo(first.getId()));
+
+            groupReadService.recordRead(groupId, ALICE, second.getId());
+
+            assertThat(readStateWriter.pendingCount()).isZero();
+            assertThat(readStateRepository.findByGroupIdAndUserId(groupId, ALICE))
+                    .hasValueSatisfying(state -> assertThat(state.getLastReadMessageId()).isEqualTo(second.getId()));
+        } finally {
+            readStateWriter.start();
+        }
+    }
+
+    @Test
+    @DisplayName("getAllUnreadCounts - should list every group of the user with its unread count")
+    void getAllUnreadCounts_PerGroup() {
+        long read = createGroup(ALICE, BOB);
+        long neverRead = createGroup(BOB, ALICE, CAROL);
+        long notAlices = createGroup(BOB, CAROL);
+        GroupMessage first = send(read, BOB);
+        send(read, BOB);
+        send(read, ALICE);
+        groupReadService.updateLastRead(read, ALICE, first.getId());
+        send(neverRead, BOB);
+        send(neverRead, CAROL);
+        send(neverRead, ALICE);
+        send(notAlices, BOB);
+
+        assertThat(groupReadService.getAllUnreadCounts(ALICE))
+                .extracting(GroupUnreadCountResponse::getGroupId, GroupUnreadCountResponse::getUserId,
+                        GroupUnreadCountResponse::getUnreadCount)
+                .containsExactly(
+                        tuple(read, ALICE, 1L),
+                        tuple(neverRead, ALICE, 2L));
+    }
+
+    @Test
+    @DisplayName("getSeenBy - should count the other members who read at or past the message")
+    void getSeenBy_CountsReadersExceptSender() {
+        long groupId = createGroup(ALICE, BOB, CAROL, DAVE);
+        GroupMessage fromBob = send(groupId, BOB);
+        GroupMessage fromCarol = send(groupId, CAROL);
+        GroupMessage fromAlice = send(groupId, ALICE);
+        groupReadService.updateLastRead(groupId, ALICE, fromAlice.getId());
+        groupReadService.updateLastRead(groupId, BOB, fromCarol.getId());
+        groupReadService.updateLastRead(groupId, CAROL, fromBob.getId());
+
+        assertThat(groupReadService.getSeenBy(groupId, fromBob.getId()))
+                .extracting(GroupSeenByResponse::getSeenBy, GroupSeenByResponse::getMemberCount)
+                .containsExactly(2, 4);
+        assertThat(groupReadService.getSeenBy(groupId, fromCarol.getId()).getSeenBy()).isEqualTo(2);
+        assertThat(groupReadService.getSeenBy(groupId, fromAlice.getId()).getSeenBy()).isZero();
+
+        groupReadService.updateLastRead(groupId, DAVE, fromAlice.getId());
+
+        assertThat(groupReadService.getSeenBy(groupId, fromAlice.getId()).getSeenBy()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getSeenBy - should reuse the cached positions until membership changes")
+    void getSeenBy_CachedPerGroup() {
+        long groupId = createGroup(ALICE, BOB, CAROL);
+        GroupMessage message = send(groupId, ALICE);
+        groupReadService.updateLastRead(groupId, BOB, message.getId());
+        groupReadService.updateLastRead(groupId, CAROL, message.getId());
+        groupReadService.getSeenBy(groupId, message.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            assertThat(groupReadService.getSeenBy(groupId, message.getId()).getSeenBy()).isEqualTo(2);
+            // The message lookup only
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        participantRepository.delete(participantRepository.findByGroupChat_GroupIdAndUserId(groupId, CAROL).orElseThrow());
+        membershipCache.invalidate(groupId);
+
+        assertThat(groupReadService.getSeenBy(groupId, message.getId()))
+                .extracting(GroupSeenByResponse::getSeenBy, GroupSeenByResponse::getMemberCount)
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("getSeenBy - should not find a message of another group")
+    void getSeenBy_MessageOfAnotherGroup() {
+        long groupId = createGroup(ALICE, BOB);
+        long otherGroupId = createGroup(ALICE, BOB);
+        GroupMessage message = send(otherGroupId, BOB);
+
+        assertThatThrownBy(() -> groupReadService.getSeenBy(groupId, message.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private long createGroup(long ownerId, long... memberIds) {
+        GroupChat group = GroupChat.builder()
+                .groupName("readers")
+                .ownerId(ownerId)
+                .build();
+        List<Participant> participants = new ArrayList<>();
+        participants.add(participant(group, ownerId, ParticipantRole.OWNER));
+        for (long memberId : memberIds) {
+            participants.add(participant(group, memberId, ParticipantRole.MEMBER));
+        }
+        group.setParticipants(participants);
+        return groupChatRepository.save(group).getGroupId();
+    }
+
+    private Participant participant(GroupChat group, long userId, ParticipantRole role) {
+        return Participant.builder()
+                .groupChat(group)
+                .userId(userId)
+                .username("user" + userId)
+                .role(role)
+                .build();
+    }
+
+    private GroupMessage send(long groupId, long senderId) {
+        return messageWriter.write(message(groupId, senderId));
+    }
+
+    private GroupMessage message(long groupId, long senderId) {
+        return GroupMessage.builder()
+                .groupId(groupId)
+                .senderUserId(senderId)
+                .senderUsername("user" + senderId)
+                .content("hello")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
 }
@@ -0,0 +1,114 @@
+package com.opencode.alumxbackend.groupchatreadreceipt.cache;
+
+import com.opencode.alumxbackend.groupchat.cache.GroupMembers;
+import com.opencode.alumxbackend.groupchat.cache.GroupMembershipCache;
+import com.opencode.alumxbackend.groupchatreadreceipt.repository.GroupReadStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupReadPositionsCacheTest {
+
+    @Mock
+    private GroupReadStateRepository repository;
+
+    @Mock
+    private GroupMembershipCache membershipCache;
+
+    private final GroupMembers members = GroupMembers.of(List.of(
+            new Object[]{10L, "user10"}, new Object[]{20L, "user20"}, new Object[]{30L, "user30"}));
+
+    private GroupReadPositionsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GroupReadPositionsCache(repository, membershipCache, 10);
+        lenient().when(membershipCache.get(anyLong())).thenReturn(Optional.of(members));
+    }
+
+    // (userId, lastReadMessageId, readers), furthest first, as the ranked query returns them
+    private static List<Object[]> rows(long... userAndPosition) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < userAndPosition.length; i += 2) {
+            rows.add(new Object[]{userAndPosition[i], userAndPosition[i + 1], 0L});
+        }
+        for (Object[] row : rows) {
+            row[2] = rows.stream().filter(other -> (long) other[1] >= (long) row[1]).count();
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("advance - should patch the cached positions without reloading the group")
+    void advance_PatchesInPlace() {
+        when(repository.findReadPositions(1L)).thenReturn(rows(10, 100));
+        assertThat(cache.get(1L).orElseThrow().seenBy(100, 30)).isEqualTo(1);
+
+        cache.advance(1L, Map.of(20L, 100L, 30L, 90L, 99L, 500L));
+        cache.advance(1L, Map.of(10L, 50L));
+
+        GroupReadPositions positions = cache.get(1L).orElseThrow();
+        assertThat(positions.seenBy(100, 30)).isEqualTo(2);
+        assertThat(positions.seenBy(90, 10)).isEqualTo(2);
+        assertThat(positions.seenBy(101, 30)).isZero();
+        verify(repository, times(1)).findReadPositions(1L);
+    }
+
+    @Test
+    @DisplayName("advance - should not let a load that read the old positions be cached")
+    void advance_DuringLoad_LoadNotCached() {
+        when(repository.findReadPositions(1L)).thenAnswer(invocation -> {
+            List<Object[]> before = rows(10, 100);
+            cache.advance(1L, Map.of(20L, 100L));
+            return before;
+        }).thenReturn(rows(10, 100, 20, 100));
+
+        assertThat(cache.get(1L).orElseThrow().seenBy(100, 30)).isEqualTo(1);
+        assertThat(cache.get(1L).orElseThrow().seenBy(100, 30)).isEqualTo(2);
+        assertThat(cache.get(1L).orElseThrow().seenBy(100, 30)).isEqualTo(2);
+        verify(repository, times(2)).findReadPositions(1L);
+    }
+
+    @Test
+    @DisplayName("invalidate - should only drop the invalidated group")
+    void invalidate_OtherGroupsKept() {
+        when(repository.findReadPositions(anyLong())).thenReturn(rows(10, 100));
+        cache.get(1L);
+        cache.get(2L);
+
+        cache.invalidate(1L);
+        cache.get(1L);
+        cache.get(2L);
+
+        verify(repository, times(2)).findReadPositions(1L);
+        verify(repository, times(1)).findReadPositions(2L);
+    }
+
+    @Test
+    @DisplayName("get - should stay bounded by the configured number of groups")
+    void get_Bounded() {
+        when(repository.findReadPositions(anyLong())).thenReturn(rows(10, 100));
+
+        for (long groupId = 1; groupId <= 50; groupId++) {
+            cache.get(groupId);
+        }
+
+        assertThat(cache.cachedGroupCount()).isLessThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,133 @@
+package com.opencode.alumxbackend.groupchatreadreceipt.repository;
+
+import com.opencode.alumxbackend.common.readstate.CoalescingReadStateWriter.ReadPosition;
+import com.opencode.alumxbackend.groupchatmessages.model.GroupMessage;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import com.opencode.alumxbackend.groupchatreadreceipt.model.GroupReadState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the {@code ON CONFLICT} upsert and the unique key migration against a real PostgreSQL,
+ * see application-postgres.properties. Skipped unless {@code -Dpostgres.url} is set.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "postgres"})
+@EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+class GroupReadStateUpsertRepositoryTest {
+
+    private static final long GROUP_ID = 11L;
+    private static final long ALICE = 4001L;
+    private static final long BOB = 4002L;
+
+    @Autowired
+    private GroupReadStateUpsertRepository upsertRepository;
+
+    @Autowired
+    private GroupReadStateSchemaInitializer schemaInitializer;
+
+    @Autowired
+    private GroupReadStateRepository readStateRepository;
+
+    @Autowired
+    private GroupMessageRepository messageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        readStateRepository.deleteAll();
+        messageRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("upsert - should create the read state on the first read with its unread count")
+    void upsert_CreatesReadState() {
+        GroupMessage first = send(BOB);
+        send(ALICE);
+        send(BOB);
+
+        assertThat(upsertRepository.upsert(GROUP_ID, ALICE, first.getId())).isEqualTo(1);
+
+        assertThat(readStateRepository.findByGroupIdAndUserId(GROUP_ID, ALICE).orElseThrow())
+                .extracting(GroupReadState::getLastReadMessageId, GroupReadState::getUnreadCount)
+                .containsExactly(first.getId(), 1L);
+    }
+
+    @Test
+    @DisplayName("upsert - should only move the position forward")
+    void upsert_OnlyAdvances() {
+        GroupMessage first = send(BOB);
+        GroupMessage second = send(BOB);
+        upsertRepository.upsert(GROUP_ID, ALICE, second.getId());
+
+        assertThat(upsertRepository.upsert(GROUP_ID, ALICE, first.getId())).isZero();
+        assertThat(upsertRepository.upsert(GROUP_ID, ALICE, second.getId())).isZero();
+
+        assertThat(readStateRepository.findAll())
+                .extracting(GroupReadState::getLastReadMessageId, GroupReadState::getUnreadCount)
+                .containsExactly(tuple(second.getId(), 0L));
+    }
+
+    @Test
+    @DisplayName("upsertAll - should store a batch of new and existing read states")
+    void upsertAll_StoresBatch() {
+        GroupMessage first = send(BOB);
+        GroupMessage second = send(ALICE);
+        upsertRepository.upsert(GROUP_ID, ALICE, first.getId());
+
+        upsertRepository.upsertAll(List.of(
+                new ReadPosition(GROUP_ID, ALICE, second.getId()),
+                new ReadPosition(GROUP_ID, BOB, first.getId())));
+
+        assertThat(readStateRepository.findByGroupIdAndUserId(GROUP_ID, ALICE).orElseThrow().getLastReadMessageId())
+                .isEqualTo(second.getId());
+        assertThat(readStateRepository.findByGroupIdAndUserId(GROUP_ID, BOB).orElseThrow())
+                .extracting(GroupReadState::getLastReadMessageId, GroupReadState::getUnreadCount)
+                .containsExactly(first.getId(), 1L);
+    }
+
+    @Test
+    @DisplayName("ensureUniqueKey - should keep the furthest of duplicate read states and add the key")
+    void ensureUniqueKey_RemovesDuplicates() {
+        jdbcTemplate.execute("ALTER TABLE group_read_states DROP CONSTRAINT uk_group_read_group_user");
+        try {
+            jdbcTemplate.update("""
+                    INSERT INTO group_read_states (group_id, user_id, last_read_message_id, unread_count)
+                    VALUES (?, ?, 5, 0), (?, ?, 9, 0), (?, ?, NULL, 0)
+                    """, GROUP_ID, ALICE, GROUP_ID, ALICE, GROUP_ID, ALICE);
+        } finally {
+            schemaInitializer.ensureUniqueKey();
+        }
+
+        assertThat(readStateRepository.findAll())
+                .extracting(GroupReadState::getLastReadMessageId)
+                .containsExactly(9L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = 'uk_group_read_group_user'", Integer.class))
+                .isEqualTo(1);
+    }
+
+    private GroupMessage send(long senderId) {
+        return messageRepository.save(GroupMessage.builder()
+                .groupId(GROUP_ID)
+                .senderUserId(senderId)
+                .senderUsername("user" + senderId)
+                .content("hello")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,415 @@
+package com.opencode.alumxbackend.loadtest;
+
+import com.opencode.alumxbackend.auth.security.JwtTokenProvider;
+import com.opencode.alumxbackend.chat.dto.ChatSendRequest;
+import com.opencode.alumxbackend.chat.dto.ChatSendResponse;
+import com.opencode.alumxbackend.chat.dto.StompChatMessageRequest;
+import com.opencode.alumxbackend.chat.repository.ChatRepository;
+import com.opencode.alumxbackend.chat.repository.MessageRepository;
+import com.opencode.alumxbackend.chat.service.ChatService;
+import com.opencode.alumxbackend.groupchat.model.GroupChat;
+import com.opencode.alumxbackend.groupchat.model.Participant;
+import com.opencode.alumxbackend.groupchat.model.ParticipantRole;
+import com.opencode.alumxbackend.groupchat.repository.GroupChatRepository;
+import com.opencode.alumxbackend.groupchatmessages.dto.GroupMessageResponse;
+import com.opencode.alumxbackend.groupchatmessages.dto.SendGroupMessageRequest;
+import com.opencode.alumxbackend.groupchatmessages.dto.StompGroupMessageRequest;
+import com.opencode.alumxbackend.groupchatmessages.repository.GroupMessageRepository;
+import com.opencode.alumxbackend.groupchatreadreceipt.repository.GroupReadStateRepository;
+import com.opencode.alumxbackend.users.model.User;
+import com.opencode.alumxbackend.users.model.UserRole;
+import com.opencode.alumxbackend.users.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load harness for the chat and group-message paths: N users, each with their own STOMP
+ * session subscribed to their group (or 1:1 chat) topic, send messages concurrently over
+ * REST or STOMP. Every delivery is timed from just before the send to its arrival at each
+ * subscriber, and the run reports p50/p99/max send-to-receive latency and throughput.
+ *
+ * Skipped unless {@code -Dloadtest=true}. Runs against the H2 test database by default; point
+ * {@code spring.datasource.*} at a Postgres instance to size against the real engine:
+ * <pre>
+ * mvn test -Dtest=ChatLoadTest -Dloadtest=true -Dloadtest.users=100 -Dloadtest.messages-per-user=200
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ChatLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatLoadTest.class);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 20);
+    private static final int GROUP_SIZE = Integer.getInteger("loadtest.group-size", 5);
+    private static final int MESSAGES_PER_USER = Integer.getInteger("loadtest.messages-per-user", 50);
+    // Pause between two sends of one user; 0 sends as fast as the server answers
+    private static final long SEND_INTERVAL_MS = Long.getLong("loadtest.send-interval-ms", 20);
+    private static final long TIMEOUT_SECONDS = Long.getLong("loadtest.timeout-seconds", 120);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GroupChatRepository groupChatRepository;
+
+    @Autowired
+    private GroupMessageRepository groupMessageRepository;
+
+    @Autowired
+    private GroupReadStateRepository groupReadStateRepository;
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private MessageRepository chatMessageRepository;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private WebSocketStompClient stompClient;
+    private WebClient webClient;
+    private final Map<Long, StompSession> sessions = new ConcurrentHashMap<>();
+    private List<User> users;
+    private Map<Long, String> tokens;
+
+    @BeforeEach
+    void setUp() {
+        stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new JacksonJsonMessageConverter());
+        webClient = WebClient.create("http://localhost:" + port);
+
+        groupMessageRepository.deleteAll();
+        groupReadStateRepository.deleteAll();
+        groupChatRepository.deleteAll();
+        chatMessageRepository.deleteAll();
+        chatRepository.deleteAll();
+        userRepository.deleteAll();
+
+        users = new ArrayList<>();
+        tokens = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = createUser("load" + i);
+            users.add(user);
+            tokens.put(user.getId(), jwtTokenProvider.generateToken(
+                    user.getId(), user.getEmail(), user.getUsername(), user.getRole().name()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessions.values().forEach(session -> {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
+        });
+        sessions.clear();
+        stompClient.stop();
+    }
+
+    @Test
+    @DisplayName("load - group messages sent over REST")
+    void groupMessages_Rest() throws Exception {
+        runGroupScenario("group/REST", (sender, group, content) -> {
+            SendGroupMessageRequest request = new SendGroupMessageRequest();
+            request.setUserId(sender.getId());
+            request.setContent(content);
+            webClient.post()
+                    .uri("/api/groups/" + group.getGroupId() + "/messages")
+                    .header("Authorization", "Bearer " + tokens.get(sender.getId()))
+                    .bodyValue(request)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .block();
+        });
+    }
+
+    @Test
+    @DisplayName("load - group messages sent over STOMP")
+    void groupMessages_Stomp() throws Exception {
+        runGroupScenario("group/STOMP", (sender, group, content) -> {
+            StompGroupMessageRequest request = new StompGroupMessageRequest();
+            request.setContent(content);
+            sessionOf(sender).send("/app/group/" + group.getGroupId() + "/send", request);
+        });
+    }
+
+    @Test
+    @DisplayName("load - 1:1 messages sent over REST")
+    void directMessages_Rest() throws Exception {
+        runDirectScenario("direct/REST", (sender, receiver, content) ->
+                webClient.post()
+                        .uri("/api/chats/send")
+                        .header("Authorization", "Bearer " + tokens.get(sender.getId()))
+                        .bodyValue(new ChatSendRequest(sender.getId(), receiver.getId(), content))
+                        .retrieve()
+                        .toBodilessEntity()
+                        .block());
+    }
+
+    @Test
+    @DisplayName("load - 1:1 messages sent over STOMP")
+    void directMessages_Stomp() throws Exception {
+        runDirectScenario("direct/STOMP", (sender, receiver, content) ->
+                sessionOf(sender).send("/app/chat/send", new StompChatMessageRequest(receiver.getId(), content)));
+    }
+
+    // Users in groups of GROUP_SIZE; every member, sender included, receives every message of its group
+    private void runGroupScenario(String name, Sender<GroupChat> sender) throws Exception {
+        Run run = new Run(name);
+        Map<Long, GroupChat> groupOf = new HashMap<>();
+        for (int from = 0; from < users.size(); from += GROUP_SIZE) {
+            List<User> members = users.subList(from, Math.min(from + GROUP_SIZE, users.size()));
+            GroupChat group = createGroup(members);
+            members.forEach(member -> groupOf.put(member.getId(), group));
+            run.expectDeliveries((long) members.size() * members.size() * MESSAGES_PER_USER);
+        }
+
+        for (User user : users) {
+            StompSession session = connect(user);
+            subscribe(session, "/topic/group/" + groupOf.get(user.getId()).getGroupId(),
+                    GroupMessageResponse.class, GroupMessageResponse::getContent, run);
+        }
+        Thread.sleep(500);
+
+        run.execute(users, user -> groupOf.get(user.getId()), sender);
+    }
+
+    // Users in pairs sharing a chat; both participants receive every message of the chat
+    private void runDirectScenario(String name, Sender<User> sender) throws Exception {
+        Run run = new Run(name);
+        Map<Long, User> partnerOf = new HashMap<>();
+        List<User> paired = users.subList(0, users.size() - users.size() % 2);
+        for (int i = 0; i < paired.size(); i += 2) {
+            User first = paired.get(i);
+            User second = paired.get(i + 1);
+            partnerOf.put(first.getId(), second);
+            partnerOf.put(second.getId(), first);
+        }
+        run.expectDeliveries(2L * paired.size() * MESSAGES_PER_USER);
+
+        // The chat exists once the pair has exchanged a message; its id names the topic
+        Map<Long, Long> chatOf = new HashMap<>();
+        for (int i = 0; i < paired.size(); i += 2) {
+            ChatSendResponse opened = chatService.createMessage(
+                    paired.get(i).getId(), paired.get(i + 1).getId(), "hello");
+            chatOf.put(paired.get(i).getId(), opened.getChatId());
+            chatOf.put(paired.get(i + 1).getId(), opened.getChatId());
+        }
+
+        for (User user : paired) {
+            StompSession session = connect(user);
+            subscribe(session, "/topic/chat/" + chatOf.get(user.getId()),
+                    ChatSendResponse.class, ChatSendResponse::getContent, run);
+        }
+        Thread.sleep(500);
+
+        run.execute(paired, user -> partnerOf.get(user.getId()), sender);
+    }
+
+    private StompSession sessionOf(User user) {
+        return sessions.get(user.getId());
+    }
+
+    private StompSession connect(User user) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + tokens.get(user.getId()));
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        sessions.put(user.getId(), session);
+        return session;
+    }
+
+    private <T> void subscribe(StompSession session, String destination, Class<T> type,
+                               Function<T, String> content, Run run) {
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return type;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                run.received(content.apply(type.cast(payload)));
+            }
+        });
+    }
+
+    private User createUser(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .name(username)
+                .email(username + "@test.com")
+                .passwordHash("hashed_password")
+                .role(UserRole.STUDENT)
+                .profileCompleted(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private GroupChat createGroup(List<User> members) {
+        GroupChat chat = new GroupChat();
+        chat.setGroupName("Load Group");
+        chat.setOwnerId(members.get(0).getId());
+        chat.setCreatedAt(LocalDateTime.now());
+        chat.setParticipants(members.stream()
+                .map(user -> {
+                    Participant participant = new Participant();
+                    participant.setUserId(user.getId());
+                    participant.setUsername(user.getUsername());
+                    participant.setGroupChat(chat);
+                    participant.setRole(user == members.get(0) ? ParticipantRole.ADMIN : ParticipantRole.MEMBER);
+                    return participant;
+                })
+                .toList());
+        return groupChatRepository.save(chat);
+    }
+
+    @FunctionalInterface
+    private interface Sender<T> {
+        void send(User sender, T target, String content) throws Exception;
+    }
+
+    /**
+     * One scenario: times each message from just before its send to every arrival. Message
+     * contents are unique per run and double as the key from a delivery back to its send time.
+     */
+    private static final class Run {
+
+        private final String name;
+        private final String prefix = "lt-" + System.nanoTime() + "-";
+        private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger sendFailures = new AtomicInteger();
+        private long expectedDeliveries;
+        private CountDownLatch delivered;
+
+        Run(String name) {
+            this.name = name;
+        }
+
+        void expectDeliveries(long deliveries) {
+            expectedDeliveries += deliveries;
+        }
+
+        void received(String content) {
+            Long start = content == null ? null : sentAt.get(content);
+            if (start != null) {
+                latenciesNanos.add(System.nanoTime() - start);
+                delivered.countDown();
+            }
+        }
+
+        <T> void execute(List<User> senders, Function<User, T> targetOf, Sender<T> sender) throws Exception {
+            delivered = new CountDownLatch(Math.toIntExact(expectedDeliveries));
+            ExecutorService pool = Executors.newFixedThreadPool(senders.size());
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (User user : senders) {
+                T target = targetOf.apply(user);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < MESSAGES_PER_USER; i++) {
+                        String content = prefix + user.getId() + "-" + i;
+                        sentAt.put(content, System.nanoTime());
+                        try {
+                            sender.send(user, target, content);
+                        } catch (Exception e) {
+                            sendFailures.incrementAndGet();
+                        }
+                        if (SEND_INTERVAL_MS > 0) {
+                            Thread.sleep(SEND_INTERVAL_MS);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            long sendsDone = System.nanoTime();
+            boolean complete = delivered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            long finished = System.nanoTime();
+            pool.shutdownNow();
+
+            report(senders.size(), began, sendsDone, finished);
+            assertThat(sendFailures.get()).as("failed sends").isZero();
+            assertThat(complete).as("all %d deliveries received", expectedDeliveries).isTrue();
+        }
+
+        private void report(int senders, long began, long sendsDone, long finished) {
+            long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            double seconds = (finished - began) / 1e9;
+            log.info("[load] {}: {} users, {} messages, {}/{} deliveries, {} send failures",
+                    name, senders, sentAt.size(), sorted.length, expectedDeliveries, sendFailures.get());
+            log.info("[load]   sent in {}s, all received in {}s: {} msg/s sent, {} deliveries/s",
+                    String.format("%.2f", (sendsDone - began) / 1e9), String.format("%.2f", seconds),
+                    String.format("%.0f", sentAt.size() / ((sendsDone - began) / 1e9)),
+                    String.format("%.0f", sorted.length / seconds));
+            log.info("[load]   send-to-receive latency p50 {} ms, p99 {} ms, max {} ms",
+                    String.format("%.1f", percentileMillis(sorted, 0.50)),
+                    String.format("%.1f", percentileMillis(sorted, 0.99)),
+                    String.format("%.1f", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -72,6 +73,12 @@ class NotificationControllerTest {
         accessToken = loginResponse.getAccessToken();
     }
 
+    // Later test classes delete users without knowing about notifications
+    @AfterEach
+    public void tearDown() {
+        notificationRepository.deleteAll();
+    }
+
     @Test
     @DisplayName("POST /api/notifications - create and return notification")
     void createNotification_validRequest_returnsCreated() {
@@ -3,7 +3,10 @@ package com.opencode.alumxbackend.search.controller;
 import com.opencode.alumxbackend.auth.dto.LoginRequest;
 import com.opencode.alumxbackend.auth.dto.LoginResponse;
 import com.opencode.alumxbackend.notifications.repository.NotificationRepository;
+import com.opencode.alumxbackend.search.dto.UserSearchResponse;
+import com.opencode.alumxbackend.search.dto.UserSuggestionResponse;
 import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import com.opencode.alumxbackend.users.event.UserProfileChangedEvent;
 import com.opencode.alumxbackend.users.model.User;
 import com.opencode.alumxbackend.users.model.UserRole;
 import com.opencode.alumxbackend.users.repository.UserRepository;
@@ -14,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,9 +26,12 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -43,6 +50,9 @@ class UserSearchControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private WebClient webClient;
     private String authToken;
 
@@ -78,15 +88,47 @@ class UserSearchControllerTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
-        userRepository.save(user);
+        // As registration does, so the typeahead index has the user
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(userRepository.save(user)));
     }
 
     private List<UserResponseDto> searchUsers(String query) {
+        return searchPage(query, null, null).getUsers();
+    }
+
+    private UserSearchResponse searchPage(String query, String cursor, Integer size) {
         return webClient.get()
-                .uri(uriBuilder -> uriBuilder.path("/api/users/search").queryParam("q", query).build())
+                .uri(uriBuilder -> uriBuilder.path("/api/users/search")
+                        .queryParam("q", query)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .queryParamIfPresent("size", Optional.ofNullable(size))
+                        .build())
+                .header("Authorization", "Bearer " + authToken)
+                .retrieve()
+                .bodyToMono(UserSearchResponse.class)
+                .block();
+    }
+
+    private List<UserSuggestionResponse> suggest(String query, Integer limit) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/users/suggest")
+                        .queryParam("q", query)
+                        .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                        .build())
                 .header("Authorization", "Bearer " + authToken)
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<UserResponseDto>>() {})
+                .bodyToMono(new ParameterizedTypeReference<List<UserSuggestionResponse>>() {})
+                .block();
+    }
+
+    private HttpStatusCode suggestAndGetStatus(String query, Integer limit) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/users/suggest")
+                        .queryParam("q", query)
+                        .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                        .build())
+                .header("Authorization", "Bearer " + authToken)
+                .exchangeToMono(response -> Mono.just(response.statusCode()))
                 .block();
     }
 
@@ -330,4 +372,123 @@ class UserSearchControllerTest {
             assertThat(result).isEmpty();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Ranking and Pagination")
+    class RankingAndPaginationTests {
+        @Test
+        @DisplayName("Should rank exact username match before other matches")
+        void exactUsernameRanksFirst() {
+            createUser("jo", "Someone Else", "jo@test.com");
+            List<UserResponseDto> result = searchUsers("jo");
+            assertThat(result).hasSizeGreaterThanOrEqualTo(2);
+            assertThat(result.get(0).getName()).isEqualTo("Someone Else");
+        }
+
+        @Test
+        @DisplayName("Should rank name prefix matches before infix matches")
+        void prefixRanksBeforeInfix() {
+            List<UserResponseDto> result = searchUsers("b");
+            // "Bob Builder" starts with b, "Charlie Brown" only contains it
+            assertThat(result.get(0).getName()).isEqualTo("Bob Builder");
+        }
+
+        @Test
+        @DisplayName("Should walk all results with the cursor without duplicates")
+        void cursorWalksAllPages() {
+            List<UserResponseDto> all = searchUsers("e");
+            List<Long> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                UserSearchResponse page = searchPage("e", cursor, 2);
+                assertThat(page.getUsers()).hasSizeLessThanOrEqualTo(2);
+                page.getUsers().forEach(u -> walked.add(u.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertThat(walked).doesNotHaveDuplicates();
+            assertThat(walked).containsExactlyElementsOf(all.stream().map(UserResponseDto::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should cap the page size")
+        void pageSizeIsCapped() {
+            // More matches than search.users.max-page-size (50); hashed once, bcrypt is slow
+            String passwordHash = passwordEncoder.encode("password123");
+            List<User> many = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                many.add(User.builder()
+                        .username("capped" + i)
+                        .name("Capped User " + i)
+                        .email("capped" + i + "@test.com")
+                        .passwordHash(passwordHash)
+                        .role(UserRole.STUDENT)
+                        .profileCompleted(false)
+                        .createdAt(LocalDateTime.now())
+                        .updatedAt(LocalDateTime.now())
+                        .build());
+            }
+            userRepository.saveAll(many);
+
+            UserSearchResponse page = searchPage("capped", null, 10_000);
+
+            assertThat(page.getSize()).isEqualTo(50);
+            assertThat(page.getUsers()).hasSize(50);
+            assertThat(page.isHasNext()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void malformedCursorIsRejected() {
+            HttpStatusCode status = webClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/api/users/search")
+                            .queryParam("q", "john")
+                            .queryParam("cursor", "not-a-cursor")
+                            .build())
+                    .header("Authorization", "Bearer " + authToken)
+                    .exchangeToMono(response -> Mono.just(response.statusCode()))
+                    .block();
+            assertThat(status.value()).isEqualTo(400);
+        }
+    }
+
+    @Nested
+    @DisplayName("Suggestions - Typeahead")
+    class SuggestTests {
+        @Test
+        @DisplayName("Should suggest users whose name starts with the query")
+        void suggestByNamePrefix() {
+            createUser("yaraVexley", "Yara Vexley", "yara@test.com");
+
+            List<UserSuggestionResponse> result = suggest("vexl", null);
+
+            assertThat(result).extracting(UserSuggestionResponse::getUsername, UserSuggestionResponse::getName)
+                    .containsExactly(tuple("yaraVexley", "Yara Vexley"));
+        }
+
+        @Test
+        @DisplayName("Should rank the exact username before other prefix matches")
+        void exactUsernameRanksFirst() {
+            createUser("zoeQuillan", "Zoe Quillan", "zoe2@test.com");
+            createUser("zoequ", "Someone Else", "zoequ@test.com");
+
+            List<UserSuggestionResponse> result = suggest("zoequ", null);
+
+            assertThat(result).hasSizeGreaterThanOrEqualTo(2);
+            assertThat(result.get(0).getUsername()).isEqualTo("zoequ");
+        }
+
+        @Test
+        @DisplayName("Should return at most the requested number of suggestions")
+        void limitIsApplied() {
+            assertThat(suggest("j", 1)).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should reject an empty query and a limit below one")
+        void invalidRequestsAreRejected() {
+            assertThat(suggestAndGetStatus("  ", null).value()).isEqualTo(400);
+            assertThat(suggestAndGetStatus("john", 0).value()).isEqualTo(400);
+        }
+    }
+}
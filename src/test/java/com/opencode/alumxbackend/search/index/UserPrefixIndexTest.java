@@ -0,0 +1,93 @@
+package com.opencode.alumxbackend.search.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrefixIndexTest {
+
+    private static final Comparator<UserPrefixIndex.Entry> BY_ID = Comparator.comparingLong(UserPrefixIndex.Entry::userId);
+
+    private UserPrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserPrefixIndex();
+        index.put(UserPrefixIndex.Entry.of(1L, "johnDoe", "John Doe", "Google", List.of("Java", "Spring Boot")));
+        index.put(UserPrefixIndex.Entry.of(2L, "janeSmith", "Jane Smith", "Microsoft", List.of("Python")));
+        index.put(UserPrefixIndex.Entry.of(3L, "bob_builder", "Bob Builder", null, null));
+    }
+
+    private List<Long> lookup(String query) {
+        return index.lookup(query, 100, BY_ID).stream().map(UserPrefixIndex.Entry::userId).toList();
+    }
+
+    @Test
+    @DisplayName("lookup - should match prefixes of username, name, company and skills")
+    void lookup_MatchesPrefixesOfAllFields() {
+        assertThat(lookup("jo")).containsExactly(1L);
+        assertThat(lookup("j")).containsExactly(1L, 2L);
+        assertThat(lookup("micro")).containsExactly(2L);
+        assertThat(lookup("spr")).containsExactly(1L);
+        assertThat(lookup("BUIL")).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("lookup - should require every query term to match")
+    void lookup_MultipleTerms_IntersectsMatches() {
+        assertThat(lookup("jane s")).containsExactly(2L);
+        assertThat(lookup("jane d")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("lookup - should return nothing for symbol-only queries")
+    void lookup_SymbolsOnly_ReturnsEmpty() {
+        assertThat(lookup("@#!")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("put - should replace the tokens of an updated user")
+    void put_UpdatedUser_DropsOldTokens() {
+        index.put(UserPrefixIndex.Entry.of(2L, "janeSmith", "Jane Smith", "Amazon", List.of()));
+
+        assertThat(lookup("micro")).isEmpty();
+        assertThat(lookup("amaz")).containsExactly(2L);
+        assertThat(lookup("pyth")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("putIfAbsent - should keep the entry of a user already indexed")
+    void putIfAbsent_KeepsExistingEntry() {
+        index.putIfAbsent(UserPrefixIndex.Entry.of(2L, "janeSmith", "Jane Smith", "Amazon", List.of()));
+        index.putIfAbsent(UserPrefixIndex.Entry.of(4L, "amyAdams", "Amy Adams", null, null));
+
+        assertThat(lookup("micro")).containsExactly(2L);
+        assertThat(lookup("am")).containsExactly(4L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("lookup - should keep only the best matches in the given order")
+    void lookup_RespectsLimit() {
+        assertThat(index.lookup("j", 1, BY_ID.reversed()))
+                .extracting(UserPrefixIndex.Entry::userId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("lookup - should rank every match, not only the first ones scanned")
+    void lookup_RanksAllMatches() {
+        for (long id = 10; id < 2_010; id++) {
+            index.put(UserPrefixIndex.Entry.of(id, "member" + id, "Member " + id, null, null));
+        }
+
+        assertThat(index.lookup("m", 3, BY_ID.reversed()))
+                .extracting(UserPrefixIndex.Entry::userId)
+                .containsExactly(2_009L, 2_008L, 2_007L);
+    }
+}
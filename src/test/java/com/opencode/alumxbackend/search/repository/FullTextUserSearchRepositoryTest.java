@@ -0,0 +1,109 @@
+package com.opencode.alumxbackend.search.repository;
+
+import com.opencode.alumxbackend.search.dto.UserSearchCursor;
+import com.opencode.alumxbackend.search.dto.UserSearchHit;
+import com.opencode.alumxbackend.users.model.User;
+import com.opencode.alumxbackend.users.model.UserRole;
+import com.opencode.alumxbackend.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the tsvector / pg_trgm engine against a real PostgreSQL, see application-postgres.properties.
+ * Skipped unless {@code -Dpostgres.url} is set.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "postgres"})
+@EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+class FullTextUserSearchRepositoryTest {
+
+    @Autowired
+    private FullTextUserSearchRepository repository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User exact;
+    private User prefix;
+    private User infix;
+    private User company;
+    private User education;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        exact = createUser("maria", "Someone Else", null, List.of());
+        prefix = createUser("mariano", "Mariano Rossi", null, List.of());
+        infix = createUser("anamaria", "Ana Lopez", null, List.of());
+        company = createUser("jdoe", "John Doe", "Maria Systems", List.of());
+        education = createUser("ksmith", "Kate Smith", null, List.of("Maria Curie University"));
+        createUser("bob", "Bob Stone", "Acme", List.of("State College"));
+    }
+
+    @Test
+    @DisplayName("searchUsers - should rank exact username, prefix, infix, company, then other document matches")
+    void searchUsers_RanksTiers() {
+        List<UserSearchHit> hits = repository.searchUsers("maria", null, 20);
+
+        assertThat(hits).extracting(hit -> hit.getUser().getId())
+                .containsExactly(exact.getId(), prefix.getId(), infix.getId(), company.getId(), education.getId());
+        assertThat(hits).extracting(UserSearchHit::getRank).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("searchUsers - should continue after the cursor without repeating users")
+    void searchUsers_KeysetPagination() {
+        List<UserSearchHit> first = repository.searchUsers("maria", null, 2);
+        List<UserSearchHit> second = repository.searchUsers("maria", UserSearchCursor.after(first.get(1)), 2);
+
+        assertThat(first).extracting(hit -> hit.getUser().getId()).containsExactly(exact.getId(), prefix.getId());
+        assertThat(second).extracting(hit -> hit.getUser().getId()).containsExactly(infix.getId(), company.getId());
+    }
+
+    @Test
+    @DisplayName("searchUsers - should keep the search document current when the user changes")
+    void searchUsers_FollowsUpdates() {
+        User renamed = userRepository.findById(exact.getId()).orElseThrow();
+        renamed.setUsername("zed");
+        renamed.setName("Zed Zedson");
+        userRepository.save(renamed);
+
+        assertThat(repository.searchUsers("maria", null, 20))
+                .extracting(hit -> hit.getUser().getId())
+                .doesNotContain(exact.getId());
+        assertThat(repository.searchUsers("zedson", null, 20))
+                .extracting(hit -> hit.getUser().getId())
+                .containsExactly(exact.getId());
+    }
+
+    @Test
+    @DisplayName("searchUsers - should treat LIKE wildcards in the query literally")
+    void searchUsers_EscapesWildcards() {
+        assertThat(repository.searchUsers("%%%", null, 20)).isEmpty();
+    }
+
+    private User createUser(String username, String name, String currentCompany, List<String> education) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .name(name)
+                .email(username + "@test.com")
+                .passwordHash("hashed_password")
+                .role(UserRole.STUDENT)
+                .profileCompleted(false)
+                .currentCompany(currentCompany)
+                .education(education)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,121 @@
+package com.opencode.alumxbackend.search.service;
+
+import com.opencode.alumxbackend.search.dto.SearchLegStats;
+import com.opencode.alumxbackend.search.dto.SemanticUserMatch;
+import com.opencode.alumxbackend.search.dto.UserSearchCursor;
+import com.opencode.alumxbackend.search.dto.UserSearchHit;
+import com.opencode.alumxbackend.search.dto.UserSearchResponse;
+import com.opencode.alumxbackend.search.repository.UserSearchRepository;
+import com.opencode.alumxbackend.users.dto.UserResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HybridUserSearchServiceTest {
+
+    @Mock
+    private UserSearchRepository lexicalRepository;
+
+    @Mock
+    private SemanticSearchService semanticSearchService;
+
+    private HybridUserSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new HybridUserSearchService(lexicalRepository, semanticSearchService, 20, 50, 50, 60, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    private static UserResponseDto user(long id) {
+        return UserResponseDto.builder().id(id).name("user" + id).build();
+    }
+
+    private static List<UserSearchHit> lexical(long... ids) {
+        return Arrays.stream(ids).mapToObj(id -> new UserSearchHit(user(id), 1)).toList();
+    }
+
+    private static List<SemanticUserMatch> semantic(long... ids) {
+        return Arrays.stream(ids).mapToObj(id -> new SemanticUserMatch(user(id), 0.5)).toList();
+    }
+
+    private static List<Long> ids(UserSearchResponse response) {
+        return response.getUsers().stream().map(UserResponseDto::getId).toList();
+    }
+
+    @Test
+    @DisplayName("search - should rank users found by both legs above single-leg matches")
+    void search_FusesBothRankings() {
+        when(lexicalRepository.searchUsers(eq("java"), any(), anyInt())).thenReturn(lexical(1, 2, 3));
+        when(semanticSearchService.search(eq("java"), anyInt())).thenReturn(semantic(3, 4, 1));
+
+        UserSearchResponse response = service.search("java", null, null);
+
+        assertThat(ids(response)).containsExactly(1L, 3L, 2L, 4L);
+        assertThat(response.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("search - should drop a leg that misses the deadline instead of waiting for it")
+    void search_DropsSlowLeg() {
+        when(lexicalRepository.searchUsers(eq("java"), any(), anyInt())).thenReturn(lexical(1, 2));
+        when(semanticSearchService.search(eq("java"), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return semantic(9);
+        });
+
+        long start = System.nanoTime();
+        UserSearchResponse response = service.search("java", null, null);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(ids(response)).containsExactly(1L, 2L);
+        assertThat(elapsedMs).isLessThan(1_500);
+        SearchLegStats semanticStats = service.legStats().get(1);
+        assertThat(semanticStats.leg()).isEqualTo(HybridUserSearchService.SEMANTIC);
+        assertThat(semanticStats.timeouts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("search - should ignore a failing leg")
+    void search_IgnoresFailingLeg() {
+        when(lexicalRepository.searchUsers(eq("java"), any(), anyInt())).thenThrow(new IllegalStateException("db down"));
+        when(semanticSearchService.search(eq("java"), anyInt())).thenReturn(semantic(7, 8));
+
+        UserSearchResponse response = service.search("java", null, null);
+
+        assertThat(ids(response)).containsExactly(7L, 8L);
+        assertThat(service.legStats().get(0).failures()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("search - should return a single page without a cursor")
+    void search_SinglePage() {
+        when(lexicalRepository.searchUsers(eq("java"), any(), anyInt())).thenReturn(lexical(1, 2, 3));
+        when(semanticSearchService.search(eq("java"), anyInt())).thenReturn(semantic());
+
+        UserSearchResponse first = service.search("java", null, 2);
+
+        assertThat(ids(first)).containsExactly(1L, 2L);
+        assertThat(first.isHasNext()).isFalse();
+        assertThat(first.getNextCursor()).isNull();
+        assertThat(service.search("java", new UserSearchCursor(1, 1L).encode(), 2).getUsers()).isEmpty();
+    }
+}
@@ -0,0 +1,152 @@
+package com.opencode.alumxbackend.search.service;
+
+import com.opencode.alumxbackend.common.exception.Errors.BadRequestException;
+import com.opencode.alumxbackend.notifications.repository.NotificationRepository;
+import com.opencode.alumxbackend.search.dto.SemanticUserMatch;
+import com.opencode.alumxbackend.search.repository.UserEmbeddingStateRepository;
+import com.opencode.alumxbackend.users.model.User;
+import com.opencode.alumxbackend.users.model.UserRole;
+import com.opencode.alumxbackend.users.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against the offline setup from the test profile: hashing embeddings + in-memory store.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SemanticSearchServiceTest {
+
+    @Autowired
+    private SemanticSearchService service;
+
+    @Autowired
+    private ProfileEmbeddingIngestionJob ingestionJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserEmbeddingStateRepository stateRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private VectorStore vectorStore;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User devops;
+
+    @BeforeEach
+    void setUp() {
+        // The in-memory store lives as long as the context: drop what earlier tests embedded
+        List<String> embedded = stateRepository.findAll().stream()
+                .map(state -> ProfileEmbeddingIngestionJob.documentId(state.getUserId()))
+                .toList();
+        if (!embedded.isEmpty()) {
+            vectorStore.delete(embedded);
+        }
+        notificationRepository.deleteAll();
+        userRepository.deleteAll();
+        stateRepository.deleteAll();
+
+        devops = createUser("opsguy", "Ravi Kumar", "Runs production infrastructure",
+                List.of("kubernetes", "terraform", "docker"));
+        createUser("mlgirl", "Meera Shah", "Trains recommendation models",
+                List.of("python", "pytorch", "machine learning"));
+        createUser("webdev", "Arjun Rao", "Builds frontend dashboards",
+                List.of("react", "typescript", "css"));
+    }
+
+    private User createUser(String username, String name, String about, List<String> skills) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .name(name)
+                .email(username + "@test.com")
+                .passwordHash("hash")
+                .role(UserRole.ALUMNI)
+                .profileCompleted(true)
+                .about(about)
+                .skills(new ArrayList<>(skills))
+                .build());
+    }
+
+    @Test
+    @DisplayName("search - should rank the closest profile first after ingestion")
+    void search_ReturnsClosestProfileFirst() {
+        assertThat(ingestionJob.ingestPending()).isEqualTo(3);
+
+        List<SemanticUserMatch> matches = service.search("kubernetes and docker", 3);
+
+        assertThat(matches).isNotEmpty();
+        assertThat(matches.get(0).getUser().getId()).isEqualTo(devops.getId());
+    }
+
+    @Test
+    @DisplayName("ingestPending - should only re-embed profiles whose updatedAt changed")
+    void ingestPending_SkipsUnchangedProfiles() {
+        ingestionJob.ingestPending();
+        assertThat(ingestionJob.ingestPending()).isZero();
+
+        User user = userRepository.findById(devops.getId()).orElseThrow();
+        user.setAbout("Now writing rust compilers");
+        userRepository.save(user);
+
+        assertThat(ingestionJob.ingestPending()).isEqualTo(1);
+        assertThat(service.search("rust compilers", 1).get(0).getUser().getId()).isEqualTo(devops.getId());
+    }
+
+    @Test
+    @DisplayName("ingestPending - should load a batch's profile collections without a query per user")
+    void ingestPending_NoLazyLoadPerUser() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            assertThat(ingestionJob.ingestPending()).isEqualTo(3);
+            assertThat(statistics.getCollectionFetchCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @DisplayName("ingestPending - should remove the vectors of deleted users")
+    void ingestPending_RemovesDeletedUsers() {
+        ingestionJob.ingestPending();
+        userRepository.deleteById(devops.getId());
+
+        assertThat(ingestionJob.ingestPending()).isZero();
+
+        assertThat(stateRepository.existsById(devops.getId())).isFalse();
+        assertThat(vectorStore.similaritySearch(SearchRequest.builder().query("kubernetes").topK(10).build()))
+                .extracting(Document::getId)
+                .hasSize(2)
+                .doesNotContain(ProfileEmbeddingIngestionJob.documentId(devops.getId()));
+    }
+
+    @Test
+    @DisplayName("search - should reject an empty query")
+    void search_RejectsEmptyQuery() {
+        assertThatThrownBy(() -> service.search("  ", null)).isInstanceOf(BadRequestException.class);
+    }
+}